@@ -0,0 +1,112 @@
+package com.backend.Caching.services;
+
+import com.backend.Features.Search.service.CatalogChangedEvent;
+import com.backend.Features.Service.dto.ServiceResponse;
+import com.backend.Features.Service.service.ServiceService;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
+import com.backend.Features.ServiceProvider.service.ServiceProviderService;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-through cache in front of the public catalog reads of {@link ServiceService} and
+ * {@link ServiceProviderService}: single services, a provider's services, pages of the service
+ * list and single providers, each with its rating.
+ *
+ * Entries are invalidated from {@link CatalogChangedEvent}s once the change commits. Service list
+ * pages shift with any service change, so those move the page cache to a new generation instead
+ * of evicting keys one by one.
+ */
+@Component
+public class CatalogCache {
+
+    // The items and cursor of one keyset page, as cached
+    record CachedPage(List<ServiceResponse> items, String nextCursor) {
+    }
+
+    private final ServiceService serviceService;
+    private final ServiceProviderService serviceProviderService;
+
+    private final TwoTierCache<ServiceResponse> services;
+    private final TwoTierCache<List<ServiceResponse>> providerServices;
+    private final TwoTierCache<CachedPage> servicePages;
+    private final TwoTierCache<ServiceProviderResponse> providers;
+
+    public CatalogCache(
+            ServiceService serviceService,
+            ServiceProviderService serviceProviderService,
+            TwoTierCacheManager cacheManager,
+            @Value("${app.cache.catalog.near-max-size:10000}") long nearMaxSize,
+            @Value("${app.cache.catalog.near-ttl-seconds:60}") long nearTtlSeconds,
+            @Value("${app.cache.catalog.remote-ttl-seconds:600}") long remoteTtlSeconds) {
+        this.serviceService = serviceService;
+        this.serviceProviderService = serviceProviderService;
+
+        TypeFactory types = cacheManager.getObjectMapper().getTypeFactory();
+        Duration nearTtl = Duration.ofSeconds(nearTtlSeconds);
+        Duration remoteTtl = Duration.ofSeconds(remoteTtlSeconds);
+        this.services = cacheManager.create("catalog_services",
+                types.constructType(ServiceResponse.class), nearMaxSize, nearTtl, remoteTtl);
+        this.providerServices = cacheManager.create("catalog_provider_services",
+                types.constructCollectionType(List.class, ServiceResponse.class), nearMaxSize, nearTtl, remoteTtl);
+        this.servicePages = cacheManager.create("catalog_service_pages",
+                types.constructType(CachedPage.class), nearMaxSize, nearTtl, remoteTtl);
+        this.providers = cacheManager.create("catalog_providers",
+                types.constructType(ServiceProviderResponse.class), nearMaxSize, nearTtl, remoteTtl);
+    }
+
+    public ServiceResponse getService(int serviceID) {
+        return services.get(String.valueOf(serviceID), () -> serviceService.getServiceById(serviceID));
+    }
+
+    public CursorPage<ServiceResponse> getServices(Keyset keyset) {
+        CachedPage page = servicePages.get(keyset.after() + ":" + keyset.limit(), () -> {
+            CursorPage<ServiceResponse> loaded = serviceService.getAllServices(keyset);
+            return new CachedPage(loaded.getItems(), loaded.getNextCursor());
+        });
+        return new CursorPage<>(page.items(), page.nextCursor());
+    }
+
+    public List<ServiceResponse> getServicesByProvider(int providerID) {
+        return providerServices.get(String.valueOf(providerID), () -> serviceService.getAllServicesByProvider(providerID));
+    }
+
+    // Providers have few services, so their pages are cut from the cached full list
+    public CursorPage<ServiceResponse> getServicesByProvider(int providerID, Keyset keyset) {
+        List<ServiceResponse> fetched = getServicesByProvider(providerID).stream()
+                .filter(service -> service.getServiceID() > keyset.after())
+                .sorted(Comparator.comparingInt(ServiceResponse::getServiceID))
+                .limit(keyset.limit() + 1L)
+                .toList();
+        return keyset.page(fetched, ServiceResponse::getServiceID);
+    }
+
+    public ServiceProviderResponse getProvider(int providerID) {
+        return providers.get(String.valueOf(providerID), () -> serviceProviderService.getServiceProviderById(providerID));
+    }
+
+    // Fallback execution covers writes made outside a transaction, which are already committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        String providerKey = String.valueOf(event.providerID());
+        if (event.serviceID() != null) {
+            services.evict(String.valueOf(event.serviceID()));
+            // Service events also cover reviews, which change the provider's rating
+            providers.evict(providerKey);
+        } else {
+            providers.evict(providerKey);
+            // Deleting a provider deletes its services, and which ones they were is no longer known
+            services.invalidateAll();
+        }
+        providerServices.evict(providerKey);
+        servicePages.invalidateAll();
+    }
+}
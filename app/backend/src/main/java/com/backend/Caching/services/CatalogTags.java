@@ -0,0 +1,66 @@
+package com.backend.Caching.services;
+
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Service.dto.ServiceResponse;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
+import com.backend.Pagination.dtos.CursorPage;
+
+import java.util.List;
+
+/**
+ * ETags of the catalog responses. They are taken from the response objects themselves, which
+ * mostly come out of {@link CatalogCache}, so a tag always describes the body sent with it and a
+ * near-cache hit answers a conditional GET without touching Redis or the database.
+ */
+public final class CatalogTags {
+
+    private CatalogTags() {
+    }
+
+    public static String service(ServiceResponse service) {
+        return add(EntityTag.of("service"), service).build();
+    }
+
+    public static String services(List<ServiceResponse> services) {
+        EntityTag tag = EntityTag.of("services").add(services.size());
+        services.forEach(service -> add(tag, service));
+        return tag.build();
+    }
+
+    public static String services(CursorPage<ServiceResponse> page) {
+        EntityTag tag = EntityTag.of("service-page").add(page.isHasMore()).add(page.getItems().size());
+        page.getItems().forEach(service -> add(tag, service));
+        return tag.build();
+    }
+
+    public static String provider(ServiceProviderResponse provider) {
+        return add(EntityTag.of("provider"), provider).build();
+    }
+
+    public static String providers(CursorPage<ServiceProviderResponse> page) {
+        EntityTag tag = EntityTag.of("provider-page").add(page.isHasMore()).add(page.getItems().size());
+        page.getItems().forEach(provider -> add(tag, provider));
+        return tag.build();
+    }
+
+    private static EntityTag add(EntityTag tag, ServiceResponse service) {
+        tag.add(new EntityVersion(service.getServiceID(), service.getVersion()));
+        return add(tag, service.getRating());
+    }
+
+    // Providers are sent with a few fields of their user, which are not covered by the provider's version
+    private static EntityTag add(EntityTag tag, ServiceProviderResponse provider) {
+        tag.add(new EntityVersion(provider.getProviderID(), provider.getVersion()));
+        ServiceProviderResponse.Owner user = provider.getUser();
+        tag.add(user.getUserID()).add(user.getName()).add(user.getSurname()).add(user.getEmail()).add(user.getPicUrl());
+        return add(tag, provider.getRating());
+    }
+
+    // Ratings live in their own aggregate rows and change without bumping the subject's version
+    private static EntityTag add(EntityTag tag, RatingSummary rating) {
+        if (rating == null) {
+            return tag.add(false);
+        }
+        return tag.add(true).add(rating.getReviewCount()).add(rating.getStarCounts()).add(rating.getLastReviewAt());
+    }
+}
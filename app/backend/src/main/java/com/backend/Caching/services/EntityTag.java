@@ -0,0 +1,135 @@
+package com.backend.Caching.services;
+
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETag built from what a response is made of (row IDs, row versions and the few derived
+ * values that change without a version bump, like ratings) instead of from its serialised body.
+ * Every field in a response either comes from a versioned row or is fed in here, so two responses
+ * with the same tag are byte-for-byte the same and the tag can be checked before the body is read.
+ */
+public final class EntityTag {
+    // 128 bits of SHA-256 keep the header short while collisions stay out of reach
+    private static final int TAG_BYTES = 16;
+    private static final long NULL_MARKER = Long.MIN_VALUE;
+
+    private final MessageDigest digest;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    private EntityTag(String kind) {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(kind.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // kind keeps equal versions of different resources from sharing a tag
+    public static EntityTag of(String kind) {
+        return new EntityTag(kind);
+    }
+
+    public EntityTag add(long value) {
+        scratch.clear();
+        digest.update(scratch.putLong(value).array());
+        return this;
+    }
+
+    public EntityTag add(boolean value) {
+        return add(value ? 1 : 0);
+    }
+
+    // Length first, so that adjacent strings cannot trade characters
+    public EntityTag add(String value) {
+        if (value == null) {
+            return add(NULL_MARKER);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    public EntityTag add(LocalDateTime time) {
+        if (time == null) {
+            return add(NULL_MARKER);
+        }
+        return add(time.toEpochSecond(ZoneOffset.UTC)).add(time.getNano());
+    }
+
+    public EntityTag add(long[] values) {
+        if (values == null) {
+            return add(NULL_MARKER);
+        }
+        add(values.length);
+        for (long value : values) {
+            add(value);
+        }
+        return this;
+    }
+
+    public EntityTag add(EntityVersion version) {
+        return add(version.id()).add(version.version());
+    }
+
+    // The count goes in first so that list boundaries cannot line up differently
+    public EntityTag addAll(List<EntityVersion> versions) {
+        add(versions.size());
+        versions.forEach(this::add);
+        return this;
+    }
+
+    public String build() {
+        byte[] hash = Arrays.copyOf(digest.digest(), TAG_BYTES);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * Answers a GET whose current tag is known before its body is loaded: a matching If-None-Match
+     * gets 304 without running {@code load}; otherwise the response carries the tag of the body
+     * actually loaded, which differs from {@code currentTag} only if a write landed in between.
+     */
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String currentTag, Supplier<T> load,
+                                                    Function<T, String> tagOf) {
+        if (matches(request, currentTag)) {
+            // A 304 repeats the Vary of the 200 it stands for, and list bodies are negotiated by Accept
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        T body = load.get();
+        return ResponseEntity.ok().eTag(tagOf.apply(body)).body(body);
+    }
+
+    // If-None-Match uses the weak comparison (RFC 9110 13.1.2), so W/ tags from proxies still match
+    static boolean matches(WebRequest request, String tag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        ETag current = ETag.create(tag);
+        for (String header : headers) {
+            for (ETag candidate : ETag.parse(header)) {
+                if (candidate.isWildcard() || candidate.compare(current, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
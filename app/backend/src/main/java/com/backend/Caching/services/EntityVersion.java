@@ -0,0 +1,5 @@
+package com.backend.Caching.services;
+
+// Primary key and row version of one entity; read by the version lookups behind conditional GETs
+public record EntityVersion(int id, int version) {
+}
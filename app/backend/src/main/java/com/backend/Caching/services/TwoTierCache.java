@@ -0,0 +1,293 @@
+package com.backend.Caching.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with two tiers: a bounded in-process near cache in front of a Redis tier
+ * shared by every node, holding values as JSON. Created by {@link TwoTierCacheManager}.
+ *
+ * Concurrent misses for the same key are coalesced: within a node by a map of loads in flight, across
+ * nodes by a short Redis lease that lets one node load while the others wait for its result. Loads
+ * run outside the near cache's compute, so a slow key never blocks readers of its neighbours. Every
+ * key lives under the cache's current generation, so {@link #invalidateAll()} is one increment
+ * rather than a key scan. Evictions are broadcast to the other nodes' near caches and repeated
+ * after a short delay, which removes a value a concurrent reader loaded before the write
+ * committed and stored after the first eviction.
+ *
+ * Redis being unavailable degrades the cache to near-only; it never fails a read.
+ */
+public class TwoTierCache<V> {
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final Cache<String, V> near;
+    private final JavaType type;
+    private final Duration remoteTtl;
+    private final TwoTierCacheManager manager;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter loads;
+
+    // Near keys being loaded on this node; later readers of the same key wait on the first one's result
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // -1 until read from Redis
+    private volatile long generation = -1;
+
+    TwoTierCache(String name, Cache<String, V> near, JavaType type, Duration remoteTtl, TwoTierCacheManager manager,
+                 RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper,
+                 ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.near = near;
+        this.type = type;
+        this.remoteTtl = remoteTtl;
+        this.manager = manager;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+
+        this.remoteHits = Counter.builder("cache.remote.gets").tag("cache", name).tag("result", "hit")
+                .description("Near cache misses answered by the Redis tier").register(meterRegistry);
+        this.remoteMisses = Counter.builder("cache.remote.gets").tag("cache", name).tag("result", "miss")
+                .description("Near cache misses the Redis tier could not answer").register(meterRegistry);
+        this.loads = Counter.builder("cache.loads").tag("cache", name)
+                .description("Values loaded from the database").register(meterRegistry);
+        // Share of reads answered by either tier; the near tier alone is cache.gets under the same cache tag
+        meterRegistry.gauge("cache.hit.ratio", Tags.of("cache", name), this,
+                TwoTierCache::hitRatio);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(String key, Supplier<V> loader) {
+        long current = generation();
+        String nearKey = current + ":" + key;
+        V value = near.getIfPresent(nearKey);
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pending = inFlight.putIfAbsent(nearKey, load);
+        if (pending != null) {
+            return await(pending);
+        }
+        try {
+            // A load that finished between the near lookup and the registration above
+            value = near.asMap().get(nearKey);
+            if (value == null) {
+                value = loadThroughRemote(current, key, loader);
+                if (value != null) {
+                    near.put(nearKey, value);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(nearKey, load);
+        }
+    }
+
+    private V await(CompletableFuture<V> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Drops the key on every node; call once the change is committed
+    public void evict(String key) {
+        evictLocally(key);
+        deleteRemote(generation(), key);
+        manager.publishEvicted(this, key);
+        scheduler.schedule(() -> {
+            evictLocally(key);
+            deleteRemote(generation(), key);
+            manager.publishEvicted(this, key);
+        }, manager.getRedeleteDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Moves every node to a fresh generation; entries of the old one are never read again and expire
+    public void invalidateAll() {
+        long next;
+        try {
+            Long incremented = redisTemplate.opsForValue().increment(generationKey());
+            next = incremented == null ? generation() + 1 : incremented;
+        } catch (RuntimeException e) {
+            logger.warn("Could not advance the {} cache generation in Redis; invalidating this node only", name, e);
+            next = generation() + 1;
+        }
+        advanceGeneration(next);
+        manager.publishGeneration(this, next);
+    }
+
+    void evictLocally(String key) {
+        near.invalidate(generation() + ":" + key);
+    }
+
+    void advanceGeneration(long next) {
+        if (next > generation) {
+            generation = next;
+            near.invalidateAll();
+        }
+    }
+
+    private V loadThroughRemote(long generation, String key, Supplier<V> loader) {
+        String remoteKey = remoteKey(generation, key);
+        V cached = readRemote(remoteKey);
+        if (cached != null) {
+            remoteHits.increment();
+            return cached;
+        }
+        remoteMisses.increment();
+
+        String leaseKey = remoteKey + ":lease";
+        boolean leased = acquireLease(leaseKey);
+        if (!leased) {
+            // Another node is loading the same key; wait briefly for its result instead of piling on the database
+            long deadline = System.nanoTime() + manager.getLeaseWait().toNanos();
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(manager.getLeasePoll().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                cached = readRemote(remoteKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            writeRemote(remoteKey, value);
+            return value;
+        } finally {
+            // A failed load must not leave other nodes waiting out the lease
+            if (leased) {
+                releaseLease(leaseKey);
+            }
+        }
+    }
+
+    private V readRemote(String remoteKey) {
+        try {
+            String json = redisTemplate.opsForValue().get(remoteKey);
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            logger.warn("Discarding unreadable {} cache entry {}", name, remoteKey, e);
+            deleteQuietly(remoteKey);
+            return null;
+        } catch (RuntimeException e) {
+            logger.debug("Redis read failed for {} cache; loading from the database", name, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String remoteKey, V value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(remoteKey, objectMapper.writeValueAsString(value), remoteTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.debug("Redis write failed for {} cache; keeping the value on this node only", name, e);
+        }
+    }
+
+    private boolean acquireLease(String leaseKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(leaseKey, manager.getNodeID(), manager.getLeaseTtl()));
+        } catch (RuntimeException e) {
+            // No Redis, no other node to coordinate with through it
+            return true;
+        }
+    }
+
+    private void releaseLease(String leaseKey) {
+        deleteQuietly(leaseKey);
+    }
+
+    private void deleteRemote(long generation, String key) {
+        deleteQuietly(remoteKey(generation, key));
+    }
+
+    private void deleteQuietly(String remoteKey) {
+        try {
+            redisTemplate.delete(remoteKey);
+        } catch (RuntimeException e) {
+            logger.debug("Redis delete failed for {}; the entry expires on its own", remoteKey, e);
+        }
+    }
+
+    private long generation() {
+        long current = generation;
+        if (current >= 0) {
+            return current;
+        }
+        long stored = 0;
+        try {
+            String value = redisTemplate.opsForValue().get(generationKey());
+            stored = value == null ? 0 : Long.parseLong(value);
+        } catch (RuntimeException e) {
+            logger.debug("Could not read the {} cache generation from Redis; starting at 0", name, e);
+        }
+        synchronized (this) {
+            if (generation < stored) {
+                generation = stored;
+            }
+            return generation;
+        }
+    }
+
+    private String remoteKey(long generation, String key) {
+        return "cache:" + name + ":" + generation + ":" + key;
+    }
+
+    private String generationKey() {
+        return "cache:" + name + ":generation";
+    }
+
+    private double hitRatio() {
+        long requests = near.stats().requestCount();
+        if (requests == 0) {
+            return Double.NaN;
+        }
+        return (requests - remoteMisses.count()) / requests;
+    }
+}
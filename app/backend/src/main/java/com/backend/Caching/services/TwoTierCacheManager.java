@@ -0,0 +1,154 @@
+package com.backend.Caching.services;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Creates {@link TwoTierCache}s and carries their invalidations between nodes over one Redis
+ * channel. Near caches report the usual cache.gets/cache.evictions/cache.size meters under their
+ * cache name.
+ */
+@Component
+public class TwoTierCacheManager {
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final Duration leasePoll;
+    private final Duration redeleteDelay;
+    // Lets a node skip its own broadcasts
+    private final String nodeID = UUID.randomUUID().toString();
+
+    private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("cache-redelete").daemon().unstarted(runnable));
+
+    public TwoTierCacheManager(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.lease-ttl-ms:5000}") long leaseTtlMillis,
+            @Value("${app.cache.lease-wait-ms:300}") long leaseWaitMillis,
+            @Value("${app.cache.lease-poll-ms:20}") long leasePollMillis,
+            @Value("${app.cache.redelete-delay-ms:1000}") long redeleteDelayMillis) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMillis);
+        this.leaseWait = Duration.ofMillis(leaseWaitMillis);
+        this.leasePoll = Duration.ofMillis(Math.max(1, leasePollMillis));
+        this.redeleteDelay = Duration.ofMillis(redeleteDelayMillis);
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(INVALIDATION_CHANNEL)
+        );
+    }
+
+    public <V> TwoTierCache<V> create(String name, JavaType type, long nearMaxSize, Duration nearTtl, Duration remoteTtl) {
+        Cache<String, V> near = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, near, name);
+
+        TwoTierCache<V> cache = new TwoTierCache<>(name, near, type, remoteTtl, this, redisTemplate, objectMapper,
+                scheduler, meterRegistry);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("A cache named " + name + " already exists");
+        }
+        return cache;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    String getNodeID() {
+        return nodeID;
+    }
+
+    Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    Duration getLeaseWait() {
+        return leaseWait;
+    }
+
+    Duration getLeasePoll() {
+        return leasePoll;
+    }
+
+    Duration getRedeleteDelay() {
+        return redeleteDelay;
+    }
+
+    void publishEvicted(TwoTierCache<?> cache, String key) {
+        publish(cache.getName() + "|k|" + key);
+    }
+
+    void publishGeneration(TwoTierCache<?> cache, long generation) {
+        publish(cache.getName() + "|g|" + generation);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeID + "|" + payload);
+        } catch (RuntimeException e) {
+            logger.warn("Could not broadcast cache invalidation; other nodes' near caches expire it on their own", e);
+        }
+    }
+
+    // "<nodeID>|<cache>|k|<key>" evicts one key, "<nodeID>|<cache>|g|<generation>" everything older
+    private void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 4);
+        if (parts.length < 4 || parts[0].equals(nodeID)) {
+            return;
+        }
+        TwoTierCache<?> cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        try {
+            switch (parts[2]) {
+                case "k" -> cache.evictLocally(parts[3]);
+                case "g" -> cache.advanceGeneration(Long.parseLong(parts[3]));
+                default -> logger.warn("Ignoring unknown cache invalidation: {}", message);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed cache invalidation: {}", message);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.backend.Encoding.configs;
+
+import com.backend.Encoding.services.ColumnarJsonHttpMessageConverter;
+import com.backend.Encoding.services.GzipETagFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class EncodingConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    public EncodingConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Appended after the Jackson converter so that clients sending */* keep getting plain JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarJsonHttpMessageConverter(objectMapper));
+    }
+
+    /*
+     * gzip for clients that send Accept-Encoding, done by Tomcat. Bodies are streamed without a
+     * Content-Length, so the size threshold only spares small responses whose length is known up
+     * front. This replaces server.compression.*.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> responseCompression(
+            @Value("${app.compression.enabled:true}") boolean enabled,
+            @Value("${app.compression.min-response-bytes:2048}") long minResponseBytes,
+            @Value("${app.compression.mime-types:application/json,application/x-ndjson,application/vnd.repairlink.columns,text/plain}")
+            String[] mimeTypes) {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(enabled);
+            compression.setMinResponseSize(DataSize.ofBytes(minResponseBytes));
+            compression.setMimeTypes(mimeTypes);
+            factory.setCompression(compression);
+        };
+    }
+
+    // Lets Tomcat compress the responses that carry an ETag
+    @Bean
+    public FilterRegistrationBean<GzipETagFilter> gzipETagFilter(@Value("${app.compression.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<GzipETagFilter> registration = new FilterRegistrationBean<>(new GzipETagFilter());
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -0,0 +1,145 @@
+package com.backend.Encoding.services;
+
+import com.backend.Pagination.dtos.CursorPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.BeanAsArraySerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes list responses as columnar JSON when the client asks for {@link #COLUMNAR_JSON} in its
+ * Accept header: the field names go out once in {@code columns} and every item becomes an array of
+ * values in that order, instead of an object repeating every name. A {@link CursorPage} keeps its
+ * {@code nextCursor} and {@code hasMore} next to the table:
+ *
+ * <pre>{"columns":["bookingID","customerID",...],"rows":[[1,7,...],[2,9,...]],"nextCursor":"...","hasMore":true}</pre>
+ *
+ * Values are written by the application's ObjectMapper, so dates, enums and nested objects look the
+ * same as in plain JSON. Clients that also accept {@code application/json} keep getting it for
+ * errors and for anything that is not a list. The media type has no {@code +json} suffix because
+ * the regular Jackson converter claims every {@code application/*+json} type.
+ *
+ * An ETag gets a {@code .columns} suffix, since it names the JSON bytes. Conditional requests
+ * are still checked against the plain tag, so revalidating a columnar body always returns it whole.
+ */
+public class ColumnarJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    public static final MediaType COLUMNAR_JSON = new MediaType("application", "vnd.repairlink.columns");
+
+    private final ObjectMapper objectMapper;
+
+    public ColumnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        this.objectMapper = objectMapper.copy()
+                .registerModule(new SimpleModule().addSerializer(Table.class, new TableSerializer()));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return writes(clazz);
+    }
+
+    // Also tells ColumnarVaryAdvice which responses were negotiated against this type
+    static boolean writes(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) || CursorPage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response format only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        // Same data, different bytes: the tag must not be shared with the plain JSON representation
+        String eTag = headers.getETag();
+        if (eTag != null && eTag.endsWith("\"")) {
+            String columnarTag = eTag.substring(0, eTag.length() - 1) + ".columns\"";
+            // By now Spring has moved the tag onto the servlet response for its own 304 check
+            if (outputMessage instanceof ServletServerHttpResponse response
+                    && response.getServletResponse().containsHeader(HttpHeaders.ETAG)) {
+                response.getServletResponse().setHeader(HttpHeaders.ETAG, columnarTag);
+            } else {
+                headers.setETag(columnarTag);
+            }
+        }
+        Table table = value instanceof CursorPage<?> page ? new Table(page.getItems(), page) : new Table((List<?>) value, null);
+        // The servlet container closes its own stream
+        objectMapper.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), table);
+    }
+
+    private record Table(List<?> rows, CursorPage<?> page) {
+    }
+
+    private static class TableSerializer extends StdSerializer<Table> {
+
+        TableSerializer() {
+            super(Table.class);
+        }
+
+        @Override
+        public void serialize(Table table, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            // Lists hold one response type, so the first item's bean serializer writes every row as an array
+            Class<?> rowType = table.rows().stream().filter(Objects::nonNull).findFirst().map(Object::getClass).orElse(null);
+            JsonSerializer<Object> rowSerializer = rowType == null ? null : rowSerializer(rowType, provider);
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("columns");
+            if (rowSerializer != null) {
+                for (Iterator<PropertyWriter> columns = rowSerializer.properties(); columns.hasNext(); ) {
+                    generator.writeString(columns.next().getName());
+                }
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("rows");
+            for (Object row : table.rows()) {
+                if (rowSerializer != null && row != null && row.getClass() == rowType) {
+                    rowSerializer.serialize(row, generator, provider);
+                } else {
+                    provider.defaultSerializeValue(row, generator);
+                }
+            }
+            generator.writeEndArray();
+
+            if (table.page() != null) {
+                generator.writeStringField("nextCursor", table.page().getNextCursor());
+                generator.writeBooleanField("hasMore", table.page().isHasMore());
+            }
+            generator.writeEndObject();
+        }
+
+        // Null for anything that is not a bean; such rows are written as plain values
+        @SuppressWarnings("unchecked")
+        private static JsonSerializer<Object> rowSerializer(Class<?> rowType, SerializerProvider provider) throws IOException {
+            JsonSerializer<Object> serializer = provider.findTypedValueSerializer(rowType, true, null);
+            if (serializer instanceof BeanSerializerBase bean) {
+                return (JsonSerializer<Object>) (JsonSerializer<?>) new BeanAsArraySerializer(bean);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.Encoding.services;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@code Vary: Accept} to every response that {@link ColumnarJsonHttpMessageConverter} could have
+ * written, whichever converter was picked, so a shared cache never hands a columnar body to a plain JSON
+ * client or the other way round. Spring skips this advice for a bodiless 304, so
+ * {@code EntityTag.conditional} sets the header on its own 304s.
+ */
+@ControllerAdvice
+public class ColumnarVaryAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body != null && ColumnarJsonHttpMessageConverter.writes(body.getClass())
+                && !response.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return body;
+    }
+}
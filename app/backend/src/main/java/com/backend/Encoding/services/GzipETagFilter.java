@@ -0,0 +1,76 @@
+package com.backend.Encoding.services;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tomcat never gzips a response that carries a strong ETag, and the catalog and review reads all
+ * carry one. For clients that accept gzip the tag is sent weak instead, as nginx does when it
+ * compresses, so those responses compress too. If-None-Match compares tags weakly, so a weakened
+ * tag still revalidates against the strong one the controller computed.
+ */
+public class GzipETagFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        filterChain.doFilter(request, new HttpServletResponseWrapper(response) {
+            @Override
+            public void setHeader(String name, String value) {
+                super.setHeader(name, weaken(name, value));
+            }
+
+            @Override
+            public void addHeader(String name, String value) {
+                super.addHeader(name, weaken(name, value));
+            }
+        });
+    }
+
+    // Only an explicit gzip coding with a non-zero q-value, which is what makes Tomcat compress
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return quality(parts) > 0;
+            }
+        }
+        return false;
+    }
+
+    // The q parameter of an Accept-Encoding entry; missing means 1, unreadable means not acceptable
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    static String weaken(String name, String value) {
+        if (HttpHeaders.ETAG.equalsIgnoreCase(name) && value != null && value.startsWith("\"")) {
+            return "W/" + value;
+        }
+        return value;
+    }
+}
@@ -1,8 +1,13 @@
 package com.backend.Exceptions;
 
 import com.backend.Exceptions.security.UserAlreadyExistsException;
+import com.backend.Exceptions.services.InvalidPageRequestException;
+import com.backend.Exceptions.services.InvalidSearchRequestException;
+import com.backend.Exceptions.services.SearchUnavailableException;
+import com.backend.Exceptions.services.SlotUnavailableException;
 import com.backend.Exceptions.services.UnverifiedProviderException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,4 +33,56 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleUnverifiedProviderException(UnverifiedProviderException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
     }
+
+    // Handle SlotUnavailableException
+    @ExceptionHandler(SlotUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleSlotUnavailableException(SlotUnavailableException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("status", "error");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Handle InvalidPageRequestException
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("status", "error");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Handle InvalidSearchRequestException
+    @ExceptionHandler(InvalidSearchRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSearchRequestException(InvalidSearchRequestException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("status", "error");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // The search index is still being built after startup
+    @ExceptionHandler(SearchUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleSearchUnavailableException(SearchUnavailableException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("status", "error");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(errorResponse);
+    }
+
+    // A concurrent request changed the same row first (@Version mismatch)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("message", "This record was changed by someone else. Please reload and try again.");
+        errorResponse.put("status", "error");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,7 @@
+package com.backend.Exceptions.services;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.backend.Exceptions.services;
+
+public class InvalidSearchRequestException extends RuntimeException {
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.backend.Exceptions.services;
+
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException(String message) {
+        super(message);
+    }
+}
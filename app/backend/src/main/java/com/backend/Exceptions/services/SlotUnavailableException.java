@@ -0,0 +1,7 @@
+package com.backend.Exceptions.services;
+
+public class SlotUnavailableException extends RuntimeException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
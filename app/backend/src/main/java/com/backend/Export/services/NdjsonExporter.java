@@ -0,0 +1,88 @@
+package com.backend.Export.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams a JPQL result to the client as NDJSON (one JSON document per line) without building the
+ * whole list in memory. Rows come from a forward-only result set read inside a read-only transaction
+ * on the async request thread. Every {@code clear-every} rows the persistence context is cleared and
+ * the output flushed, so heap use stays flat however many rows there are.
+ *
+ * MySQL Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE (the default
+ * here); any other value, unless useCursorFetch is set on the URL, makes it buffer the whole result.
+ */
+@Component
+public class NdjsonExporter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int clearEvery;
+
+    public NdjsonExporter(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:-2147483648}") int fetchSize,
+            @Value("${app.export.clear-every:500}") int clearEvery) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.clearEvery = Math.max(1, clearEvery);
+    }
+
+    public <T> StreamingResponseBody stream(String jpql, Class<T> type, Map<String, ?> parameters) {
+        return out -> {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> write(jpql, type, parameters, out));
+            } catch (UncheckedIOException e) {
+                // Usually the client went away mid-stream
+                throw e.getCause();
+            }
+        };
+    }
+
+    // Package-private so tests can stream into a buffer inside their own transaction
+    <T> void write(String jpql, Class<T> type, Map<String, ?> parameters, OutputStream out) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+
+        try (Stream<T> rows = query.getResultStream()) {
+            int written = 0;
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                out.write('\n');
+                if (++written % clearEvery == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.Features.Availability.controller;
+
+import com.backend.Features.Availability.dto.AvailabilityResponse;
+import com.backend.Features.Availability.dto.WorkingHoursDTO;
+import com.backend.Features.Availability.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+    private final AvailabilityService availabilityService;
+
+    @GetMapping("/working-hours/{providerID}")
+    public ResponseEntity<List<WorkingHoursDTO>> getWorkingHours(@PathVariable int providerID) {
+        return ResponseEntity.ok(availabilityService.getWorkingHours(providerID));
+    }
+
+    @PutMapping("/working-hours/update/{providerID}")
+    public ResponseEntity<List<WorkingHoursDTO>> updateWorkingHours(@PathVariable int providerID, @RequestBody List<WorkingHoursDTO> workingHours) {
+        return ResponseEntity.ok(availabilityService.updateWorkingHours(providerID, workingHours));
+    }
+
+    // Free start times for one service on one day, replacing client-side computation over all bookings
+    @GetMapping("/provider/{providerID}")
+    public ResponseEntity<AvailabilityResponse> getAvailability(
+            @PathVariable int providerID,
+            @RequestParam int serviceID,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(availabilityService.getAvailability(providerID, serviceID, date));
+    }
+}
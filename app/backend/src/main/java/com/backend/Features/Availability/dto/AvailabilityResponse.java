@@ -0,0 +1,54 @@
+package com.backend.Features.Availability.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AvailabilityResponse {
+    private int providerID;
+    private int serviceID;
+    private LocalDate date;
+    private int durationMinutes;
+    // Start times at which the whole service fits into free working time
+    private List<LocalDateTime> slots;
+
+    public int getProviderID() {
+        return providerID;
+    }
+
+    public void setProviderID(int providerID) {
+        this.providerID = providerID;
+    }
+
+    public int getServiceID() {
+        return serviceID;
+    }
+
+    public void setServiceID(int serviceID) {
+        this.serviceID = serviceID;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public List<LocalDateTime> getSlots() {
+        return slots;
+    }
+
+    public void setSlots(List<LocalDateTime> slots) {
+        this.slots = slots;
+    }
+}
@@ -0,0 +1,86 @@
+package com.backend.Features.Availability.entity;
+
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One opening window of a provider on a given weekday. A day may have several windows
+ * (e.g. a lunch break splits it in two).
+ */
+@Entity
+@Table(name = "provider_working_hours")
+public class ProviderWorkingHours {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int workingHoursID;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "providerID", referencedColumnName = "providerID", nullable = false)
+    private ServiceProvider provider;
+
+    // ISO day number, 1 = Monday ... 7 = Sunday; TINYINT in db/MySQL
+    @JdbcTypeCode(SqlTypes.TINYINT)
+    @Column(name = "dayOfWeek", nullable = false)
+    private int dayOfWeek;
+
+    @Column(name = "startTime", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "endTime", nullable = false)
+    private LocalTime endTime;
+
+    public ProviderWorkingHours() {
+    }
+
+    public ProviderWorkingHours(ServiceProvider provider, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.provider = provider;
+        this.dayOfWeek = dayOfWeek.getValue();
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public int getWorkingHoursID() {
+        return workingHoursID;
+    }
+
+    public void setWorkingHoursID(int workingHoursID) {
+        this.workingHoursID = workingHoursID;
+    }
+
+    public ServiceProvider getProvider() {
+        return provider;
+    }
+
+    public void setProvider(ServiceProvider provider) {
+        this.provider = provider;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return DayOfWeek.of(dayOfWeek);
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek.getValue();
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.Features.Availability.repository;
+
+import com.backend.Features.Availability.entity.ProviderWorkingHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ProviderWorkingHoursRepository extends JpaRepository<ProviderWorkingHours, Integer> {
+    @Query("SELECT w FROM ProviderWorkingHours w WHERE w.provider.providerID = :providerID ORDER BY w.dayOfWeek, w.startTime")
+    List<ProviderWorkingHours> findByProviderID(int providerID);
+
+    @Query("SELECT w FROM ProviderWorkingHours w WHERE w.provider.providerID = :providerID AND w.dayOfWeek = :dayOfWeek ORDER BY w.startTime")
+    List<ProviderWorkingHours> findByProviderIDAndDayOfWeek(int providerID, int dayOfWeek);
+
+    @Modifying
+    @Query("DELETE FROM ProviderWorkingHours w WHERE w.provider.providerID = :providerID")
+    void deleteByProviderID(int providerID);
+}
@@ -0,0 +1,174 @@
+package com.backend.Features.Availability.service;
+
+import com.backend.Features.Availability.entity.ProviderWorkingHours;
+import com.backend.Features.Availability.repository.ProviderWorkingHoursRepository;
+import com.backend.Features.Booking.enums.BookingStatus;
+import com.backend.Features.Booking.repository.BookingInterval;
+import com.backend.Features.Booking.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory slot index of provider availability, one {@link DaySlots} bitmap per provider-day.
+ * A day is built on first use from the provider's working hours and the bookings that overlap it,
+ * then kept current by reserving and releasing slots as bookings are made and cancelled.
+ *
+ * Bookings start on a slot boundary and must lie within a single day.
+ */
+@Component
+public class AvailabilityIndex {
+
+    public static final int SLOT_MINUTES = DaySlots.SLOT_MINUTES;
+
+    // Statuses that keep a slot taken
+    static final Set<BookingStatus> OCCUPYING = EnumSet.of(
+            BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private record Key(int providerID, LocalDate date) {
+    }
+
+    private final Cache<Key, DaySlots> days;
+    private final ProviderWorkingHoursRepository workingHoursRepository;
+    private final BookingRepository bookingRepository;
+    private final LocalTime defaultOpen;
+    private final LocalTime defaultClose;
+
+    public AvailabilityIndex(
+            ProviderWorkingHoursRepository workingHoursRepository,
+            BookingRepository bookingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.availability.index.max-days:100000}") long maxDays,
+            @Value("${app.availability.index.idle-minutes:30}") long idleMinutes,
+            @Value("${app.availability.default-open:09:00}") LocalTime defaultOpen,
+            @Value("${app.availability.default-close:17:00}") LocalTime defaultClose) {
+        this.workingHoursRepository = workingHoursRepository;
+        this.bookingRepository = bookingRepository;
+        this.defaultOpen = defaultOpen;
+        this.defaultClose = defaultClose;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "availability");
+    }
+
+    // Atomically takes [start, end) if it lies in working hours and overlaps no other booking
+    public boolean tryReserve(int providerID, LocalDateTime start, LocalDateTime end) {
+        checkInterval(start, end);
+        return day(providerID, start.toLocalDate()).tryReserve(slotOf(start), endSlotOf(start, end));
+    }
+
+    public void release(int providerID, LocalDateTime start, LocalDateTime end) {
+        DaySlots slots = days.getIfPresent(new Key(providerID, start.toLocalDate()));
+        if (slots != null) {
+            slots.release(slotOf(start), endSlotOf(start, end));
+        }
+    }
+
+    // Start times on `date` at which a booking of `durationMinutes` fits, excluding times already past
+    public List<LocalDateTime> freeSlots(int providerID, LocalDate date, int durationMinutes) {
+        int length = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        LocalDateTime now = LocalDateTime.now();
+        int earliest;
+        if (date.isBefore(now.toLocalDate())) {
+            return List.of();
+        } else if (date.isEqual(now.toLocalDate())) {
+            earliest = (now.getHour() * 60 + now.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        } else {
+            earliest = 0;
+        }
+
+        LocalDateTime midnight = date.atStartOfDay();
+        return day(providerID, date).freeStarts(length, earliest).stream()
+                .map(slot -> midnight.plusMinutes((long) slot * SLOT_MINUTES))
+                .toList();
+    }
+
+    // The database disagreed with this node's view of the day: rebuild it on next use
+    public void invalidateDay(int providerID, LocalDate date) {
+        days.invalidate(new Key(providerID, date));
+    }
+
+    // Working hours changed: rebuild this provider's days on next use
+    public void invalidateProvider(int providerID) {
+        days.asMap().keySet().removeIf(key -> key.providerID() == providerID);
+    }
+
+    public static boolean isSlotAligned(LocalDateTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % SLOT_MINUTES == 0;
+    }
+
+    private DaySlots day(int providerID, LocalDate date) {
+        return days.get(new Key(providerID, date), this::load);
+    }
+
+    private DaySlots load(Key key) {
+        DaySlots slots = new DaySlots();
+
+        List<ProviderWorkingHours> hours = workingHoursRepository.findByProviderID(key.providerID());
+        if (hours.isEmpty()) {
+            // Providers that never published hours keep the default opening window every day
+            slots.markWorking(minuteSlot(defaultOpen), endMinuteSlot(defaultClose));
+        } else {
+            for (ProviderWorkingHours window : hours) {
+                if (window.getDayOfWeek() == key.date().getDayOfWeek()) {
+                    slots.markWorking(minuteSlot(window.getStartTime()), endMinuteSlot(window.getEndTime()));
+                }
+            }
+        }
+
+        LocalDateTime dayStart = key.date().atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        for (BookingInterval booking : bookingRepository.findIntervals(key.providerID(), dayStart, dayEnd, OCCUPYING)) {
+            LocalDateTime from = booking.getBookingDate().isBefore(dayStart) ? dayStart : booking.getBookingDate();
+            LocalDateTime to = booking.getEndDate().isAfter(dayEnd) ? dayEnd : booking.getEndDate();
+            int fromSlot = (int) (ChronoUnit.MINUTES.between(dayStart, from) / SLOT_MINUTES);
+            int toSlot = (int) ((ChronoUnit.MINUTES.between(dayStart, to) + SLOT_MINUTES - 1) / SLOT_MINUTES);
+            slots.markBooked(fromSlot, toSlot);
+        }
+        return slots;
+    }
+
+    private static void checkInterval(LocalDateTime start, LocalDateTime end) {
+        if (!isSlotAligned(start)) {
+            throw new IllegalArgumentException("Bookings must start on a " + SLOT_MINUTES + "-minute boundary");
+        }
+        if (!end.isAfter(start) || end.isAfter(start.toLocalDate().plusDays(1).atStartOfDay())) {
+            throw new IllegalArgumentException("A booking must end after it starts and on the same day");
+        }
+    }
+
+    private static int slotOf(LocalDateTime time) {
+        return minuteSlot(time.toLocalTime());
+    }
+
+    private static int endSlotOf(LocalDateTime start, LocalDateTime end) {
+        long minutes = ChronoUnit.MINUTES.between(start.toLocalDate().atStartOfDay(), end);
+        return (int) ((minutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    private static int minuteSlot(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    // LocalTime.MIDNIGHT as an end time means the end of the day
+    private static int endMinuteSlot(LocalTime time) {
+        int minutes = time.equals(LocalTime.MIDNIGHT) ? 24 * 60 : time.getHour() * 60 + time.getMinute();
+        return (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+}
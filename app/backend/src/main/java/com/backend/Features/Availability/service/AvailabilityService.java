@@ -0,0 +1,110 @@
+package com.backend.Features.Availability.service;
+
+import com.backend.Features.Availability.dto.AvailabilityResponse;
+import com.backend.Features.Availability.dto.WorkingHoursDTO;
+import com.backend.Features.Availability.entity.ProviderWorkingHours;
+import com.backend.Features.Availability.repository.ProviderWorkingHoursRepository;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.Service.repository.ServiceRepository;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+    private final ProviderWorkingHoursRepository workingHoursRepository;
+    private final ServiceProviderRepository serviceProviderRepository;
+    private final ServiceRepository serviceRepository;
+    private final AvailabilityIndex availabilityIndex;
+
+    public List<WorkingHoursDTO> getWorkingHours(int providerID) {
+        return workingHoursRepository.findByProviderID(providerID).stream()
+                .map(this::mapToWorkingHoursDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Replaces the provider's whole weekly schedule
+    @Transactional
+    public List<WorkingHoursDTO> updateWorkingHours(int providerID, List<WorkingHoursDTO> workingHours) {
+        ServiceProvider provider = serviceProviderRepository.findById(providerID)
+                .orElseThrow(() -> new RuntimeException("ServiceProvider not found"));
+        validateWorkingHours(workingHours);
+
+        workingHoursRepository.deleteByProviderID(providerID);
+        List<ProviderWorkingHours> saved = workingHoursRepository.saveAll(workingHours.stream()
+                .map(window -> new ProviderWorkingHours(provider, window.getDayOfWeek(), window.getStartTime(), window.getEndTime()))
+                .collect(Collectors.toList()));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                availabilityIndex.invalidateProvider(providerID);
+            }
+        });
+        return saved.stream().map(this::mapToWorkingHoursDTO).collect(Collectors.toList());
+    }
+
+    public AvailabilityResponse getAvailability(int providerID, int serviceID, LocalDate date) {
+        ServiceClass serviceClass = serviceRepository.findById(serviceID)
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        if (serviceClass.getProvider().getProviderID() != providerID) {
+            throw new IllegalArgumentException("Service does not belong to this provider");
+        }
+
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setProviderID(providerID);
+        response.setServiceID(serviceID);
+        response.setDate(date);
+        response.setDurationMinutes(serviceClass.getDurationMinutes());
+        response.setSlots(availabilityIndex.freeSlots(providerID, date, serviceClass.getDurationMinutes()));
+        return response;
+    }
+
+    private void validateWorkingHours(List<WorkingHoursDTO> workingHours) {
+        for (WorkingHoursDTO window : workingHours) {
+            if (window.getDayOfWeek() == null || window.getStartTime() == null || window.getEndTime() == null) {
+                throw new IllegalArgumentException("Each working-hours window needs a dayOfWeek, startTime and endTime");
+            }
+            boolean endsAtMidnight = window.getEndTime().equals(LocalTime.MIDNIGHT);
+            if (!endsAtMidnight && !window.getEndTime().isAfter(window.getStartTime())) {
+                throw new IllegalArgumentException("Working hours must end after they start on " + window.getDayOfWeek());
+            }
+            if (!isAligned(window.getStartTime()) || !isAligned(window.getEndTime())) {
+                throw new IllegalArgumentException("Working hours must be on " + AvailabilityIndex.SLOT_MINUTES + "-minute boundaries");
+            }
+        }
+
+        // Windows on the same day must not overlap
+        List<WorkingHoursDTO> sorted = workingHours.stream()
+                .sorted(Comparator.comparing(WorkingHoursDTO::getDayOfWeek).thenComparing(WorkingHoursDTO::getStartTime))
+                .toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            WorkingHoursDTO previous = sorted.get(i - 1);
+            WorkingHoursDTO current = sorted.get(i);
+            boolean previousRunsToMidnight = previous.getEndTime().equals(LocalTime.MIDNIGHT);
+            if (previous.getDayOfWeek() == current.getDayOfWeek()
+                    && (previousRunsToMidnight || current.getStartTime().isBefore(previous.getEndTime()))) {
+                throw new IllegalArgumentException("Overlapping working hours on " + current.getDayOfWeek());
+            }
+        }
+    }
+
+    private static boolean isAligned(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % AvailabilityIndex.SLOT_MINUTES == 0;
+    }
+
+    private WorkingHoursDTO mapToWorkingHoursDTO(ProviderWorkingHours workingHours) {
+        return new WorkingHoursDTO(workingHours.getDayOfWeek(), workingHours.getStartTime(), workingHours.getEndTime());
+    }
+}
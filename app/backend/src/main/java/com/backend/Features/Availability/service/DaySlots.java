@@ -0,0 +1,88 @@
+package com.backend.Features.Availability.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One provider-day as two bitmaps of fixed-length slots: which slots fall inside working hours
+ * and which are already booked. A day of 15-minute slots is 96 bits, so every check and
+ * search is a handful of word operations.
+ *
+ * All mutation happens under the instance monitor, which makes check-and-reserve atomic
+ * for the provider-day.
+ */
+final class DaySlots {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    private final long[] working = new long[WORDS];
+    private final long[] booked = new long[WORDS];
+
+    // Slot ranges are half-open: [from, to)
+    void markWorking(int from, int to) {
+        set(working, from, to);
+    }
+
+    void markBooked(int from, int to) {
+        set(booked, from, to);
+    }
+
+    synchronized boolean tryReserve(int from, int to) {
+        if (!allSet(working, from, to) || anySet(booked, from, to)) {
+            return false;
+        }
+        set(booked, from, to);
+        return true;
+    }
+
+    synchronized void release(int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            booked[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    // Start slots (>= earliest) from which `length` consecutive slots are working and unbooked
+    synchronized List<Integer> freeStarts(int length, int earliest) {
+        List<Integer> starts = new ArrayList<>();
+        int run = 0;
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            boolean free = isSet(working, slot) && !isSet(booked, slot);
+            run = free ? run + 1 : 0;
+            int start = slot - length + 1;
+            if (run >= length && start >= earliest) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+
+    private static void set(long[] bits, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            bits[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    private static boolean isSet(long[] bits, int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static boolean allSet(long[] bits, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            if (!isSet(bits, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anySet(long[] bits, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            if (isSet(bits, slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
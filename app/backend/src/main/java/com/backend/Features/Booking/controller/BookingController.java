@@ -4,6 +4,8 @@ import com.backend.Features.Booking.dto.BookingRequest;
 import com.backend.Features.Booking.dto.BookingResponse;
 import com.backend.Features.Booking.enums.BookingStatus;
 import com.backend.Features.Booking.service.BookingService;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final KeysetPagination pagination;
 
     @PostMapping("/customer")
     public ResponseEntity<BookingResponse> createBooking(@RequestBody BookingRequest bookingRequest) {
@@ -26,16 +29,22 @@ public class BookingController {
 
 
     @GetMapping("/customer")
-    public ResponseEntity<List<BookingResponse>> getBookingsByCustomer(@RequestParam int customerID) {
+    public ResponseEntity<?> getBookingsByCustomer(@RequestParam int customerID, PageParams page) {
         // Make sure this parameter name matches the one in your frontend API call
-        List<BookingResponse> bookings = bookingService.getBookingsByCustomer(customerID);
-        return ResponseEntity.ok(bookings);
+        if (pagination.isUnpaged(page)) {
+            List<BookingResponse> bookings = bookingService.getBookingsByCustomer(customerID);
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok(bookingService.getBookingsByCustomer(customerID, pagination.resolve(page)));
     }
 
     @GetMapping("/provider/{providerID}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByProvider(@PathVariable int providerID) {
-        List<BookingResponse> bookings = bookingService.getBookingsByProvider(providerID);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<?> getBookingsByProvider(@PathVariable int providerID, PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<BookingResponse> bookings = bookingService.getBookingsByProvider(providerID);
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok(bookingService.getBookingsByProvider(providerID, pagination.resolve(page)));
     }
 
     @PutMapping("/status/{bookingID}")
@@ -1,5 +1,6 @@
 package com.backend.Features.Booking.dto;
 
+import com.backend.Features.Booking.enums.BookingStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,10 +11,28 @@ public class BookingResponse {
     private int serviceID;
     private int providerID;
     private LocalDateTime bookingDate;
+    private LocalDateTime endDate;
     private String additionalNotes;
     private String status;
     private LocalDateTime createdAt;
 
+    public BookingResponse() {
+    }
+
+    // Used by the JPQL constructor expressions in BookingRepository
+    public BookingResponse(int bookingID, int customerID, int serviceID, int providerID, LocalDateTime bookingDate,
+                           LocalDateTime endDate, String additionalNotes, BookingStatus status, LocalDateTime createdAt) {
+        this.bookingID = bookingID;
+        this.customerID = customerID;
+        this.serviceID = serviceID;
+        this.providerID = providerID;
+        this.bookingDate = bookingDate;
+        this.endDate = endDate;
+        this.additionalNotes = additionalNotes;
+        this.status = status.name();
+        this.createdAt = createdAt;
+    }
+
 //    ___________________________________________________________________________________________
 //    Backend modification to Include More Information (Long-term Solution)
 //    The best solution is to include more information in the bookings endpoint response. I could:
@@ -73,6 +92,14 @@ public class BookingResponse {
         this.bookingDate = bookingDate;
     }
 
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
     public String getAdditionalNotes() {
         return additionalNotes;
     }
@@ -16,27 +16,35 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int bookingID;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customerID", referencedColumnName = "customerID", nullable = false)
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "serviceID", referencedColumnName = "serviceID", nullable = false)
     private ServiceClass serviceClass;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "providerID", referencedColumnName = "providerID", nullable = false)
     private ServiceProvider provider;
 
     @Column(name = "bookingDate")
     private LocalDateTime bookingDate;
 
+    // bookingDate plus the service duration at the time of booking
+    @Column(name = "endDate")
+    private LocalDateTime endDate;
+
     @Column(name = "additionalNotes")
     private String additionalNotes;
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
+
     @Column(name = "createdAt")
     private LocalDateTime createdAt;
 
@@ -94,6 +102,14 @@ public class Booking {
         this.bookingDate = bookingDate;
     }
 
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
     public String getAdditionalNotes() {
         return additionalNotes;
     }
@@ -110,6 +126,10 @@ public class Booking {
         this.status = status;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
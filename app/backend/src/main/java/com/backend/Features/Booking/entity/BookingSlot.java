@@ -0,0 +1,62 @@
+package com.backend.Features.Booking.entity;
+
+import com.backend.Features.Availability.service.AvailabilityIndex;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One slot of a provider's day held by a live booking. The primary key (providerID, slotStart) is
+ * what keeps two bookings from overlapping across application nodes: a booking inserts a row for
+ * every slot it covers in its own transaction, so whichever commits second fails on the first
+ * slot they share, whatever their start times. Cancelling a booking deletes its rows.
+ */
+@Entity
+@Table(name = "booking_slots")
+public class BookingSlot implements Persistable<BookingSlotId> {
+
+    @EmbeddedId
+    private BookingSlotId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bookingID", referencedColumnName = "bookingID", nullable = false)
+    private Booking booking;
+
+    public BookingSlot() {
+    }
+
+    public BookingSlot(BookingSlotId id, Booking booking) {
+        this.id = id;
+        this.booking = booking;
+    }
+
+    // The slots [bookingDate, endDate) of a booking, which starts on a slot boundary
+    public static List<BookingSlot> covering(Booking booking) {
+        int providerID = booking.getProvider().getProviderID();
+        List<BookingSlot> slots = new ArrayList<>();
+        for (LocalDateTime slot = booking.getBookingDate(); slot.isBefore(booking.getEndDate());
+                slot = slot.plusMinutes(AvailabilityIndex.SLOT_MINUTES)) {
+            slots.add(new BookingSlot(new BookingSlotId(providerID, slot), booking));
+        }
+        return slots;
+    }
+
+    @Override
+    public BookingSlotId getId() {
+        return id;
+    }
+
+    // Rows are only ever inserted or deleted, so save() must persist rather than merge: a merge
+    // would read the other booking's row and overwrite it instead of hitting the key
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.Features.Booking.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Embeddable
+public class BookingSlotId implements Serializable {
+
+    @Column(name = "providerID", nullable = false)
+    private int providerID;
+
+    @Column(name = "slotStart", nullable = false)
+    private LocalDateTime slotStart;
+
+    public BookingSlotId() {
+    }
+
+    public BookingSlotId(int providerID, LocalDateTime slotStart) {
+        this.providerID = providerID;
+        this.slotStart = slotStart;
+    }
+
+    public int getProviderID() {
+        return providerID;
+    }
+
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookingSlotId other)) {
+            return false;
+        }
+        return providerID == other.providerID && Objects.equals(slotStart, other.slotStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(providerID, slotStart);
+    }
+}
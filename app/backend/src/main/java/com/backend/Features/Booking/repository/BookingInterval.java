@@ -0,0 +1,10 @@
+package com.backend.Features.Booking.repository;
+
+import java.time.LocalDateTime;
+
+// Time range occupied by a booking, loaded without the entity graph
+public interface BookingInterval {
+    LocalDateTime getBookingDate();
+
+    LocalDateTime getEndDate();
+}
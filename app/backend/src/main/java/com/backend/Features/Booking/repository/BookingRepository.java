@@ -1,11 +1,44 @@
 package com.backend.Features.Booking.repository;
 
+import com.backend.Features.Booking.dto.BookingResponse;
 import com.backend.Features.Booking.entity.Booking;
+import com.backend.Features.Booking.enums.BookingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    List<Booking> findByCustomerCustomerID(int customerID);
-    List<Booking> findByProviderProviderID(int providerID);
+    // List views read straight into the response DTO; no entities enter the persistence context
+    String RESPONSE_SELECT = "SELECT new com.backend.Features.Booking.dto.BookingResponse(" +
+            "b.bookingID, b.customer.customerID, b.serviceClass.serviceID, b.provider.providerID, " +
+            "b.bookingDate, b.endDate, b.additionalNotes, b.status, b.createdAt) FROM Booking b ";
+
+    @Query(RESPONSE_SELECT + "WHERE b.customer.customerID = :customerID")
+    List<BookingResponse> findResponsesByCustomerID(int customerID);
+
+    @Query(RESPONSE_SELECT + "WHERE b.provider.providerID = :providerID")
+    List<BookingResponse> findResponsesByProviderID(int providerID);
+
+    // Keyset pages in bookingID order; pass 0 to start and the last bookingID seen to continue
+    @Query(RESPONSE_SELECT + "WHERE b.customer.customerID = :customerID AND b.bookingID > :after ORDER BY b.bookingID")
+    List<BookingResponse> findResponsesByCustomerIDAfter(int customerID, int after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE b.provider.providerID = :providerID AND b.bookingID > :after ORDER BY b.bookingID")
+    List<BookingResponse> findResponsesByProviderIDAfter(int providerID, int after, Limit limit);
+
+    // Service length when the customer exists and the service belongs to the provider; empty otherwise
+    @Query("SELECT s.durationMinutes FROM ServiceClass s, Customer c " +
+            "WHERE s.serviceID = :serviceID AND s.provider.providerID = :providerID AND c.customerID = :customerID")
+    Optional<Integer> findServiceDurationForBooking(int customerID, int serviceID, int providerID);
+
+    // Bookings of a provider that overlap [from, to)
+    @Query("SELECT b.bookingDate AS bookingDate, b.endDate AS endDate FROM Booking b " +
+            "WHERE b.provider.providerID = :providerID AND b.bookingDate < :to AND b.endDate > :from " +
+            "AND b.status IN :statuses")
+    List<BookingInterval> findIntervals(int providerID, LocalDateTime from, LocalDateTime to, Collection<BookingStatus> statuses);
 }
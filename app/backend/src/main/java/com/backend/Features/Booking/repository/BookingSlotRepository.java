@@ -0,0 +1,14 @@
+package com.backend.Features.Booking.repository;
+
+import com.backend.Features.Booking.entity.BookingSlot;
+import com.backend.Features.Booking.entity.BookingSlotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BookingSlotRepository extends JpaRepository<BookingSlot, BookingSlotId> {
+
+    @Modifying
+    @Query("DELETE FROM BookingSlot s WHERE s.booking.bookingID = :bookingID")
+    int deleteByBookingID(int bookingID);
+}
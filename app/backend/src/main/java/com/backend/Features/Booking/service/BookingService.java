@@ -1,10 +1,14 @@
 package com.backend.Features.Booking.service;
 
+import com.backend.Exceptions.services.SlotUnavailableException;
+import com.backend.Features.Availability.service.AvailabilityIndex;
 import com.backend.Features.Booking.dto.BookingRequest;
 import com.backend.Features.Booking.dto.BookingResponse;
 import com.backend.Features.Booking.entity.Booking;
+import com.backend.Features.Booking.entity.BookingSlot;
 import com.backend.Features.Booking.enums.BookingStatus;
 import com.backend.Features.Booking.repository.BookingRepository;
+import com.backend.Features.Booking.repository.BookingSlotRepository;
 import com.backend.Features.Customer.entity.Customer;
 import com.backend.Features.Customer.repository.CustomerRepository;
 import com.backend.Features.Service.entity.ServiceClass;
@@ -13,62 +17,130 @@ import com.backend.Features.ServiceHistory.entity.ServiceHistory;
 import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
 import com.backend.Features.ServiceProvider.entity.ServiceProvider;
 import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
-import lombok.RequiredArgsConstructor;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingSlotRepository bookingSlotRepository;
     private final CustomerRepository customerRepository;
     private final ServiceRepository serviceRepository;
     private final ServiceProviderRepository serviceProviderRepository;
     private final ServiceHistoryRepository serviceHistoryRepository;
-
+    private final AvailabilityIndex availabilityIndex;
+    private final ProviderLockStripes providerLockStripes;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingService(
+            BookingRepository bookingRepository,
+            BookingSlotRepository bookingSlotRepository,
+            CustomerRepository customerRepository,
+            ServiceRepository serviceRepository,
+            ServiceProviderRepository serviceProviderRepository,
+            ServiceHistoryRepository serviceHistoryRepository,
+            AvailabilityIndex availabilityIndex,
+            ProviderLockStripes providerLockStripes,
+            PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSlotRepository = bookingSlotRepository;
+        this.customerRepository = customerRepository;
+        this.serviceRepository = serviceRepository;
+        this.serviceProviderRepository = serviceProviderRepository;
+        this.serviceHistoryRepository = serviceHistoryRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.providerLockStripes = providerLockStripes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     public BookingResponse createBooking(BookingRequest bookingRequest) {
-        Customer customer = customerRepository.findById(bookingRequest.getCustomerID())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        int customerID = bookingRequest.getCustomerID();
+        int serviceID = bookingRequest.getServiceID();
+        int providerID = bookingRequest.getProviderID();
 
-        ServiceClass serviceClass = serviceRepository.findById(bookingRequest.getServiceID())
-                .orElseThrow(() -> new RuntimeException("Service not found"));
+        LocalDateTime start = bookingRequest.getBookingDate();
+        if (start == null || start.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Booking date must be in the future");
+        }
 
-        ServiceProvider provider = serviceProviderRepository.findById(bookingRequest.getProviderID())
-                .orElseThrow(() -> new RuntimeException("ServiceProvider not found"));
+        // One query checks the customer exists and the service is offered by this provider
+        int durationMinutes = bookingRepository.findServiceDurationForBooking(customerID, serviceID, providerID)
+                .orElseThrow(() -> bookingTargetNotFound(customerID, serviceID, providerID));
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+
+        if (!availabilityIndex.tryReserve(providerID, start, end)) {
+            throw new SlotUnavailableException("The provider is not available at the requested time");
+        }
+
+        // Only the foreign keys are needed, so use uninitialised references rather than loading the rows
+        Customer customer = customerRepository.getReferenceById(customerID);
+        ServiceClass serviceClass = serviceRepository.getReferenceById(serviceID);
+        ServiceProvider provider = serviceProviderRepository.getReferenceById(providerID);
 
         Booking booking = new Booking();
         booking.setCustomer(customer);
         booking.setServiceClass(serviceClass);
         booking.setProvider(provider);
-        booking.setBookingDate(bookingRequest.getBookingDate());
+        booking.setBookingDate(start);
+        booking.setEndDate(end);
         booking.setAdditionalNotes(bookingRequest.getAdditionalNotes());
         booking.setStatus(BookingStatus.PENDING);
         booking.setCreatedAt(LocalDateTime.now());
 
-        Booking savedBooking = bookingRepository.save(booking);
+        // The booking and its slot rows commit together, inside the lock so this node queues its own writers
+        Booking savedBooking;
+        try {
+            savedBooking = providerLockStripes.withProviderLock(providerID, () -> transactionTemplate.execute(status -> {
+                Booking saved = bookingRepository.save(booking);
+                claimSlots(saved);
+                return saved;
+            }));
+        } catch (SlotUnavailableException e) {
+            // Another node booked an overlapping time first; our view of the day is stale, so rebuild it from the database
+            availabilityIndex.invalidateDay(providerID, start.toLocalDate());
+            throw e;
+        } catch (RuntimeException e) {
+            // Give the slot back; the booking never existed
+            availabilityIndex.release(providerID, start, end);
+            throw e;
+        }
         return mapToBookingResponse(savedBooking);
     }
 
     public List<BookingResponse> getBookingsByCustomer(int customerID) {
-        List<Booking> bookings = bookingRepository.findByCustomerCustomerID(customerID);
-        return bookings.stream().map(this::mapToBookingResponse).collect(Collectors.toList());
+        return bookingRepository.findResponsesByCustomerID(customerID);
     }
 
     public List<BookingResponse> getBookingsByProvider(int providerID) {
-        List<Booking> bookings = bookingRepository.findByProviderProviderID(providerID);
-        return bookings.stream().map(this::mapToBookingResponse).collect(Collectors.toList());
+        return bookingRepository.findResponsesByProviderID(providerID);
+    }
+
+    public CursorPage<BookingResponse> getBookingsByCustomer(int customerID, Keyset keyset) {
+        return keyset.page(bookingRepository.findResponsesByCustomerIDAfter(customerID, keyset.after(), keyset.fetchLimit()),
+                BookingResponse::getBookingID);
+    }
+
+    public CursorPage<BookingResponse> getBookingsByProvider(int providerID, Keyset keyset) {
+        return keyset.page(bookingRepository.findResponsesByProviderIDAfter(providerID, keyset.after(), keyset.fetchLimit()),
+                BookingResponse::getBookingID);
     }
 
     public BookingResponse updateBookingStatus(int bookingID, BookingStatus newStatus) {
         Booking booking = bookingRepository.findById(bookingID)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        booking.setStatus(newStatus);
-        bookingRepository.save(booking);
+        // A concurrent change to the same booking fails the save with an optimistic-lock conflict (@Version)
+        providerLockStripes.withProviderLock(booking.getProvider().getProviderID(), () -> {
+            changeStatus(booking, newStatus);
+            return null;
+        });
 
         if (newStatus == BookingStatus.COMPLETED) {
             ServiceHistory serviceHistory = new ServiceHistory();
@@ -84,6 +156,72 @@ public class BookingService {
         return convertToBookingResponse(booking);
     }
 
+    // Saves the new status, claiming or freeing the booking's slot rows in the same transaction, and keeps
+    // the availability index in step when the booking enters or leaves its slot
+    private void changeStatus(Booking booking, BookingStatus newStatus) {
+        boolean wasOccupying = booking.getStatus() != BookingStatus.CANCELLED;
+        boolean occupies = newStatus != BookingStatus.CANCELLED;
+        int providerID = booking.getProvider().getProviderID();
+
+        boolean reserved = false;
+        if (!wasOccupying && occupies) {
+            if (!availabilityIndex.tryReserve(providerID, booking.getBookingDate(), booking.getEndDate())) {
+                throw new SlotUnavailableException("The slot of this booking has been taken since it was cancelled");
+            }
+            reserved = true;
+        }
+
+        booking.setStatus(newStatus);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Booking saved = bookingRepository.save(booking);
+                if (!wasOccupying && occupies) {
+                    claimSlots(saved);
+                } else if (wasOccupying && !occupies) {
+                    bookingSlotRepository.deleteByBookingID(saved.getBookingID());
+                }
+            });
+        } catch (SlotUnavailableException e) {
+            if (reserved) {
+                availabilityIndex.invalidateDay(providerID, booking.getBookingDate().toLocalDate());
+            }
+            throw new SlotUnavailableException("The slot of this booking has been taken since it was cancelled");
+        } catch (RuntimeException e) {
+            if (reserved) {
+                availabilityIndex.release(providerID, booking.getBookingDate(), booking.getEndDate());
+            }
+            throw e;
+        }
+
+        if (wasOccupying && !occupies) {
+            availabilityIndex.release(providerID, booking.getBookingDate(), booking.getEndDate());
+        }
+    }
+
+    // Error path only: work out which part of the request was wrong
+    private RuntimeException bookingTargetNotFound(int customerID, int serviceID, int providerID) {
+        if (!customerRepository.existsById(customerID)) {
+            return new RuntimeException("Customer not found");
+        }
+        if (!serviceRepository.existsById(serviceID)) {
+            return new RuntimeException("Service not found");
+        }
+        if (!serviceProviderRepository.existsById(providerID)) {
+            return new RuntimeException("ServiceProvider not found");
+        }
+        return new IllegalArgumentException("Service does not belong to this provider");
+    }
+
+    // Inserts a row for every slot the booking covers; one already held by an overlapping booking, possibly
+    // written by another node, fails the primary key of booking_slots and rolls the whole transaction back
+    private void claimSlots(Booking booking) {
+        try {
+            bookingSlotRepository.saveAllAndFlush(BookingSlot.covering(booking));
+        } catch (DataIntegrityViolationException e) {
+            throw new SlotUnavailableException("The provider is not available at the requested time");
+        }
+    }
+
     private BookingResponse convertToBookingResponse(Booking booking) {
         BookingResponse bookingResponse = new BookingResponse();
         bookingResponse.setBookingID(booking.getBookingID());
@@ -92,6 +230,7 @@ public class BookingService {
         bookingResponse.setServiceID(booking.getServiceClass().getServiceID());
         bookingResponse.setStatus(booking.getStatus().name());
         bookingResponse.setBookingDate(booking.getBookingDate());
+        bookingResponse.setEndDate(booking.getEndDate());
         bookingResponse.setAdditionalNotes(booking.getAdditionalNotes());
         return bookingResponse;
     }
@@ -103,6 +242,7 @@ public class BookingService {
         response.setServiceID(booking.getServiceClass().getServiceID());
         response.setProviderID(booking.getProvider().getProviderID());
         response.setBookingDate(booking.getBookingDate());
+        response.setEndDate(booking.getEndDate());
         response.setAdditionalNotes(booking.getAdditionalNotes());
         response.setStatus(booking.getStatus().name());
         response.setCreatedAt(booking.getCreatedAt());
@@ -0,0 +1,37 @@
+package com.backend.Features.Booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks, one chosen per provider, serialising booking writes for the same
+ * provider inside this JVM. Concurrent inserts against the same unique index make MySQL take
+ * conflicting gap and insert-intention locks, which under a burst turns into deadlock storms;
+ * queueing them here first leaves the database a single writer per provider per node.
+ * Different providers mostly land on different stripes and proceed in parallel.
+ */
+@Component
+public class ProviderLockStripes {
+
+    private final ReentrantLock[] stripes;
+
+    public ProviderLockStripes(@Value("${app.booking.lock-stripes:256}") int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withProviderLock(int providerID, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(Integer.hashCode(providerID) * 0x9E3779B9, stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
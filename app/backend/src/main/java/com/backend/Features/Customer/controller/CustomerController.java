@@ -1,11 +1,15 @@
 package com.backend.Features.Customer.controller;
 
+import com.backend.Export.services.NdjsonExporter;
 import com.backend.Features.Customer.dto.CustomerDTO;
 import com.backend.Features.Customer.entity.Customer;
 import com.backend.Features.Customer.service.CustomerService;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,6 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomerController {
     private final CustomerService customerService;
+    private final KeysetPagination pagination;
 
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable int id) {
@@ -25,15 +30,19 @@ public class CustomerController {
     }
 
     @GetMapping("/admin")
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        List<CustomerDTO> customerDTOs = customers.stream().map(customer -> {
-            CustomerDTO customerDTO = new CustomerDTO();
-            customerDTO.setCustomerID(customer.getCustomerID());
-            customerDTO.setUserID(customer.getUser().getUserID());
-            return customerDTO;
-        }).toList();
-        return ResponseEntity.ok(customerDTOs);
+    public ResponseEntity<?> getAllCustomers(PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<Customer> customers = customerService.getAllCustomers();
+            List<CustomerDTO> customerDTOs = customers.stream().map(this::toCustomerDTO).toList();
+            return ResponseEntity.ok(customerDTOs);
+        }
+        return ResponseEntity.ok(customerService.getAllCustomers(pagination.resolve(page)).map(this::toCustomerDTO));
+    }
+
+    // Every customer as NDJSON, written as it is read
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        return ResponseEntity.ok().contentType(NdjsonExporter.APPLICATION_NDJSON).body(customerService.exportCustomers());
     }
 
     @GetMapping("/user/{userID}")
@@ -44,4 +53,11 @@ public class CustomerController {
         customerDTO.setUserID(customer.getUser().getUserID());
         return ResponseEntity.ok(customerDTO);
     }
+
+    private CustomerDTO toCustomerDTO(Customer customer) {
+        CustomerDTO customerDTO = new CustomerDTO();
+        customerDTO.setCustomerID(customer.getCustomerID());
+        customerDTO.setUserID(customer.getUser().getUserID());
+        return customerDTO;
+    }
 }
@@ -5,6 +5,14 @@ public class CustomerDTO {
     private int customerID;
     private int userID;
 
+    public CustomerDTO() {
+    }
+
+    public CustomerDTO(int customerID, int userID) {
+        this.customerID = customerID;
+        this.userID = userID;
+    }
+
     public int getCustomerID() {
         return customerID;
     }
@@ -2,10 +2,19 @@ package com.backend.Features.Customer.repository;
 
 
 import com.backend.Features.Customer.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     Optional<Customer> findByUserUserID(int userID);
+
+    // Every customer as a DTO, for the NDJSON export
+    String EXPORT_QUERY = "SELECT new com.backend.Features.Customer.dto.CustomerDTO(c.customerID, c.user.userID) " +
+            "FROM Customer c ORDER BY c.customerID";
+
+    // Keyset pages in customerID order; pass 0 to start and the last customerID seen to continue
+    List<Customer> findByCustomerIDGreaterThanOrderByCustomerID(int after, Limit limit);
 }
@@ -1,17 +1,24 @@
 package com.backend.Features.Customer.service;
 
+import com.backend.Export.services.NdjsonExporter;
+import com.backend.Features.Customer.dto.CustomerDTO;
 import com.backend.Features.Customer.entity.Customer;
 import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import com.backend.User.entities.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
     private final CustomerRepository customerRepository;
+    private final NdjsonExporter ndjsonExporter;
 
 
     public Customer createCustomer(User user) {
@@ -29,6 +36,15 @@ public class CustomerService {
         return customerRepository.findAll();
     }
 
+    public CursorPage<Customer> getAllCustomers(Keyset keyset) {
+        return keyset.page(customerRepository.findByCustomerIDGreaterThanOrderByCustomerID(keyset.after(), keyset.fetchLimit()),
+                Customer::getCustomerID);
+    }
+
+    public StreamingResponseBody exportCustomers() {
+        return ndjsonExporter.stream(CustomerRepository.EXPORT_QUERY, CustomerDTO.class, Map.of());
+    }
+
     public Customer getCustomerByUserId(int userID) {
         return customerRepository.findByUserUserID(userID)
                 .orElseThrow(() -> new RuntimeException("Customer not found for user ID: " + userID));
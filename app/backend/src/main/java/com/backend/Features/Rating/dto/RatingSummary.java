@@ -0,0 +1,55 @@
+package com.backend.Features.Rating.dto;
+
+import java.time.LocalDateTime;
+
+// Aggregate rating shown on provider and service responses
+public class RatingSummary {
+    private long reviewCount;
+    // Null until the first review
+    private Double average;
+    // starCounts[0] is the number of 1-star reviews, starCounts[4] of 5-star ones
+    private long[] starCounts;
+    private LocalDateTime lastReviewAt;
+
+    public RatingSummary() {
+    }
+
+    public RatingSummary(long reviewCount, long ratingSum, long[] starCounts, LocalDateTime lastReviewAt) {
+        this.reviewCount = reviewCount;
+        this.average = reviewCount == 0 ? null : Math.round(ratingSum * 100.0 / reviewCount) / 100.0;
+        this.starCounts = starCounts;
+        this.lastReviewAt = lastReviewAt;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public long[] getStarCounts() {
+        return starCounts;
+    }
+
+    public void setStarCounts(long[] starCounts) {
+        this.starCounts = starCounts;
+    }
+
+    public LocalDateTime getLastReviewAt() {
+        return lastReviewAt;
+    }
+
+    public void setLastReviewAt(LocalDateTime lastReviewAt) {
+        this.lastReviewAt = lastReviewAt;
+    }
+}
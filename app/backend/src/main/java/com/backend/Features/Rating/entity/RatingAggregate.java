@@ -0,0 +1,90 @@
+package com.backend.Features.Rating.entity;
+
+import com.backend.Features.Rating.service.RatingTally;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running review totals for one provider or one service, kept in step with the reviews table by
+ * ReviewService so that ratings can be shown without reading every review.
+ */
+@Entity
+@Table(name = "rating_aggregates")
+public class RatingAggregate {
+
+    public enum Subject {
+        PROVIDER, SERVICE
+    }
+
+    @EmbeddedId
+    private RatingAggregateId id;
+
+    @Column(name = "reviewCount", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "ratingSum", nullable = false)
+    private long ratingSum;
+
+    // Number of reviews with each star rating
+    @Column(name = "stars1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars5", nullable = false)
+    private long stars5;
+
+    @Column(name = "lastReviewAt")
+    private LocalDateTime lastReviewAt;
+
+    public RatingAggregate() {
+    }
+
+    public RatingAggregate(Subject subject, RatingTally tally) {
+        this.id = new RatingAggregateId(subject, tally.subjectID());
+        setTally(tally);
+    }
+
+    public boolean hasTally(RatingTally tally) {
+        return tally.equals(getTally());
+    }
+
+    public RatingTally getTally() {
+        return new RatingTally(id.getSubjectID(), reviewCount, ratingSum, stars1, stars2, stars3, stars4, stars5, lastReviewAt);
+    }
+
+    public void setTally(RatingTally tally) {
+        this.reviewCount = tally.reviewCount();
+        this.ratingSum = tally.ratingSum();
+        this.stars1 = tally.stars1();
+        this.stars2 = tally.stars2();
+        this.stars3 = tally.stars3();
+        this.stars4 = tally.stars4();
+        this.stars5 = tally.stars5();
+        this.lastReviewAt = tally.lastReviewAt();
+    }
+
+    public RatingAggregateId getId() {
+        return id;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public LocalDateTime getLastReviewAt() {
+        return lastReviewAt;
+    }
+}
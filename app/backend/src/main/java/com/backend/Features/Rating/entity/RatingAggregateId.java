@@ -0,0 +1,52 @@
+package com.backend.Features.Rating.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class RatingAggregateId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subjectType", nullable = false)
+    private RatingAggregate.Subject subject;
+
+    @Column(name = "subjectID", nullable = false)
+    private int subjectID;
+
+    public RatingAggregateId() {
+    }
+
+    public RatingAggregateId(RatingAggregate.Subject subject, int subjectID) {
+        this.subject = subject;
+        this.subjectID = subjectID;
+    }
+
+    public RatingAggregate.Subject getSubject() {
+        return subject;
+    }
+
+    public int getSubjectID() {
+        return subjectID;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RatingAggregateId other)) {
+            return false;
+        }
+        return subjectID == other.subjectID && subject == other.subject;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, subjectID);
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend.Features.Rating.repository;
+
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.entity.RatingAggregateId;
+import com.backend.Features.Rating.service.RatingTally;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregate, RatingAggregateId> {
+    String APPLY_COUNTS = "UPDATE RatingAggregate a SET " +
+            "a.reviewCount = a.reviewCount + :#{#delta.reviewCount()}, " +
+            "a.ratingSum = a.ratingSum + :#{#delta.ratingSum()}, " +
+            "a.stars1 = a.stars1 + :#{#delta.stars1()}, " +
+            "a.stars2 = a.stars2 + :#{#delta.stars2()}, " +
+            "a.stars3 = a.stars3 + :#{#delta.stars3()}, " +
+            "a.stars4 = a.stars4 + :#{#delta.stars4()}, " +
+            "a.stars5 = a.stars5 + :#{#delta.stars5()}";
+    String WHERE_SUBJECT = " WHERE a.id.subject = :subject AND a.id.subjectID = :#{#delta.subjectID()}";
+
+    // Single-statement increments, so concurrent reviews of the same subject never lose an update.
+    // Both return the number of rows changed: 0 means the subject has no aggregate row yet.
+    @Modifying
+    @Query(APPLY_COUNTS + ", a.lastReviewAt = CASE WHEN a.lastReviewAt IS NULL OR a.lastReviewAt < :#{#delta.lastReviewAt()} " +
+            "THEN :#{#delta.lastReviewAt()} ELSE a.lastReviewAt END" + WHERE_SUBJECT)
+    int addReview(RatingAggregate.Subject subject, RatingTally delta);
+
+    @Modifying
+    @Query(APPLY_COUNTS + WHERE_SUBJECT)
+    int applyCounts(RatingAggregate.Subject subject, RatingTally delta);
+
+    @Modifying
+    @Query("UPDATE RatingAggregate a SET a.lastReviewAt = :lastReviewAt WHERE a.id.subject = :subject AND a.id.subjectID = :subjectID")
+    int setLastReviewAt(RatingAggregate.Subject subject, int subjectID, LocalDateTime lastReviewAt);
+
+    List<RatingAggregate> findByIdSubjectAndIdSubjectIDIn(RatingAggregate.Subject subject, Collection<Integer> subjectIDs);
+
+    // Reconciliation: locks a chunk so incremental updates wait until it has been recomputed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM RatingAggregate a WHERE a.id.subject = :subject AND a.id.subjectID BETWEEN :fromID AND :toID " +
+            "ORDER BY a.id.subjectID")
+    List<RatingAggregate> findRangeForUpdate(RatingAggregate.Subject subject, int fromID, int toID);
+
+    @Query("SELECT COALESCE(MAX(p.providerID), 0) FROM ServiceProvider p")
+    int findMaxProviderID();
+
+    @Query("SELECT COALESCE(MAX(s.serviceID), 0) FROM ServiceClass s")
+    int findMaxServiceID();
+}
@@ -0,0 +1,119 @@
+package com.backend.Features.Rating.service;
+
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.entity.RatingAggregate.Subject;
+import com.backend.Features.Rating.entity.RatingAggregateId;
+import com.backend.Features.Rating.repository.RatingAggregateRepository;
+import com.backend.Features.Review.repository.ReviewRepository;
+import com.backend.Features.Search.service.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the provider and service rating aggregates and serves them as {@link RatingSummary}s.
+ * The write methods must run inside the transaction that changes the review, so the aggregate and
+ * the review commit or roll back together.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatingAggregateService {
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void reviewAdded(int providerID, int serviceID, int rating, LocalDateTime reviewedAt) {
+        addReview(Subject.PROVIDER, RatingTally.ofReview(providerID, rating, reviewedAt));
+        addReview(Subject.SERVICE, RatingTally.ofReview(serviceID, rating, reviewedAt));
+        ratingChanged(providerID, serviceID);
+    }
+
+    public void reviewChanged(int providerID, int serviceID, int oldRating, int newRating) {
+        applyCounts(Subject.PROVIDER, RatingTally.ofReview(providerID, newRating, null)
+                .minus(RatingTally.ofReview(providerID, oldRating, null)));
+        applyCounts(Subject.SERVICE, RatingTally.ofReview(serviceID, newRating, null)
+                .minus(RatingTally.ofReview(serviceID, oldRating, null)));
+        ratingChanged(providerID, serviceID);
+    }
+
+    // Call after the review has been deleted and flushed
+    public void reviewRemoved(int providerID, int serviceID, int rating) {
+        if (applyCounts(Subject.PROVIDER, RatingTally.empty(providerID).minus(RatingTally.ofReview(providerID, rating, null)))) {
+            ratingAggregateRepository.setLastReviewAt(Subject.PROVIDER, providerID,
+                    reviewRepository.findLastReviewAtByProviderID(providerID));
+        }
+        if (applyCounts(Subject.SERVICE, RatingTally.empty(serviceID).minus(RatingTally.ofReview(serviceID, rating, null)))) {
+            ratingAggregateRepository.setLastReviewAt(Subject.SERVICE, serviceID,
+                    reviewRepository.findLastReviewAtByServiceID(serviceID));
+        }
+        ratingChanged(providerID, serviceID);
+    }
+
+    // Gives a new provider or service its (empty) aggregate row up front
+    public RatingSummary initialise(Subject subject, int subjectID) {
+        RatingTally empty = RatingTally.empty(subjectID);
+        ratingAggregateRepository.save(new RatingAggregate(subject, empty));
+        return toSummary(empty);
+    }
+
+    public RatingSummary getSummary(Subject subject, int subjectID) {
+        return ratingAggregateRepository.findById(new RatingAggregateId(subject, subjectID))
+                .map(aggregate -> toSummary(aggregate.getTally()))
+                .orElseGet(() -> toSummary(RatingTally.empty(subjectID)));
+    }
+
+    // One query for the whole list; subjects without reviews get an empty summary
+    public Map<Integer, RatingSummary> getSummaries(Subject subject, Collection<Integer> subjectIDs) {
+        Map<Integer, RatingSummary> summaries = new HashMap<>();
+        if (subjectIDs.isEmpty()) {
+            return summaries;
+        }
+        for (RatingAggregate aggregate : ratingAggregateRepository.findByIdSubjectAndIdSubjectIDIn(subject, subjectIDs)) {
+            summaries.put(aggregate.getId().getSubjectID(), toSummary(aggregate.getTally()));
+        }
+        for (Integer subjectID : subjectIDs) {
+            summaries.computeIfAbsent(subjectID, id -> toSummary(RatingTally.empty(id)));
+        }
+        return summaries;
+    }
+
+    // Search sorts by service rating, and cached catalog reads carry both ratings
+    private void ratingChanged(int providerID, int serviceID) {
+        eventPublisher.publishEvent(CatalogChangedEvent.service(serviceID, providerID));
+    }
+
+    private void addReview(Subject subject, RatingTally delta) {
+        if (ratingAggregateRepository.addReview(subject, delta) == 0) {
+            createFromReviews(subject, delta.subjectID());
+        }
+    }
+
+    // Returns false when there was no row and it was rebuilt from the reviews table instead
+    private boolean applyCounts(Subject subject, RatingTally delta) {
+        if (ratingAggregateRepository.applyCounts(subject, delta) == 0) {
+            createFromReviews(subject, delta.subjectID());
+            return false;
+        }
+        return true;
+    }
+
+    // Subjects created before aggregates existed and missed by the backfill
+    private void createFromReviews(Subject subject, int subjectID) {
+        List<RatingTally> tallies = subject == Subject.PROVIDER
+                ? reviewRepository.tallyByProviderIDBetween(subjectID, subjectID)
+                : reviewRepository.tallyByServiceIDBetween(subjectID, subjectID);
+        RatingTally tally = tallies.isEmpty() ? RatingTally.empty(subjectID) : tallies.get(0);
+        ratingAggregateRepository.save(new RatingAggregate(subject, tally));
+    }
+
+    private RatingSummary toSummary(RatingTally tally) {
+        return new RatingSummary(tally.reviewCount(), tally.ratingSum(), tally.starCounts(), tally.lastReviewAt());
+    }
+}
@@ -0,0 +1,153 @@
+package com.backend.Features.Rating.service;
+
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.entity.RatingAggregate.Subject;
+import com.backend.Features.Rating.repository.RatingAggregateRepository;
+import com.backend.Features.Review.repository.ReviewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes the rating aggregates from the reviews table and repairs any that drifted.
+ *
+ * Subject IDs are split into fixed ranges that are reconciled in parallel, each in its own short
+ * transaction. A chunk first locks its aggregate rows, so a review written meanwhile either
+ * committed before the recount (and is counted) or applies its delta after it.
+ */
+@Component
+public class RatingReconciliationJob {
+    private static final Logger logger = LoggerFactory.getLogger(RatingReconciliationJob.class);
+
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int threads;
+
+    public RatingReconciliationJob(
+            RatingAggregateRepository ratingAggregateRepository,
+            ReviewRepository reviewRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.ratings.reconcile.chunk-size:500}") int chunkSize,
+            @Value("${app.ratings.reconcile.threads:4}") int threads) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = Math.max(1, threads);
+    }
+
+    public record Report(Subject subject, int chunks, int checked, int drifted, int failedChunks) {
+    }
+
+    private record ChunkResult(int checked, int drifted) {
+    }
+
+    @Scheduled(cron = "${app.ratings.reconcile.cron:0 30 3 * * *}") // Run nightly by default
+    public void reconcileAll() {
+        for (Subject subject : Subject.values()) {
+            // A failure for one subject type must not keep the other from being checked
+            try {
+                reconcile(subject);
+            } catch (RuntimeException e) {
+                logger.error("Rating reconciliation for {} failed", subject, e);
+            }
+        }
+    }
+
+    public Report reconcile(Subject subject) {
+        int maxID = subject == Subject.PROVIDER
+                ? ratingAggregateRepository.findMaxProviderID()
+                : ratingAggregateRepository.findMaxServiceID();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        List<Future<ChunkResult>> chunks = new ArrayList<>();
+        int checked = 0;
+        int drifted = 0;
+        int failedChunks = 0;
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "rating-reconcile-" + threadNumber.incrementAndGet()))) {
+            for (int start = 1; start <= maxID; start += chunkSize) {
+                int fromID = start;
+                int toID = (int) Math.min((long) start + chunkSize - 1, maxID);
+                chunks.add(workers.submit(() -> transactionTemplate.execute(status -> reconcileChunk(subject, fromID, toID))));
+            }
+            for (Future<ChunkResult> chunk : chunks) {
+                try {
+                    ChunkResult result = chunk.get();
+                    checked += result.checked();
+                    drifted += result.drifted();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    logger.error("Rating reconciliation chunk for {} failed", subject, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    workers.shutdownNow();
+                    throw new IllegalStateException("Rating reconciliation interrupted", e);
+                }
+            }
+        }
+
+        meterRegistry.counter("ratings.reconcile.drift", "subject", subject.name()).increment(drifted);
+        Report report = new Report(subject, chunks.size(), checked, drifted, failedChunks);
+        if (drifted > 0 || failedChunks > 0) {
+            logger.warn("Rating reconciliation for {}: {} aggregates checked, {} repaired, {} of {} chunks failed",
+                    subject, checked, drifted, failedChunks, chunks.size());
+        } else {
+            logger.info("Rating reconciliation for {}: {} aggregates checked, no drift", subject, checked);
+        }
+        return report;
+    }
+
+    private ChunkResult reconcileChunk(Subject subject, int fromID, int toID) {
+        Map<Integer, RatingAggregate> stored = new LinkedHashMap<>();
+        for (RatingAggregate aggregate : ratingAggregateRepository.findRangeForUpdate(subject, fromID, toID)) {
+            stored.put(aggregate.getId().getSubjectID(), aggregate);
+        }
+        List<RatingTally> actual = subject == Subject.PROVIDER
+                ? reviewRepository.tallyByProviderIDBetween(fromID, toID)
+                : reviewRepository.tallyByServiceIDBetween(fromID, toID);
+
+        int checked = stored.size();
+        int drifted = 0;
+        for (RatingTally tally : actual) {
+            RatingAggregate aggregate = stored.remove(tally.subjectID());
+            if (aggregate == null) {
+                ratingAggregateRepository.save(new RatingAggregate(subject, tally));
+                checked++;
+                drifted++;
+            } else if (!aggregate.hasTally(tally)) {
+                aggregate.setTally(tally);
+                drifted++;
+            }
+        }
+        // Whatever is left has no reviews at all
+        for (RatingAggregate aggregate : stored.values()) {
+            RatingTally empty = RatingTally.empty(aggregate.getId().getSubjectID());
+            if (!aggregate.hasTally(empty)) {
+                aggregate.setTally(empty);
+                drifted++;
+            }
+        }
+        return new ChunkResult(checked, drifted);
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.Features.Rating.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review totals for one provider or service: count, sum of ratings, reviews per star and the time
+ * of the latest review. Also used as a signed delta when a single review is added, changed or removed.
+ */
+public record RatingTally(int subjectID, long reviewCount, long ratingSum,
+                          long stars1, long stars2, long stars3, long stars4, long stars5,
+                          LocalDateTime lastReviewAt) {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    public static RatingTally empty(int subjectID) {
+        return new RatingTally(subjectID, 0, 0, 0, 0, 0, 0, 0, null);
+    }
+
+    public static RatingTally ofReview(int subjectID, int rating, LocalDateTime reviewedAt) {
+        if (rating < MIN_RATING || rating > MAX_RATING) {
+            throw new IllegalArgumentException("Rating must be between " + MIN_RATING + " and " + MAX_RATING);
+        }
+        return new RatingTally(subjectID, 1, rating,
+                rating == 1 ? 1 : 0, rating == 2 ? 1 : 0, rating == 3 ? 1 : 0, rating == 4 ? 1 : 0, rating == 5 ? 1 : 0,
+                reviewedAt);
+    }
+
+    // Counts only; the latest review time cannot be derived from a delta
+    public RatingTally minus(RatingTally other) {
+        return new RatingTally(subjectID, reviewCount - other.reviewCount, ratingSum - other.ratingSum,
+                stars1 - other.stars1, stars2 - other.stars2, stars3 - other.stars3, stars4 - other.stars4,
+                stars5 - other.stars5, null);
+    }
+
+    public long[] starCounts() {
+        return new long[]{stars1, stars2, stars3, stars4, stars5};
+    }
+}
@@ -1,19 +1,23 @@
 package com.backend.Features.Review.controller;
 
+import com.backend.Caching.services.EntityTag;
 import com.backend.Features.Review.dto.ReviewRequest;
 import com.backend.Features.Review.dto.ReviewResponse;
 import com.backend.Features.Review.service.ReviewService;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.Keyset;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/reviews")
 @RequiredArgsConstructor
 public class ReviewController {
     private final ReviewService reviewService;
+    private final KeysetPagination pagination;
 
     @PostMapping("customer")
     public ResponseEntity<ReviewResponse> createReview(@RequestBody ReviewRequest reviewRequest) {
@@ -22,21 +26,36 @@ public class ReviewController {
     }
 
     @GetMapping("/service/{serviceID}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByService(@PathVariable int serviceID) {
-        List<ReviewResponse> reviews = reviewService.getReviewsByService(serviceID);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<?> getReviewsByService(@PathVariable int serviceID, PageParams page, WebRequest request) {
+        if (pagination.isUnpaged(page)) {
+            return EntityTag.conditional(request, reviewService.getReviewsByServiceTag(serviceID),
+                    () -> reviewService.getReviewsByService(serviceID), ReviewService::listTag);
+        }
+        Keyset keyset = pagination.resolve(page);
+        return EntityTag.conditional(request, reviewService.getReviewsByServiceTag(serviceID, keyset),
+                () -> reviewService.getReviewsByService(serviceID, keyset), ReviewService::pageTag);
     }
 
     @GetMapping("/provider/{providerID}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByProvider(@PathVariable int providerID) {
-        List<ReviewResponse> reviews = reviewService.getReviewsByProvider(providerID);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<?> getReviewsByProvider(@PathVariable int providerID, PageParams page, WebRequest request) {
+        if (pagination.isUnpaged(page)) {
+            return EntityTag.conditional(request, reviewService.getReviewsByProviderTag(providerID),
+                    () -> reviewService.getReviewsByProvider(providerID), ReviewService::listTag);
+        }
+        Keyset keyset = pagination.resolve(page);
+        return EntityTag.conditional(request, reviewService.getReviewsByProviderTag(providerID, keyset),
+                () -> reviewService.getReviewsByProvider(providerID, keyset), ReviewService::pageTag);
     }
 
     @GetMapping("/customer/{customerID}")
-    public ResponseEntity<List<ReviewResponse>> getMyReviews(@PathVariable int customerID) {
-        List<ReviewResponse> reviews = reviewService.getMyReviews(customerID);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<?> getMyReviews(@PathVariable int customerID, PageParams page, WebRequest request) {
+        if (pagination.isUnpaged(page)) {
+            return EntityTag.conditional(request, reviewService.getMyReviewsTag(customerID),
+                    () -> reviewService.getMyReviews(customerID), ReviewService::listTag);
+        }
+        Keyset keyset = pagination.resolve(page);
+        return EntityTag.conditional(request, reviewService.getMyReviewsTag(customerID, keyset),
+                () -> reviewService.getMyReviews(customerID, keyset), ReviewService::pageTag);
     }
 
     @PutMapping("/customer/{customerID}/{reviewID}")
@@ -8,9 +8,26 @@ public class ReviewResponse {
     private int bookingID;
     private int rating;
     private String comment;
+    private int version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public ReviewResponse() {
+    }
+
+    // Used by the JPQL constructor expressions in ReviewRepository
+    public ReviewResponse(int reviewID, int customerID, int bookingID, int rating, String comment, int version,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.reviewID = reviewID;
+        this.customerID = customerID;
+        this.bookingID = bookingID;
+        this.rating = rating;
+        this.comment = comment;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public int getReviewID() {
         return reviewID;
     }
@@ -51,6 +68,14 @@ public class ReviewResponse {
         this.comment = comment;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -13,11 +13,11 @@ public class Review {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int reviewID;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customerID", referencedColumnName = "customerID", nullable = false)
     private Customer customer;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bookingID", referencedColumnName = "bookingID", nullable = false, unique = true)
     private Booking booking;
 
@@ -27,6 +27,11 @@ public class Review {
     @Column(name = "comment", nullable = false)
     private String comment;
 
+    // Bumped on every update; feeds the ETags of the responses that show this row
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
+
     @Column(name = "createdAt", nullable = false)
     private LocalDateTime createdAt;
 
@@ -87,6 +92,10 @@ public class Review {
         this.comment = comment;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,12 +1,79 @@
 package com.backend.Features.Review.repository;
 
+import com.backend.Caching.services.EntityVersion;
+import com.backend.Features.Rating.service.RatingTally;
+import com.backend.Features.Review.dto.ReviewResponse;
 import com.backend.Features.Review.entity.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
-    List<Review> findByBookingServiceClassServiceID(int serviceID);
-    List<Review> findByBookingProviderProviderID(int providerID);
-    List<Review> findByCustomerCustomerID(int customerID);
-}
\ No newline at end of file
+    // List views read straight into the response DTO; no entities enter the persistence context
+    String RESPONSE_SELECT = "SELECT new com.backend.Features.Review.dto.ReviewResponse(" +
+            "r.reviewID, r.customer.customerID, r.booking.bookingID, r.rating, r.comment, r.version, r.createdAt, r.updatedAt) " +
+            "FROM Review r ";
+
+    @Query(RESPONSE_SELECT + "WHERE r.booking.serviceClass.serviceID = :serviceID ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByServiceID(int serviceID);
+
+    @Query(RESPONSE_SELECT + "WHERE r.booking.provider.providerID = :providerID ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByProviderID(int providerID);
+
+    @Query(RESPONSE_SELECT + "WHERE r.customer.customerID = :customerID ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByCustomerID(int customerID);
+
+    // Keyset pages in reviewID order; pass 0 to start and the last reviewID seen to continue
+    @Query(RESPONSE_SELECT + "WHERE r.booking.serviceClass.serviceID = :serviceID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByServiceIDAfter(int serviceID, int after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE r.booking.provider.providerID = :providerID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByProviderIDAfter(int providerID, int after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE r.customer.customerID = :customerID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<ReviewResponse> findResponsesByCustomerIDAfter(int customerID, int after, Limit limit);
+
+    // The same lists reduced to (reviewID, version), which is all their ETags depend on
+    String VERSION_SELECT = "SELECT new com.backend.Caching.services.EntityVersion(r.reviewID, r.version) FROM Review r ";
+
+    @Query(VERSION_SELECT + "WHERE r.booking.serviceClass.serviceID = :serviceID ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByServiceID(int serviceID);
+
+    @Query(VERSION_SELECT + "WHERE r.booking.provider.providerID = :providerID ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByProviderID(int providerID);
+
+    @Query(VERSION_SELECT + "WHERE r.customer.customerID = :customerID ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByCustomerID(int customerID);
+
+    @Query(VERSION_SELECT + "WHERE r.booking.serviceClass.serviceID = :serviceID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByServiceIDAfter(int serviceID, int after, Limit limit);
+
+    @Query(VERSION_SELECT + "WHERE r.booking.provider.providerID = :providerID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByProviderIDAfter(int providerID, int after, Limit limit);
+
+    @Query(VERSION_SELECT + "WHERE r.customer.customerID = :customerID AND r.reviewID > :after ORDER BY r.reviewID")
+    List<EntityVersion> findVersionsByCustomerIDAfter(int customerID, int after, Limit limit);
+
+    // Review totals per provider or service, recomputed from scratch for rating reconciliation
+    String TALLY_COUNTS = "COUNT(r), SUM(r.rating), " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), MAX(r.createdAt)) FROM Review r ";
+
+    @Query("SELECT new com.backend.Features.Rating.service.RatingTally(r.booking.provider.providerID, " + TALLY_COUNTS +
+            "WHERE r.booking.provider.providerID BETWEEN :fromID AND :toID GROUP BY r.booking.provider.providerID")
+    List<RatingTally> tallyByProviderIDBetween(int fromID, int toID);
+
+    @Query("SELECT new com.backend.Features.Rating.service.RatingTally(r.booking.serviceClass.serviceID, " + TALLY_COUNTS +
+            "WHERE r.booking.serviceClass.serviceID BETWEEN :fromID AND :toID GROUP BY r.booking.serviceClass.serviceID")
+    List<RatingTally> tallyByServiceIDBetween(int fromID, int toID);
+
+    @Query("SELECT MAX(r.createdAt) FROM Review r WHERE r.booking.provider.providerID = :providerID")
+    LocalDateTime findLastReviewAtByProviderID(int providerID);
+
+    @Query("SELECT MAX(r.createdAt) FROM Review r WHERE r.booking.serviceClass.serviceID = :serviceID")
+    LocalDateTime findLastReviewAtByServiceID(int serviceID);
+}
@@ -1,20 +1,25 @@
 package com.backend.Features.Review.service;
 
 
+import com.backend.Caching.services.EntityTag;
+import com.backend.Caching.services.EntityVersion;
 import com.backend.Features.Booking.entity.Booking;
 import com.backend.Features.Booking.repository.BookingRepository;
 import com.backend.Features.Customer.entity.Customer;
 import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Features.Rating.service.RatingAggregateService;
 import com.backend.Features.Review.dto.ReviewRequest;
 import com.backend.Features.Review.dto.ReviewResponse;
 import com.backend.Features.Review.entity.Review;
 import com.backend.Features.Review.repository.ReviewRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +27,10 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
     private final CustomerRepository customerRepository;
+    private final RatingAggregateService ratingAggregateService;
 
+    // Each write updates the provider and service rating aggregates in the same transaction
+    @Transactional
     public ReviewResponse createReview(ReviewRequest reviewRequest) {
         Customer customerID = customerRepository.findById(reviewRequest.getCustomerID())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -42,24 +50,75 @@ public class ReviewService {
         review.setCreatedAt(LocalDateTime.now());
 
         Review savedReview = reviewRepository.save(review);
+        ratingAggregateService.reviewAdded(bookingID.getProvider().getProviderID(),
+                bookingID.getServiceClass().getServiceID(), savedReview.getRating(), savedReview.getCreatedAt());
         return mapToReviewResponse(savedReview);
     }
 
     public List<ReviewResponse> getReviewsByService(int serviceID) {
-        List<Review> reviews = reviewRepository.findByBookingServiceClassServiceID(serviceID);
-        return reviews.stream().map(this::mapToReviewResponse).collect(Collectors.toList());
+        return reviewRepository.findResponsesByServiceID(serviceID);
     }
 
     public List<ReviewResponse> getReviewsByProvider(int providerID) {
-        List<Review> reviews = reviewRepository.findByBookingProviderProviderID(providerID);
-        return reviews.stream().map(this::mapToReviewResponse).collect(Collectors.toList());
+        return reviewRepository.findResponsesByProviderID(providerID);
     }
 
     public List<ReviewResponse> getMyReviews(int customerID) {
-        List<Review> reviews = reviewRepository.findByCustomerCustomerID(customerID);
-        return reviews.stream().map(this::mapToReviewResponse).collect(Collectors.toList());
+        return reviewRepository.findResponsesByCustomerID(customerID);
     }
 
+    public CursorPage<ReviewResponse> getReviewsByService(int serviceID, Keyset keyset) {
+        return keyset.page(reviewRepository.findResponsesByServiceIDAfter(serviceID, keyset.after(), keyset.fetchLimit()),
+                ReviewResponse::getReviewID);
+    }
+
+    public CursorPage<ReviewResponse> getReviewsByProvider(int providerID, Keyset keyset) {
+        return keyset.page(reviewRepository.findResponsesByProviderIDAfter(providerID, keyset.after(), keyset.fetchLimit()),
+                ReviewResponse::getReviewID);
+    }
+
+    public CursorPage<ReviewResponse> getMyReviews(int customerID, Keyset keyset) {
+        return keyset.page(reviewRepository.findResponsesByCustomerIDAfter(customerID, keyset.after(), keyset.fetchLimit()),
+                ReviewResponse::getReviewID);
+    }
+
+    // ETags of the review lists, read from the review versions alone; they match listTag and pageTag of the loaded lists
+    public String getReviewsByServiceTag(int serviceID) {
+        return tag(reviewRepository.findVersionsByServiceID(serviceID));
+    }
+
+    public String getReviewsByProviderTag(int providerID) {
+        return tag(reviewRepository.findVersionsByProviderID(providerID));
+    }
+
+    public String getMyReviewsTag(int customerID) {
+        return tag(reviewRepository.findVersionsByCustomerID(customerID));
+    }
+
+    public String getReviewsByServiceTag(int serviceID, Keyset keyset) {
+        return tag(keyset.page(reviewRepository.findVersionsByServiceIDAfter(serviceID, keyset.after(), keyset.fetchLimit()),
+                EntityVersion::id));
+    }
+
+    public String getReviewsByProviderTag(int providerID, Keyset keyset) {
+        return tag(keyset.page(reviewRepository.findVersionsByProviderIDAfter(providerID, keyset.after(), keyset.fetchLimit()),
+                EntityVersion::id));
+    }
+
+    public String getMyReviewsTag(int customerID, Keyset keyset) {
+        return tag(keyset.page(reviewRepository.findVersionsByCustomerIDAfter(customerID, keyset.after(), keyset.fetchLimit()),
+                EntityVersion::id));
+    }
+
+    public static String listTag(List<ReviewResponse> reviews) {
+        return tag(reviews.stream().map(ReviewService::versionOf).toList());
+    }
+
+    public static String pageTag(CursorPage<ReviewResponse> page) {
+        return tag(page.map(ReviewService::versionOf));
+    }
+
+    @Transactional
     public ReviewResponse updateReview(int reviewID, ReviewRequest reviewRequest, int customerID) {
         Review review = reviewRepository.findById(reviewID)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -70,14 +129,22 @@ public class ReviewService {
         }
 
         // Update review fields
+        int previousRating = review.getRating();
         review.setRating(reviewRequest.getRating());
         review.setComment(reviewRequest.getComment());
         review.setUpdatedAt(LocalDateTime.now());
 
-        Review updatedReview = reviewRepository.save(review);
+        // Flushed so the response carries the bumped version
+        Review updatedReview = reviewRepository.saveAndFlush(review);
+        if (previousRating != updatedReview.getRating()) {
+            Booking booking = updatedReview.getBooking();
+            ratingAggregateService.reviewChanged(booking.getProvider().getProviderID(),
+                    booking.getServiceClass().getServiceID(), previousRating, updatedReview.getRating());
+        }
         return mapToReviewResponse(updatedReview);
     }
 
+    @Transactional
     public void deleteReview(int reviewID, int customerID) {
         Review review = reviewRepository.findById(reviewID)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
@@ -87,7 +154,25 @@ public class ReviewService {
             throw new RuntimeException("You can only delete your own reviews");
         }
 
+        Booking booking = review.getBooking();
         reviewRepository.delete(review);
+        // The latest review time is recomputed from what is left, so the delete must reach the database first
+        reviewRepository.flush();
+        ratingAggregateService.reviewRemoved(booking.getProvider().getProviderID(),
+                booking.getServiceClass().getServiceID(), review.getRating());
+    }
+
+    // Nothing else in a review response changes without a version bump
+    private static String tag(List<EntityVersion> versions) {
+        return EntityTag.of("reviews").addAll(versions).build();
+    }
+
+    private static String tag(CursorPage<EntityVersion> page) {
+        return EntityTag.of("review-page").add(page.isHasMore()).addAll(page.getItems()).build();
+    }
+
+    private static EntityVersion versionOf(ReviewResponse review) {
+        return new EntityVersion(review.getReviewID(), review.getVersion());
     }
 
     private ReviewResponse mapToReviewResponse(Review review) {
@@ -97,6 +182,7 @@ public class ReviewService {
         response.setBookingID(review.getBooking().getBookingID());
         response.setRating(review.getRating());
         response.setComment(review.getComment());
+        response.setVersion(review.getVersion());
         response.setCreatedAt(review.getCreatedAt());
 
         if (review.getUpdatedAt() != null) {
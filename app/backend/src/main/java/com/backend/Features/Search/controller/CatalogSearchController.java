@@ -0,0 +1,20 @@
+package com.backend.Features.Search.controller;
+
+import com.backend.Features.Search.dto.CatalogSearchRequest;
+import com.backend.Features.Search.dto.CatalogSearchResponse;
+import com.backend.Features.Search.service.CatalogSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/services")
+@RequiredArgsConstructor
+public class CatalogSearchController {
+    private final CatalogSearchService catalogSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<CatalogSearchResponse> search(CatalogSearchRequest request) {
+        return ResponseEntity.ok(catalogSearchService.search(request));
+    }
+}
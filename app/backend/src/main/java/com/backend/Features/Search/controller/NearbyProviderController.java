@@ -0,0 +1,22 @@
+package com.backend.Features.Search.controller;
+
+import com.backend.Features.Search.dto.NearbyProvider;
+import com.backend.Features.Search.dto.NearbyProviderRequest;
+import com.backend.Features.Search.service.NearbyProviderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/service-providers")
+@RequiredArgsConstructor
+public class NearbyProviderController {
+    private final NearbyProviderService nearbyProviderService;
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyProvider>> findNearby(NearbyProviderRequest request) {
+        return ResponseEntity.ok(nearbyProviderService.findNearby(request));
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.Features.Search.dto;
+
+import com.backend.Features.Search.enums.CatalogSort;
+
+import java.math.BigDecimal;
+
+/**
+ * Query parameters of the catalog search: {@code ?q=&category=&minPrice=&maxPrice=&sort=&offset=&limit=}.
+ * Every parameter is optional; without {@code q} the whole catalog matches.
+ */
+public class CatalogSearchRequest {
+
+    private String q;
+    private String category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private CatalogSort sort;
+    private Integer offset;
+    private Integer limit;
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public CatalogSort getSort() {
+        return sort;
+    }
+
+    public void setSort(CatalogSort sort) {
+        this.sort = sort;
+    }
+
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,35 @@
+package com.backend.Features.Search.dto;
+
+import com.backend.Features.Service.dto.ServiceResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search results. {@code total} counts every match; {@code categories} counts the
+ * matches per provider category regardless of the category filter, most common first.
+ */
+public class CatalogSearchResponse {
+
+    private final int total;
+    private final List<ServiceResponse> items;
+    private final Map<String, Integer> categories;
+
+    public CatalogSearchResponse(int total, List<ServiceResponse> items, Map<String, Integer> categories) {
+        this.total = total;
+        this.items = items;
+        this.categories = categories;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<ServiceResponse> getItems() {
+        return items;
+    }
+
+    public Map<String, Integer> getCategories() {
+        return categories;
+    }
+}
@@ -0,0 +1,23 @@
+package com.backend.Features.Search.dto;
+
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
+
+// A provider found by nearby search, with its distance from the search point in kilometres
+public class NearbyProvider {
+
+    private final ServiceProviderResponse provider;
+    private final double distanceKm;
+
+    public NearbyProvider(ServiceProviderResponse provider, double distanceKm) {
+        this.provider = provider;
+        this.distanceKm = distanceKm;
+    }
+
+    public ServiceProviderResponse getProvider() {
+        return provider;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend.Features.Search.dto;
+
+/**
+ * Query parameters of the nearby provider search:
+ * {@code ?latitude=&longitude=&radiusKm=&category=&limit=}. The point is required; the radius,
+ * category and limit are optional.
+ */
+public class NearbyProviderRequest {
+
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private String category;
+    private Integer limit;
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
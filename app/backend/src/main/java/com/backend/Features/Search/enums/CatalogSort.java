@@ -0,0 +1,10 @@
+package com.backend.Features.Search.enums;
+
+public enum CatalogSort {
+    // Matches in the service name first, then by rating
+    RELEVANCE,
+    // Highest average first; more reviews win a tie
+    RATING,
+    PRICE_ASC,
+    PRICE_DESC
+}
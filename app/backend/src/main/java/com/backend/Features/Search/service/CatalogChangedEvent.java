@@ -0,0 +1,17 @@
+package com.backend.Features.Search.service;
+
+/**
+ * Published when a service, or a provider and everything it offers, has changed. A service change
+ * carries the service's provider too; a provider change has no serviceID. Handled after the
+ * publishing transaction commits.
+ */
+public record CatalogChangedEvent(Integer serviceID, Integer providerID) {
+
+    public static CatalogChangedEvent service(int serviceID, int providerID) {
+        return new CatalogChangedEvent(serviceID, providerID);
+    }
+
+    public static CatalogChangedEvent provider(int providerID) {
+        return new CatalogChangedEvent(null, providerID);
+    }
+}
@@ -0,0 +1,9 @@
+package com.backend.Features.Search.service;
+
+import java.math.BigDecimal;
+
+// A service as the search index sees it: its own fields, its provider's and its rating totals
+public record CatalogDocument(int serviceID, int providerID, String serviceName, String description, BigDecimal price,
+                              String businessName, String serviceCategory, String location,
+                              Long reviewCount, Long ratingSum) {
+}
@@ -0,0 +1,465 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Features.Search.enums.CatalogSort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The inverted index behind catalog search. Every service is a document with a dense int ID; its
+ * sortable and filterable fields live in parallel arrays, and every term maps to a sorted postings
+ * list of document IDs. Replacing a service tombstones its old document and appends a new one, so
+ * postings only ever grow at the end and stay sorted without re-sorting; {@link #compact()} drops
+ * the tombstones.
+ *
+ * Not thread-safe: CatalogSearchIndex guards it with a read-write lock.
+ */
+final class CatalogIndex {
+
+    // A tokenized document, prepared outside the index lock
+    record Prepared(CatalogDocument document, List<String> terms, List<String> nameTerms) {
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_CATEGORY_MATCH = -2;
+    private static final int ANY_CATEGORY = -1;
+
+    private int size;
+    private int liveCount;
+    private int[] serviceIDs = new int[INITIAL_CAPACITY];
+    private int[] providerIDs = new int[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    // See ratingKey; computed once per document rather than per search
+    private long[] ratingKeys = new long[INITIAL_CAPACITY];
+    private BitSet live = new BitSet();
+
+    private final Map<Integer, Integer> docByService = new HashMap<>();
+    // Terms from every indexed field, and from the service name alone for relevance
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Postings> nameTerms = new HashMap<>();
+    private final Map<String, Integer> categoryByKey = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+
+    static Prepared prepare(CatalogDocument document) {
+        List<String> nameTerms = CatalogTokenizer.tokens(document.serviceName());
+        List<String> terms = CatalogTokenizer.tokens(String.join(" ",
+                nullToEmpty(document.serviceName()), nullToEmpty(document.description()),
+                nullToEmpty(document.businessName()), nullToEmpty(document.serviceCategory()),
+                nullToEmpty(document.location())));
+        return new Prepared(document, terms, nameTerms);
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    int deadCount() {
+        return size - liveCount;
+    }
+
+    // Adds the service, replacing any earlier version of it
+    void put(Prepared prepared) {
+        CatalogDocument document = prepared.document();
+        remove(document.serviceID());
+
+        int doc = size++;
+        ensureCapacity(size);
+        serviceIDs[doc] = document.serviceID();
+        providerIDs[doc] = document.providerID();
+        categories[doc] = categoryOrdinal(document.serviceCategory());
+        priceCents[doc] = toCents(document.price());
+        ratingKeys[doc] = ratingKey(document.reviewCount(), document.ratingSum());
+        live.set(doc);
+        liveCount++;
+        docByService.put(document.serviceID(), doc);
+
+        for (String term : prepared.terms()) {
+            terms.computeIfAbsent(term, t -> new Postings()).add(doc);
+        }
+        for (String term : prepared.nameTerms()) {
+            nameTerms.computeIfAbsent(term, t -> new Postings()).add(doc);
+        }
+    }
+
+    boolean remove(int serviceID) {
+        Integer doc = docByService.remove(serviceID);
+        if (doc == null) {
+            return false;
+        }
+        live.clear(doc);
+        liveCount--;
+        return true;
+    }
+
+    // Drops the provider's services that are not in `keep` (deleted, or moved away)
+    void removeProviderExcept(int providerID, Collection<Integer> keep) {
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            if (providerIDs[doc] == providerID && !keep.contains(serviceIDs[doc])) {
+                remove(serviceIDs[doc]);
+            }
+        }
+    }
+
+    // Renumbers the live documents densely and rewrites every postings list without the tombstones
+    void compact() {
+        int[] remap = new int[size];
+        int next = 0;
+        for (int doc = 0; doc < size; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                serviceIDs[next] = serviceIDs[doc];
+                providerIDs[next] = providerIDs[doc];
+                categories[next] = categories[doc];
+                priceCents[next] = priceCents[doc];
+                ratingKeys[next] = ratingKeys[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        compactPostings(terms, remap);
+        compactPostings(nameTerms, remap);
+
+        docByService.clear();
+        for (int doc = 0; doc < next; doc++) {
+            docByService.put(serviceIDs[doc], doc);
+        }
+        live = new BitSet(next);
+        live.set(0, next);
+        size = next;
+        liveCount = next;
+    }
+
+    /**
+     * Every query term must match (AND). Category counts cover all matches in the price range,
+     * whatever category was asked for, so the client can offer the other categories as facets.
+     */
+    CatalogSearchHits search(List<String> queryTerms, String category, long minCents, long maxCents,
+                             CatalogSort sort, int offset, int limit) {
+        int[] candidates = null;
+        int candidateCount = 0;
+        if (!queryTerms.isEmpty()) {
+            List<Postings> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    return new CatalogSearchHits(0, List.of(), Map.of());
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+            candidates = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+            candidateCount = candidates.length;
+            for (int i = 1; i < lists.size() && candidateCount > 0; i++) {
+                candidateCount = lists.get(i).retainAll(candidates, candidateCount);
+            }
+        }
+
+        int categoryFilter = ANY_CATEGORY;
+        if (category != null && !category.isBlank()) {
+            categoryFilter = categoryByKey.getOrDefault(CatalogTokenizer.categoryKey(category), NO_CATEGORY_MATCH);
+        }
+
+        // Name postings walked in step with the ascending candidates, for the relevance score
+        NameCursor[] nameCursors = new NameCursor[0];
+        if (sort == CatalogSort.RELEVANCE && !queryTerms.isEmpty()) {
+            nameCursors = queryTerms.stream().map(nameTerms::get).filter(p -> p != null)
+                    .map(NameCursor::new).toArray(NameCursor[]::new);
+        }
+
+        int[] categoryCounts = new int[categoryNames.size()];
+        TopDocs top = new TopDocs(offset + limit);
+        int total = 0;
+        // Without query terms every document is a candidate; a plain scan beats materialising them
+        int count = candidates == null ? size : candidateCount;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates == null ? i : candidates[i];
+            if (!live.get(doc)) {
+                continue;
+            }
+            long price = priceCents[doc];
+            if (price < minCents || price > maxCents) {
+                continue;
+            }
+            int docCategory = categories[doc];
+            categoryCounts[docCategory]++;
+            if (categoryFilter == ANY_CATEGORY || docCategory == categoryFilter) {
+                total++;
+                top.offer(doc, serviceIDs[doc], sortKey(doc, sort, nameCursors));
+            }
+        }
+
+        int[] ranked = top.drainBestFirst();
+        List<Integer> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+        for (int i = offset; i < ranked.length; i++) {
+            page.add(serviceIDs[ranked[i]]);
+        }
+        return new CatalogSearchHits(total, page, categoryFacets(categoryCounts));
+    }
+
+    private long sortKey(int doc, CatalogSort sort, NameCursor[] nameCursors) {
+        return switch (sort) {
+            case RELEVANCE -> {
+                long nameMatches = 0;
+                for (NameCursor cursor : nameCursors) {
+                    if (cursor.contains(doc)) {
+                        nameMatches++;
+                    }
+                }
+                yield nameMatches << 40 | ratingKeys[doc];
+            }
+            case RATING -> ratingKeys[doc];
+            case PRICE_ASC -> -priceCents[doc];
+            case PRICE_DESC -> priceCents[doc];
+        };
+    }
+
+    // Average in hundredths of a star above the review count; unrated services sort last
+    private static long ratingKey(Long reviewCount, Long ratingSum) {
+        long count = reviewCount == null ? 0 : reviewCount;
+        if (count <= 0 || ratingSum == null) {
+            return 0;
+        }
+        long averageHundredths = ratingSum * 100 / count;
+        return averageHundredths << 24 | Math.min(count, 0xFF_FFFF);
+    }
+
+    private Map<String, Integer> categoryFacets(int[] counts) {
+        List<Integer> present = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                present.add(ordinal);
+            }
+        }
+        present.sort(Comparator.<Integer>comparingInt(ordinal -> -counts[ordinal])
+                .thenComparing(categoryNames::get));
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        for (int ordinal : present) {
+            facets.put(categoryNames.get(ordinal), counts[ordinal]);
+        }
+        return facets;
+    }
+
+    private int categoryOrdinal(String category) {
+        return categoryByKey.computeIfAbsent(CatalogTokenizer.categoryKey(category), key -> {
+            categoryNames.add(category == null ? "" : category.strip());
+            return categoryNames.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= serviceIDs.length) {
+            return;
+        }
+        int capacity = Math.max(needed, serviceIDs.length + (serviceIDs.length >> 1));
+        serviceIDs = Arrays.copyOf(serviceIDs, capacity);
+        providerIDs = Arrays.copyOf(providerIDs, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        ratingKeys = Arrays.copyOf(ratingKeys, capacity);
+    }
+
+    private static void compactPostings(Map<String, Postings> index, int[] remap) {
+        for (Iterator<Postings> it = index.values().iterator(); it.hasNext(); ) {
+            Postings postings = it.next();
+            postings.remap(remap);
+            if (postings.size() == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+
+    // Sorted, append-only list of document IDs
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        // Keeps the candidates (sorted) that also appear here; returns how many are left at the front
+        int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                from = gallop(candidates[i], from);
+                if (from < size && docs[from] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                    from++;
+                }
+            }
+            return kept;
+        }
+
+        // First position at or after `from` whose doc is >= target, probing 1, 2, 4... ahead first
+        int gallop(int target, int from) {
+            int step = 1;
+            int high = from;
+            while (high < size && docs[high] < target) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(docs, from, Math.min(high + 1, size), target);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, size);
+            }
+        }
+    }
+
+    // Forward-only membership test for ascending doc IDs
+    private static final class NameCursor {
+        private final Postings postings;
+        private int position;
+
+        NameCursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        boolean contains(int doc) {
+            position = postings.gallop(doc, position);
+            return position < postings.size && postings.docs[position] == doc;
+        }
+    }
+
+    /**
+     * Keeps the best {@code capacity} documents seen, as a min-heap on (key, then lower service ID).
+     * Primitive arrays, so offering a million documents allocates nothing.
+     */
+    private static final class TopDocs {
+        private final int capacity;
+        private final long[] keys;
+        private final int[] docs;
+        private final int[] serviceIDs;
+        private int size;
+
+        TopDocs(int capacity) {
+            this.capacity = capacity;
+            this.keys = new long[capacity];
+            this.docs = new int[capacity];
+            this.serviceIDs = new int[capacity];
+        }
+
+        void offer(int doc, int serviceID, long key) {
+            if (capacity == 0) {
+                return;
+            }
+            if (size < capacity) {
+                keys[size] = key;
+                docs[size] = doc;
+                serviceIDs[size] = serviceID;
+                siftUp(size++);
+            } else if (worse(0, key, serviceID)) {
+                keys[0] = key;
+                docs[0] = doc;
+                serviceIDs[0] = serviceID;
+                siftDown(0);
+            }
+        }
+
+        int[] drainBestFirst() {
+            int[] ranked = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = docs[0];
+                size--;
+                if (size > 0) {
+                    move(size, 0);
+                    siftDown(0);
+                }
+            }
+            return ranked;
+        }
+
+        // Whether the entry at `i` ranks below (key, serviceID)
+        private boolean worse(int i, long key, int serviceID) {
+            return keys[i] < key || (keys[i] == key && serviceIDs[i] > serviceID);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(i, keys[parent], serviceIDs[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && worse(left, keys[smallest], serviceIDs[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && worse(right, keys[smallest], serviceIDs[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            docs[to] = docs[from];
+            serviceIDs[to] = serviceIDs[from];
+        }
+
+        private void swap(int a, int b) {
+            long key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            int serviceID = serviceIDs[a];
+            serviceIDs[a] = serviceIDs[b];
+            serviceIDs[b] = serviceID;
+        }
+    }
+}
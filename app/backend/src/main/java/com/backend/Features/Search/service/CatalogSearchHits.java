@@ -0,0 +1,8 @@
+package com.backend.Features.Search.service;
+
+import java.util.List;
+import java.util.Map;
+
+// serviceIDs is the requested page in result order; categories counts every match per category
+public record CatalogSearchHits(int total, List<Integer> serviceIDs, Map<String, Integer> categories) {
+}
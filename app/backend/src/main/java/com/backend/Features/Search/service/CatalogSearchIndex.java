@@ -0,0 +1,292 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Exceptions.services.SearchUnavailableException;
+import com.backend.Features.Search.enums.CatalogSort;
+import com.backend.Features.Service.repository.ServiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over the service catalog (see {@link CatalogIndex}).
+ *
+ * Built in parallel ID-range chunks once the application is up and again every night, which also
+ * compacts it. In between, {@link CatalogChangedEvent}s re-read the affected services after their
+ * transaction commits, and are relayed over Redis so every node's index follows writes made on
+ * any node. Searches are answered under a read lock; updates take the write lock only to swap
+ * in already tokenized documents.
+ */
+@Component
+public class CatalogSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+    private static final String CHANGE_CHANNEL = "catalog:changed";
+
+    private final ServiceRepository serviceRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Timer searchTimer;
+    private final int chunkSize;
+    private final int threads;
+    // Lets a node skip its own relayed changes
+    private final String nodeID = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CatalogIndex index = new CatalogIndex();
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Changes that arrived while a rebuild was loading; replayed against the new index
+    private final Set<Integer> servicesChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> providersChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public CatalogSearchIndex(
+            ServiceRepository serviceRepository,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.rebuild.chunk-size:5000}") int chunkSize,
+            @Value("${app.search.rebuild.threads:4}") int threads) {
+        this.serviceRepository = serviceRepository;
+        this.redisTemplate = redisTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = Math.max(1, threads);
+        this.searchTimer = Timer.builder("catalog.search")
+                .description("Time to answer a catalog search from the in-process index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("catalog.search.documents", this, CatalogSearchIndex::liveDocuments);
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRemoteChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGE_CHANNEL)
+        );
+    }
+
+    // Runs once the application is up; searches answer 503 until the first build completes
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInitialBuild() {
+        Thread.ofPlatform()
+                .name("catalog-index-build")
+                .daemon()
+                .start(this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.search.rebuild.cron:0 15 4 * * *}") // Run nightly by default
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public CatalogSearchHits search(String text, String category, long minCents, long maxCents,
+                                    CatalogSort sort, int offset, int limit) {
+        if (!ready) {
+            throw new SearchUnavailableException("Search is starting up. Please try again shortly.");
+        }
+        List<String> terms = CatalogTokenizer.tokens(text);
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return index.search(terms, category, minCents, maxCents, sort, offset, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    // Loads every service in parallel ID-range chunks into a fresh index, then swaps it in
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            int maxID = serviceRepository.findMaxServiceID();
+            List<Future<List<CatalogIndex.Prepared>>> chunks = new ArrayList<>();
+            AtomicInteger threadNumber = new AtomicInteger();
+            CatalogIndex fresh = new CatalogIndex();
+            try (ExecutorService loaders = Executors.newFixedThreadPool(threads,
+                    runnable -> new Thread(runnable, "catalog-index-load-" + threadNumber.incrementAndGet()))) {
+                for (int start = 1; start <= maxID; start += chunkSize) {
+                    int fromID = start;
+                    int toID = (int) Math.min((long) start + chunkSize - 1, maxID);
+                    chunks.add(loaders.submit(() -> serviceRepository.findCatalogDocumentsBetween(fromID, toID).stream()
+                            .map(CatalogIndex::prepare)
+                            .toList()));
+                }
+                // Chunks are merged in ID order while later ones are still loading
+                for (Future<List<CatalogIndex.Prepared>> chunk : chunks) {
+                    chunk.get().forEach(fresh::put);
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+            replayChangesDuringRebuild();
+
+            logger.info("Catalog search index built: {} services in {} chunks, {} ms", fresh.liveCount(), chunks.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (ExecutionException | RuntimeException e) {
+            logger.error("Catalog search index build failed; keeping the previous index", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Catalog search index build interrupted; keeping the previous index");
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Fallback execution covers writes made outside a transaction, which are already committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        apply(event);
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeID + "|" + encode(event));
+        } catch (RuntimeException e) {
+            logger.warn("Could not relay catalog change; other nodes pick it up on their next rebuild", e);
+        }
+    }
+
+    void apply(CatalogChangedEvent event) {
+        try {
+            if (event.serviceID() != null) {
+                if (rebuilding.get()) {
+                    servicesChangedDuringRebuild.add(event.serviceID());
+                }
+                reindexServices(List.of(event.serviceID()));
+            } else {
+                if (rebuilding.get()) {
+                    providersChangedDuringRebuild.add(event.providerID());
+                }
+                reindexProvider(event.providerID());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not update the catalog search index for {}; the next rebuild will", event, e);
+        }
+    }
+
+    private void reindexServices(Collection<Integer> serviceIDs) {
+        List<CatalogIndex.Prepared> documents = serviceRepository.findCatalogDocumentsByServiceIDIn(serviceIDs).stream()
+                .map(CatalogIndex::prepare)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            // IDs that no longer load were deleted
+            serviceIDs.forEach(index::remove);
+            documents.forEach(index::put);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reindexProvider(int providerID) {
+        List<CatalogIndex.Prepared> documents = serviceRepository.findCatalogDocumentsByProviderID(providerID).stream()
+                .map(CatalogIndex::prepare)
+                .toList();
+        Set<Integer> current = new HashSet<>();
+        documents.forEach(document -> current.add(document.document().serviceID()));
+        lock.writeLock().lock();
+        try {
+            index.removeProviderExcept(providerID, current);
+            documents.forEach(index::put);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replayChangesDuringRebuild() {
+        List<Integer> services = new ArrayList<>(servicesChangedDuringRebuild);
+        servicesChangedDuringRebuild.removeAll(services);
+        if (!services.isEmpty()) {
+            reindexServices(services);
+        }
+        List<Integer> providers = new ArrayList<>(providersChangedDuringRebuild);
+        providersChangedDuringRebuild.removeAll(providers);
+        providers.forEach(this::reindexProvider);
+    }
+
+    // Caller holds the write lock
+    private void compactIfSparse() {
+        if (index.deadCount() > 1024 && index.deadCount() > index.liveCount() / 4) {
+            index.compact();
+        }
+    }
+
+    private void onRemoteChange(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(nodeID)) {
+            return;
+        }
+        CatalogChangedEvent event = decode(message.substring(separator + 1));
+        if (event != null) {
+            apply(event);
+        }
+    }
+
+    private double liveDocuments() {
+        lock.readLock().lock();
+        try {
+            return index.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // "s:<serviceID>" or "p:<providerID>"
+    static String encode(CatalogChangedEvent event) {
+        return event.serviceID() != null ? "s:" + event.serviceID() : "p:" + event.providerID();
+    }
+
+    static CatalogChangedEvent decode(String payload) {
+        try {
+            int id = Integer.parseInt(payload.substring(2));
+            if (payload.startsWith("s:")) {
+                // The provider only matters to listeners on the publishing node
+                return new CatalogChangedEvent(id, null);
+            }
+            if (payload.startsWith("p:")) {
+                return CatalogChangedEvent.provider(id);
+            }
+        } catch (RuntimeException e) {
+            // Falls through to the warning below
+        }
+        logger.warn("Ignoring malformed catalog change message: {}", payload);
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Exceptions.services.InvalidSearchRequestException;
+import com.backend.Features.Search.dto.CatalogSearchRequest;
+import com.backend.Features.Search.dto.CatalogSearchResponse;
+import com.backend.Features.Search.enums.CatalogSort;
+import com.backend.Features.Service.service.ServiceService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Answers catalog searches from {@link CatalogSearchIndex} and loads only the requested page of
+ * services from the database.
+ */
+@Service
+public class CatalogSearchService {
+
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final ServiceService serviceService;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxOffset;
+
+    public CatalogSearchService(
+            CatalogSearchIndex catalogSearchIndex,
+            ServiceService serviceService,
+            @Value("${app.search.default-limit:20}") int defaultLimit,
+            @Value("${app.search.max-limit:100}") int maxLimit,
+            @Value("${app.search.max-offset:1000}") int maxOffset) {
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.serviceService = serviceService;
+        this.defaultLimit = Math.min(defaultLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.maxOffset = maxOffset;
+    }
+
+    public CatalogSearchResponse search(CatalogSearchRequest request) {
+        Integer requestedLimit = request.getLimit();
+        if (requestedLimit != null && requestedLimit < 1) {
+            throw new InvalidSearchRequestException("limit must be at least 1");
+        }
+        int limit = requestedLimit == null ? defaultLimit : Math.min(requestedLimit, maxLimit);
+        int offset = request.getOffset() == null ? 0 : request.getOffset();
+        if (offset < 0 || offset > maxOffset) {
+            throw new InvalidSearchRequestException("offset must be between 0 and " + maxOffset + "; narrow the search instead");
+        }
+
+        long minCents = request.getMinPrice() == null ? 0 : toCents(request.getMinPrice(), "minPrice");
+        long maxCents = request.getMaxPrice() == null ? Long.MAX_VALUE : toCents(request.getMaxPrice(), "maxPrice");
+        if (minCents > maxCents) {
+            throw new InvalidSearchRequestException("minPrice must not be greater than maxPrice");
+        }
+        CatalogSort sort = request.getSort() == null ? CatalogSort.RELEVANCE : request.getSort();
+
+        CatalogSearchHits hits = catalogSearchIndex.search(request.getQ(), request.getCategory(),
+                minCents, maxCents, sort, offset, limit);
+        return new CatalogSearchResponse(hits.total(), serviceService.getServicesByIds(hits.serviceIDs()), hits.categories());
+    }
+
+    private static long toCents(BigDecimal price, String name) {
+        if (price.signum() < 0) {
+            throw new InvalidSearchRequestException(name + " must not be negative");
+        }
+        try {
+            return CatalogIndex.toCents(price);
+        } catch (ArithmeticException e) {
+            throw new InvalidSearchRequestException(name + " is too large");
+        }
+    }
+}
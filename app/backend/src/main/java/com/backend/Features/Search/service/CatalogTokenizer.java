@@ -0,0 +1,53 @@
+package com.backend.Features.Search.service;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into search terms: lower case, accents removed, split on anything that is not a
+ * letter or digit. Single letters and a few very common English words are dropped; they would
+ * match most of the catalog and only make postings longer.
+ */
+final class CatalogTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "our", "the", "to", "we", "with", "you", "your");
+
+    private CatalogTokenizer() {
+    }
+
+    // Distinct terms in order of first appearance
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (isTerm(token)) {
+                terms.add(token);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    // Facet values match case-insensitively and ignore surrounding whitespace
+    static String categoryKey(String category) {
+        return category == null ? "" : category.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTerm(String token) {
+        if (token.isEmpty() || STOP_WORDS.contains(token)) {
+            return false;
+        }
+        return token.length() > 1 || Character.isDigit(token.charAt(0));
+    }
+}
@@ -0,0 +1,74 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Exceptions.services.InvalidSearchRequestException;
+import com.backend.Features.Search.dto.NearbyProvider;
+import com.backend.Features.Search.dto.NearbyProviderRequest;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
+import com.backend.Features.ServiceProvider.service.ServiceProviderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the providers nearest a point from {@link ProviderGeoIndex} and loads only those from the
+ * database. Without a radius the search reaches {@code default-radius-km}.
+ */
+@Service
+public class NearbyProviderService {
+
+    private final ProviderGeoIndex providerGeoIndex;
+    private final ServiceProviderService serviceProviderService;
+    private final double defaultRadiusKm;
+    private final double maxRadiusKm;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public NearbyProviderService(
+            ProviderGeoIndex providerGeoIndex,
+            ServiceProviderService serviceProviderService,
+            @Value("${app.geo.default-radius-km:25}") double defaultRadiusKm,
+            @Value("${app.geo.max-radius-km:500}") double maxRadiusKm,
+            @Value("${app.geo.default-limit:20}") int defaultLimit,
+            @Value("${app.geo.max-limit:100}") int maxLimit) {
+        this.providerGeoIndex = providerGeoIndex;
+        this.serviceProviderService = serviceProviderService;
+        this.defaultRadiusKm = Math.min(defaultRadiusKm, maxRadiusKm);
+        this.maxRadiusKm = maxRadiusKm;
+        this.defaultLimit = Math.min(defaultLimit, maxLimit);
+        this.maxLimit = maxLimit;
+    }
+
+    public List<NearbyProvider> findNearby(NearbyProviderRequest request) {
+        Double latitude = request.getLatitude();
+        Double longitude = request.getLongitude();
+        if (latitude == null || longitude == null) {
+            throw new InvalidSearchRequestException("latitude and longitude are required");
+        }
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidSearchRequestException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        Double requestedRadius = request.getRadiusKm();
+        if (requestedRadius != null && !(requestedRadius > 0 && requestedRadius <= maxRadiusKm)) {
+            throw new InvalidSearchRequestException("radiusKm must be greater than 0 and at most " + maxRadiusKm);
+        }
+        Integer requestedLimit = request.getLimit();
+        if (requestedLimit != null && requestedLimit < 1) {
+            throw new InvalidSearchRequestException("limit must be at least 1");
+        }
+        double radiusKm = requestedRadius == null ? defaultRadiusKm : requestedRadius;
+        int limit = requestedLimit == null ? defaultLimit : Math.min(requestedLimit, maxLimit);
+
+        List<ProviderDistance> nearest = providerGeoIndex.nearest(latitude, longitude, radiusKm, request.getCategory(), limit);
+        Map<Integer, Double> distances = new HashMap<>();
+        nearest.forEach(hit -> distances.put(hit.providerID(), hit.distanceKm()));
+
+        List<ServiceProviderResponse> providers = serviceProviderService.getServiceProvidersByIds(
+                nearest.stream().map(ProviderDistance::providerID).toList());
+        return providers.stream()
+                .map(provider -> new NearbyProvider(provider, Math.round(distances.get(provider.getProviderID()) * 100) / 100.0))
+                .toList();
+    }
+}
@@ -0,0 +1,5 @@
+package com.backend.Features.Search.service;
+
+// A provider and its great-circle distance from the search point
+public record ProviderDistance(int providerID, double distanceKm) {
+}
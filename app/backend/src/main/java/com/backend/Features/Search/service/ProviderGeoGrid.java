@@ -0,0 +1,355 @@
+package com.backend.Features.Search.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index behind nearby provider search: the globe is cut into square latitude/longitude
+ * cells and every located provider sits in the cell containing it. Only non-empty cells exist,
+ * so moving or removing a provider touches a single cell.
+ *
+ * A query collects the cells that can hold a point within the radius, orders them by a lower
+ * bound of their great-circle distance from the query point, and visits them nearest first until
+ * no remaining cell can beat the worst of the {@code limit} providers found so far.
+ *
+ * Not thread-safe: ProviderGeoIndex guards it with a read-write lock.
+ */
+final class ProviderGeoGrid {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int ANY_CATEGORY = -1;
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Integer, Cell> cellByProvider = new HashMap<>();
+    private final Map<String, Integer> categoryByKey = new HashMap<>();
+
+    ProviderGeoGrid(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("cellDegrees must be within (0, 90]");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    int size() {
+        return cellByProvider.size();
+    }
+
+    // Adds the provider, moving it if it was indexed elsewhere
+    void put(ProviderGeoPoint point) {
+        remove(point.providerID());
+        int row = row(point.latitude());
+        int column = column(point.longitude());
+        Cell cell = cells.computeIfAbsent(key(row, column), key -> new Cell(row, column));
+        cell.add(point.providerID(), point.latitude(), point.longitude(), categoryOrdinal(point.serviceCategory()));
+        cellByProvider.put(point.providerID(), cell);
+    }
+
+    boolean remove(int providerID) {
+        Cell cell = cellByProvider.remove(providerID);
+        if (cell == null) {
+            return false;
+        }
+        cell.remove(providerID);
+        if (cell.size == 0) {
+            cells.remove(key(cell.row, cell.column));
+        }
+        return true;
+    }
+
+    /**
+     * Up to {@code limit} providers within {@code radiusKm} of the point, nearest first; equally
+     * distant providers in providerID order. {@code category} matches case-insensitively.
+     */
+    List<ProviderDistance> nearest(double latitude, double longitude, double radiusKm, String category, int limit) {
+        int categoryFilter = ANY_CATEGORY;
+        if (category != null && !category.isBlank()) {
+            Integer ordinal = categoryByKey.get(CatalogTokenizer.categoryKey(category));
+            if (ordinal == null) {
+                return List.of();
+            }
+            categoryFilter = ordinal;
+        }
+        if (limit <= 0 || cells.isEmpty()) {
+            return List.of();
+        }
+
+        double sinLatitude = Math.sin(Math.toRadians(latitude));
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        List<Cell> candidates = candidateCells(latitude, longitude, radiusKm);
+        double[] bounds = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        int count = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            double bound = lowerBoundKm(candidates.get(i), latitude, longitude, cosLatitude);
+            if (bound <= radiusKm) {
+                bounds[i] = bound;
+                order[count++] = i;
+            }
+        }
+        Arrays.sort(order, 0, count, (a, b) -> Double.compare(bounds[a], bounds[b]));
+
+        TopHits top = new TopHits(limit);
+        for (int i = 0; i < count; i++) {
+            if (top.isFull() && bounds[order[i]] > top.worstDistance()) {
+                break;
+            }
+            Cell cell = candidates.get(order[i]);
+            for (int slot = 0; slot < cell.size; slot++) {
+                if (categoryFilter != ANY_CATEGORY && cell.categories[slot] != categoryFilter) {
+                    continue;
+                }
+                double distance = distanceKm(sinLatitude, cosLatitude, longitude,
+                        cell.sinLatitudes[slot], cell.cosLatitudes[slot], cell.longitudes[slot]);
+                if (distance <= radiusKm) {
+                    top.offer(cell.providerIDs[slot], distance);
+                }
+            }
+        }
+        return top.drainNearestFirst();
+    }
+
+    // Cells overlapping the bounding box of the search circle
+    private List<Cell> candidateCells(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double radiusDegrees = Math.toDegrees(angularRadius);
+        double minLatitude = latitude - radiusDegrees;
+        double maxLatitude = latitude + radiusDegrees;
+        int firstRow = row(Math.max(-90, minLatitude));
+        int lastRow = row(Math.min(90, maxLatitude));
+
+        // Half the longitude span of the circle; all longitudes once it reaches a pole
+        boolean allColumns = minLatitude <= -90 || maxLatitude >= 90 || angularRadius >= Math.PI / 2;
+        int firstColumn = 0;
+        int columnCount = columns;
+        if (!allColumns) {
+            double halfSpan = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+            firstColumn = column(longitude - halfSpan);
+            columnCount = Math.min(columns, Math.floorMod(column(longitude + halfSpan) - firstColumn, columns) + 1);
+            allColumns = columnCount == columns || 2 * halfSpan >= 360 - cellDegrees;
+        }
+
+        List<Cell> found = new ArrayList<>();
+        long boxCells = (long) (lastRow - firstRow + 1) * (allColumns ? columns : columnCount);
+        if (boxCells > cells.size()) {
+            // Cheaper to filter the occupied cells than to probe every cell of the box
+            for (Cell cell : cells.values()) {
+                if (cell.row >= firstRow && cell.row <= lastRow
+                        && (allColumns || Math.floorMod(cell.column - firstColumn, columns) < columnCount)) {
+                    found.add(cell);
+                }
+            }
+            return found;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int offset = 0; offset < (allColumns ? columns : columnCount); offset++) {
+                Cell cell = cells.get(key(row, (firstColumn + offset) % columns));
+                if (cell != null) {
+                    found.add(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    /*
+     * No point of the cell is closer than this. A path to the cell crosses at least its latitude
+     * gap, and, from outside its longitude band, reaches one of the two meridians bounding it; the
+     * distance to a meridian's great circle is asin(cos(latitude) * |sin(longitude difference)|).
+     */
+    private double lowerBoundKm(Cell cell, double latitude, double longitude, double cosLatitude) {
+        double south = cell.row * cellDegrees - 90;
+        double north = Math.min(90, south + cellDegrees);
+        double latitudeGap = latitude < south ? south - latitude : latitude > north ? latitude - north : 0;
+
+        double west = cell.column * cellDegrees - 180;
+        double longitudeBound = 0;
+        if (wrap360(longitude - west) > cellDegrees) {
+            double toWest = Math.abs(Math.sin(Math.toRadians(wrap360(west - longitude))));
+            double toEast = Math.abs(Math.sin(Math.toRadians(wrap360(longitude - west - cellDegrees))));
+            longitudeBound = Math.asin(Math.min(1, cosLatitude * Math.min(toWest, toEast)));
+        }
+        return EARTH_RADIUS_KM * Math.max(Math.toRadians(latitudeGap), longitudeBound);
+    }
+
+    // Haversine distance
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        return distanceKm(Math.sin(phi1), Math.cos(phi1), longitude1, Math.sin(phi2), Math.cos(phi2), longitude2);
+    }
+
+    private static double distanceKm(double sin1, double cos1, double longitude1,
+                                     double sin2, double cos2, double longitude2) {
+        // sin^2(dPhi / 2) from the sines and cosines already at hand: (1 - cos(dPhi)) / 2
+        double halfLatitude = (1 - (cos1 * cos2 + sin1 * sin2)) / 2;
+        double sinHalfLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = Math.max(0, halfLatitude) + cos1 * cos2 * sinHalfLongitude * sinHalfLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private static double wrap360(double degrees) {
+        double wrapped = degrees % 360;
+        return wrapped < 0 ? wrapped + 360 : wrapped;
+    }
+
+    private int categoryOrdinal(String category) {
+        return categoryByKey.computeIfAbsent(CatalogTokenizer.categoryKey(category), key -> categoryByKey.size());
+    }
+
+    // The providers in one cell, in parallel arrays; removal moves the last one into the gap
+    private static final class Cell {
+        private final int row;
+        private final int column;
+        private int size;
+        private int[] providerIDs = new int[4];
+        private double[] sinLatitudes = new double[4];
+        private double[] cosLatitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int[] categories = new int[4];
+
+        Cell(int row, int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        void add(int providerID, double latitude, double longitude, int category) {
+            if (size == providerIDs.length) {
+                int capacity = size * 2;
+                providerIDs = Arrays.copyOf(providerIDs, capacity);
+                sinLatitudes = Arrays.copyOf(sinLatitudes, capacity);
+                cosLatitudes = Arrays.copyOf(cosLatitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+            }
+            double phi = Math.toRadians(latitude);
+            providerIDs[size] = providerID;
+            sinLatitudes[size] = Math.sin(phi);
+            cosLatitudes[size] = Math.cos(phi);
+            longitudes[size] = longitude;
+            categories[size] = category;
+            size++;
+        }
+
+        void remove(int providerID) {
+            for (int slot = 0; slot < size; slot++) {
+                if (providerIDs[slot] == providerID) {
+                    size--;
+                    providerIDs[slot] = providerIDs[size];
+                    sinLatitudes[slot] = sinLatitudes[size];
+                    cosLatitudes[slot] = cosLatitudes[size];
+                    longitudes[slot] = longitudes[size];
+                    categories[slot] = categories[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Keeps the nearest `capacity` hits seen, as a max-heap on (distance, then providerID)
+    private static final class TopHits {
+        private final int capacity;
+        private final double[] distances;
+        private final int[] providerIDs;
+        private int size;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.distances = new double[capacity];
+            this.providerIDs = new int[capacity];
+        }
+
+        boolean isFull() {
+            return size == capacity;
+        }
+
+        double worstDistance() {
+            return distances[0];
+        }
+
+        void offer(int providerID, double distance) {
+            if (size < capacity) {
+                distances[size] = distance;
+                providerIDs[size] = providerID;
+                siftUp(size++);
+            } else if (farther(distances[0], providerIDs[0], distance, providerID)) {
+                distances[0] = distance;
+                providerIDs[0] = providerID;
+                siftDown(0);
+            }
+        }
+
+        List<ProviderDistance> drainNearestFirst() {
+            ProviderDistance[] hits = new ProviderDistance[size];
+            for (int i = size - 1; i >= 0; i--) {
+                hits[i] = new ProviderDistance(providerIDs[0], distances[0]);
+                size--;
+                if (size > 0) {
+                    distances[0] = distances[size];
+                    providerIDs[0] = providerIDs[size];
+                    siftDown(0);
+                }
+            }
+            return List.of(hits);
+        }
+
+        private static boolean farther(double distance, int providerID, double otherDistance, int otherProviderID) {
+            return distance > otherDistance || (distance == otherDistance && providerID > otherProviderID);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!farther(distances[index], providerIDs[index], distances[parent], providerIDs[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int farthest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (farther(distances[child], providerIDs[child], distances[farthest], providerIDs[farthest])) {
+                        farthest = child;
+                    }
+                }
+                if (farthest == index) {
+                    return;
+                }
+                swap(index, farthest);
+                index = farthest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+            int providerID = providerIDs[a];
+            providerIDs[a] = providerIDs[b];
+            providerIDs[b] = providerID;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Exceptions.services.SearchUnavailableException;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process spatial index of located providers (see {@link ProviderGeoGrid}).
+ *
+ * Loaded in providerID batches once the application is up and again every night. In between,
+ * provider {@link CatalogChangedEvent}s re-read that provider's coordinates and category after
+ * the transaction commits, and are relayed over Redis so every node's index follows them.
+ */
+@Component
+public class ProviderGeoIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProviderGeoIndex.class);
+    private static final String CHANGE_CHANNEL = "providers:located";
+
+    private final ServiceProviderRepository serviceProviderRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Timer searchTimer;
+    private final double cellDegrees;
+    private final int batchSize;
+    // Lets a node skip its own relayed changes
+    private final String nodeID = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ProviderGeoGrid grid;
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Providers changed while a rebuild was loading; re-read into the new grid
+    private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public ProviderGeoIndex(
+            ServiceProviderRepository serviceProviderRepository,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.geo.cell-degrees:0.1}") double cellDegrees,
+            @Value("${app.geo.rebuild.batch-size:5000}") int batchSize) {
+        this.serviceProviderRepository = serviceProviderRepository;
+        this.redisTemplate = redisTemplate;
+        this.cellDegrees = cellDegrees;
+        this.batchSize = Math.max(1, batchSize);
+        this.grid = new ProviderGeoGrid(cellDegrees);
+        this.searchTimer = Timer.builder("providers.nearby")
+                .description("Time to answer a nearby provider search from the in-process index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("providers.nearby.located", this, ProviderGeoIndex::locatedProviders);
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRemoteChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGE_CHANNEL)
+        );
+    }
+
+    // Runs once the application is up; searches answer 503 until the first build completes
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInitialBuild() {
+        Thread.ofPlatform()
+                .name("provider-geo-index-build")
+                .daemon()
+                .start(this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.geo.rebuild.cron:0 20 4 * * *}") // Run nightly by default
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public List<ProviderDistance> nearest(double latitude, double longitude, double radiusKm, String category, int limit) {
+        if (!ready) {
+            throw new SearchUnavailableException("Nearby search is starting up. Please try again shortly.");
+        }
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return grid.nearest(latitude, longitude, radiusKm, category, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    // Loads every located provider into a fresh grid, then swaps it in
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            ProviderGeoGrid fresh = new ProviderGeoGrid(cellDegrees);
+            int after = 0;
+            while (true) {
+                List<ProviderGeoPoint> batch = serviceProviderRepository.findGeoPointsAfter(after, Limit.of(batchSize));
+                batch.forEach(fresh::put);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                after = batch.get(batch.size() - 1).providerID();
+            }
+
+            lock.writeLock().lock();
+            try {
+                grid = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+            List<Integer> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            changed.forEach(this::reload);
+
+            logger.info("Provider geo index built: {} located providers, {} ms", fresh.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (RuntimeException e) {
+            logger.error("Provider geo index build failed; keeping the previous index", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Fallback execution covers writes made outside a transaction, which are already committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.serviceID() != null) {
+            return;
+        }
+        apply(event.providerID());
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeID + "|" + event.providerID());
+        } catch (RuntimeException e) {
+            logger.warn("Could not relay provider location change; other nodes pick it up on their next rebuild", e);
+        }
+    }
+
+    void apply(int providerID) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(providerID);
+        }
+        try {
+            reload(providerID);
+        } catch (RuntimeException e) {
+            logger.error("Could not update the provider geo index for provider {}; the next rebuild will", providerID, e);
+        }
+    }
+
+    // Unlocated and deleted providers are dropped from the grid
+    private void reload(int providerID) {
+        Optional<ProviderGeoPoint> point = serviceProviderRepository.findGeoPointByProviderID(providerID);
+        lock.writeLock().lock();
+        try {
+            point.ifPresentOrElse(grid::put, () -> grid.remove(providerID));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void onRemoteChange(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.substring(0, separator).equals(nodeID)) {
+            return;
+        }
+        try {
+            apply(Integer.parseInt(message.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed provider location message: {}", message);
+        }
+    }
+
+    private double locatedProviders() {
+        lock.readLock().lock();
+        try {
+            return grid.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
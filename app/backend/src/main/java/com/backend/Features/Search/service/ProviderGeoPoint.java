@@ -0,0 +1,5 @@
+package com.backend.Features.Search.service;
+
+// A located provider as nearby search sees it
+public record ProviderGeoPoint(int providerID, double latitude, double longitude, String serviceCategory) {
+}
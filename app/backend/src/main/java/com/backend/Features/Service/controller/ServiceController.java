@@ -1,8 +1,13 @@
 package com.backend.Features.Service.controller;
 
+import com.backend.Caching.services.CatalogCache;
+import com.backend.Caching.services.CatalogTags;
 import com.backend.Features.Service.dto.ServiceRequest;
 import com.backend.Features.Service.dto.ServiceResponse;
 import com.backend.Features.Service.service.ServiceService;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +19,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ServiceController {
     private final ServiceService serviceService;
+    private final KeysetPagination pagination;
+    private final CatalogCache catalogCache;
 
     @PostMapping("/create")
     public ResponseEntity<ServiceResponse> createService(@RequestBody ServiceRequest serviceRequest) {
@@ -28,21 +35,30 @@ public class ServiceController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ServiceResponse>> getAllServices() {
-        List<ServiceResponse> services = serviceService.getAllServices();
-        return ResponseEntity.ok(services);
+    public ResponseEntity<?> getAllServices(PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<ServiceResponse> services = serviceService.getAllServices();
+            return ResponseEntity.ok(services);
+        }
+        // Spring answers a matching If-None-Match with 304 once the tag is on the response
+        CursorPage<ServiceResponse> services = catalogCache.getServices(pagination.resolve(page));
+        return ResponseEntity.ok().eTag(CatalogTags.services(services)).body(services);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ServiceResponse> getServiceById(@PathVariable int id) {
-        ServiceResponse serviceResponse = serviceService.getServiceById(id);
-        return ResponseEntity.ok(serviceResponse);
+        ServiceResponse serviceResponse = catalogCache.getService(id);
+        return ResponseEntity.ok().eTag(CatalogTags.service(serviceResponse)).body(serviceResponse);
     }
 
     @GetMapping("/provider/{providerID}")
-    public ResponseEntity<List<ServiceResponse>> getAllServicesByProvider(@PathVariable int providerID) {
-        List<ServiceResponse> services = serviceService.getAllServicesByProvider(providerID);
-        return ResponseEntity.ok(services);
+    public ResponseEntity<?> getAllServicesByProvider(@PathVariable int providerID, PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<ServiceResponse> services = catalogCache.getServicesByProvider(providerID);
+            return ResponseEntity.ok().eTag(CatalogTags.services(services)).body(services);
+        }
+        CursorPage<ServiceResponse> services = catalogCache.getServicesByProvider(providerID, pagination.resolve(page));
+        return ResponseEntity.ok().eTag(CatalogTags.services(services)).body(services);
     }
 
     @DeleteMapping("/delete/{id}")
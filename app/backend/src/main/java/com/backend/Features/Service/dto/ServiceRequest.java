@@ -7,6 +7,8 @@ public class ServiceRequest {
     private String serviceName;
     private String description;
     private BigDecimal price;
+    private Integer durationMinutes;
+    // Free-text length accepted from older clients when durationMinutes is absent, e.g. "90", "1h 30m", "2 hours"
     private String duration;
 
     public int getProviderID() {
@@ -48,4 +50,12 @@ public class ServiceRequest {
     public void setDuration(String duration) {
         this.duration = duration;
     }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
 }
@@ -1,6 +1,8 @@
 package com.backend.Features.Service.dto;
 
 
+import com.backend.Features.Rating.dto.RatingSummary;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -10,8 +12,12 @@ public class ServiceResponse {
     private String serviceName;
     private String description;
     private BigDecimal price;
+    private int durationMinutes;
+    // Human-readable form of durationMinutes, e.g. "1h 30m"
     private String duration;
+    private int version;
     private LocalDateTime createdAt;
+    private RatingSummary rating;
 
     public int getServiceID() {
         return serviceID;
@@ -68,4 +74,28 @@ public class ServiceResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public RatingSummary getRating() {
+        return rating;
+    }
+
+    public void setRating(RatingSummary rating) {
+        this.rating = rating;
+    }
 }
@@ -14,7 +14,7 @@ public class ServiceClass {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int serviceID;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "providerID", referencedColumnName = "providerID", nullable = false)
     private ServiceProvider provider;
 
@@ -27,8 +27,14 @@ public class ServiceClass {
     @Column(name = "price", nullable = false)
     private BigDecimal price;
 
-    @Column(name = "duration", nullable = false)
-    private String duration;
+    // Length of one booking of this service; drives slot availability
+    @Column(name = "durationMinutes", nullable = false)
+    private int durationMinutes;
+
+    // Bumped on every update; feeds the ETags of the responses that show this row
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
 
     @Column(name = "createdAt", nullable = false)
     private LocalDateTime createdAt;
@@ -36,13 +42,13 @@ public class ServiceClass {
     public ServiceClass() {
     }
 
-    public ServiceClass(int serviceID, ServiceProvider provider, String serviceName, String description, BigDecimal price, String duration, LocalDateTime createdAt) {
+    public ServiceClass(int serviceID, ServiceProvider provider, String serviceName, String description, BigDecimal price, int durationMinutes, LocalDateTime createdAt) {
         this.serviceID = serviceID;
         this.provider = provider;
         this.serviceName = serviceName;
         this.description = description;
         this.price = price;
-        this.duration = duration;
+        this.durationMinutes = durationMinutes;
         this.createdAt = createdAt;
     }
 
@@ -86,12 +92,16 @@ public class ServiceClass {
         this.price = price;
     }
 
-    public String getDuration() {
-        return duration;
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
     }
 
-    public void setDuration(String duration) {
-        this.duration = duration;
+    public int getVersion() {
+        return version;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -2,10 +2,38 @@ package com.backend.Features.Service.repository;
 
 
 import com.backend.Features.Service.entity.ServiceClass;
+import org.springframework.data.domain.Limit;
+import com.backend.Features.Search.service.CatalogDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ServiceRepository extends JpaRepository<ServiceClass, Integer> {
     List<ServiceClass> findByProviderProviderID(int providerID);
+
+    // Keyset pages in serviceID order; pass 0 to start and the last serviceID seen to continue
+    List<ServiceClass> findByServiceIDGreaterThanOrderByServiceID(int after, Limit limit);
+    List<ServiceClass> findByProviderProviderIDAndServiceIDGreaterThanOrderByServiceID(int providerID, int after, Limit limit);
+
+    // Search index documents: the service, its provider's searchable fields and its rating totals
+    String CATALOG_DOCUMENT_SELECT = "SELECT new com.backend.Features.Search.service.CatalogDocument(" +
+            "s.serviceID, p.providerID, s.serviceName, s.description, s.price, " +
+            "p.businessName, p.serviceCategory, p.location, a.reviewCount, a.ratingSum) " +
+            "FROM ServiceClass s JOIN s.provider p " +
+            "LEFT JOIN RatingAggregate a ON a.id.subject = com.backend.Features.Rating.entity.RatingAggregate.Subject.SERVICE " +
+            "AND a.id.subjectID = s.serviceID ";
+
+    @Query(CATALOG_DOCUMENT_SELECT + "WHERE s.serviceID BETWEEN :fromID AND :toID")
+    List<CatalogDocument> findCatalogDocumentsBetween(int fromID, int toID);
+
+    @Query(CATALOG_DOCUMENT_SELECT + "WHERE s.serviceID IN :serviceIDs")
+    List<CatalogDocument> findCatalogDocumentsByServiceIDIn(Collection<Integer> serviceIDs);
+
+    @Query(CATALOG_DOCUMENT_SELECT + "WHERE p.providerID = :providerID")
+    List<CatalogDocument> findCatalogDocumentsByProviderID(int providerID);
+
+    @Query("SELECT COALESCE(MAX(s.serviceID), 0) FROM ServiceClass s")
+    int findMaxServiceID();
 }
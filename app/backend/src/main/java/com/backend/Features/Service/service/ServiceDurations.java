@@ -0,0 +1,65 @@
+package com.backend.Features.Service.service;
+
+import com.backend.Features.Service.dto.ServiceRequest;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts between the structured service length (minutes) and the free-text form older
+ * clients still send and display.
+ */
+public final class ServiceDurations {
+
+    public static final int MAX_MINUTES = 24 * 60;
+
+    // "2h", "2 hours", "1 hr 30 min", "45m", "45 minutes"
+    private static final Pattern PART = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(h|hr|hrs|hour|hours|m|min|mins|minute|minutes)\\b");
+
+    private ServiceDurations() {
+    }
+
+    public static int resolveMinutes(ServiceRequest request) {
+        int minutes = request.getDurationMinutes() != null
+                ? request.getDurationMinutes()
+                : parseMinutes(request.getDuration());
+        if (minutes <= 0 || minutes > MAX_MINUTES) {
+            throw new IllegalArgumentException("Service duration must be between 1 minute and 24 hours");
+        }
+        return minutes;
+    }
+
+    // A bare number is taken as minutes
+    public static int parseMinutes(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Service duration is required");
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        if (normalized.matches("\\d+")) {
+            return Integer.parseInt(normalized);
+        }
+
+        Matcher matcher = PART.matcher(normalized);
+        double minutes = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(1));
+            minutes += matcher.group(2).startsWith("h") ? value * 60 : value;
+            matched = true;
+        }
+        if (!matched) {
+            throw new IllegalArgumentException("Unrecognised service duration: " + text);
+        }
+        return (int) Math.round(minutes);
+    }
+
+    public static String format(int minutes) {
+        int hours = minutes / 60;
+        int rest = minutes % 60;
+        if (hours == 0) {
+            return rest + "m";
+        }
+        return rest == 0 ? hours + "h" : hours + "h " + rest + "m";
+    }
+}
@@ -1,6 +1,10 @@
 package com.backend.Features.Service.service;
 
 
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.service.RatingAggregateService;
+import com.backend.Features.Search.service.CatalogChangedEvent;
 import com.backend.Features.Service.dto.ServiceRequest;
 import com.backend.Features.Service.dto.ServiceResponse;
 import com.backend.Features.Service.entity.ServiceClass;
@@ -8,11 +12,16 @@ import com.backend.Exceptions.services.UnverifiedProviderException;
 import com.backend.Features.Service.repository.ServiceRepository;
 import com.backend.Features.ServiceProvider.entity.ServiceProvider;
 import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +29,8 @@ import java.util.stream.Collectors;
 public class ServiceService {
     private final ServiceRepository serviceRepository;
     private final ServiceProviderRepository serviceProviderRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ServiceResponse createService(ServiceRequest serviceRequest) {
         ServiceProvider provider = serviceProviderRepository.findById(serviceRequest.getProviderID())
@@ -34,18 +45,29 @@ public class ServiceService {
         serviceClass.setServiceName(serviceRequest.getServiceName());
         serviceClass.setDescription(serviceRequest.getDescription());
         serviceClass.setPrice(serviceRequest.getPrice());
-        serviceClass.setDuration(serviceRequest.getDuration());
+        serviceClass.setDurationMinutes(ServiceDurations.resolveMinutes(serviceRequest));
         serviceClass.setCreatedAt(LocalDateTime.now());
 
         ServiceClass savedService = serviceRepository.save(serviceClass);
-        return mapToServiceResponse(savedService);
+        eventPublisher.publishEvent(CatalogChangedEvent.service(savedService.getServiceID(), provider.getProviderID()));
+        ServiceResponse response = mapToServiceResponse(savedService);
+        response.setRating(ratingAggregateService.initialise(RatingAggregate.Subject.SERVICE, savedService.getServiceID()));
+        return response;
     }
 
     public List<ServiceResponse> getAllServices() {
         List<ServiceClass> services = serviceRepository.findAll();
-        return services.stream()
+        return withRatings(services.stream()
                 .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    public CursorPage<ServiceResponse> getAllServices(Keyset keyset) {
+        CursorPage<ServiceResponse> page = keyset.page(
+                serviceRepository.findByServiceIDGreaterThanOrderByServiceID(keyset.after(), keyset.fetchLimit()),
+                ServiceClass::getServiceID).map(this::mapToServiceResponse);
+        withRatings(page.getItems());
+        return page;
     }
 
     public ServiceResponse updateService(int id, ServiceRequest serviceRequest) {
@@ -55,25 +77,60 @@ public class ServiceService {
         serviceClass.setServiceName(serviceRequest.getServiceName());
         serviceClass.setDescription(serviceRequest.getDescription());
         serviceClass.setPrice(serviceRequest.getPrice());
-        serviceClass.setDuration(serviceRequest.getDuration());
+        serviceClass.setDurationMinutes(ServiceDurations.resolveMinutes(serviceRequest));
 
         ServiceClass updatedService = serviceRepository.save(serviceClass);
-        return mapToServiceResponse(updatedService);
+        eventPublisher.publishEvent(CatalogChangedEvent.service(updatedService.getServiceID(),
+                updatedService.getProvider().getProviderID()));
+        return withRating(mapToServiceResponse(updatedService));
     }
 
     public ServiceResponse getServiceById(int id) {
         ServiceClass serviceClass = serviceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Service not found"));
-        return mapToServiceResponse(serviceClass);
+        return withRating(mapToServiceResponse(serviceClass));
+    }
+
+    // In the order given; IDs that no longer exist are skipped
+    public List<ServiceResponse> getServicesByIds(List<Integer> ids) {
+        Map<Integer, ServiceClass> services = serviceRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ServiceClass::getServiceID, Function.identity()));
+        return withRatings(ids.stream()
+                .filter(services::containsKey)
+                .map(id -> mapToServiceResponse(services.get(id)))
+                .collect(Collectors.toList()));
     }
 
     public List<ServiceResponse> getAllServicesByProvider(int providerID) {
         List<ServiceClass> serviceClass = serviceRepository.findByProviderProviderID(providerID);
-        return serviceClass.stream().map(this::mapToServiceResponse).collect(Collectors.toList());
+        return withRatings(serviceClass.stream().map(this::mapToServiceResponse).collect(Collectors.toList()));
+    }
+
+    public CursorPage<ServiceResponse> getAllServicesByProvider(int providerID, Keyset keyset) {
+        CursorPage<ServiceResponse> page = keyset.page(serviceRepository.findByProviderProviderIDAndServiceIDGreaterThanOrderByServiceID(
+                providerID, keyset.after(), keyset.fetchLimit()), ServiceClass::getServiceID).map(this::mapToServiceResponse);
+        withRatings(page.getItems());
+        return page;
     }
 
     public void deleteService(int id) {
-        serviceRepository.deleteById(id);
+        serviceRepository.findById(id).ifPresent(serviceClass -> {
+            serviceRepository.delete(serviceClass);
+            eventPublisher.publishEvent(CatalogChangedEvent.service(id, serviceClass.getProvider().getProviderID()));
+        });
+    }
+
+    private ServiceResponse withRating(ServiceResponse response) {
+        response.setRating(ratingAggregateService.getSummary(RatingAggregate.Subject.SERVICE, response.getServiceID()));
+        return response;
+    }
+
+    // One rating query for the whole list
+    private List<ServiceResponse> withRatings(List<ServiceResponse> responses) {
+        Map<Integer, RatingSummary> ratings = ratingAggregateService.getSummaries(RatingAggregate.Subject.SERVICE,
+                responses.stream().map(ServiceResponse::getServiceID).toList());
+        responses.forEach(response -> response.setRating(ratings.get(response.getServiceID())));
+        return responses;
     }
 
     private ServiceResponse mapToServiceResponse(ServiceClass service) {
@@ -83,7 +140,9 @@ public class ServiceService {
         response.setServiceName(service.getServiceName());
         response.setDescription(service.getDescription());
         response.setPrice(service.getPrice());
-        response.setDuration(service.getDuration());
+        response.setDurationMinutes(service.getDurationMinutes());
+        response.setDuration(ServiceDurations.format(service.getDurationMinutes()));
+        response.setVersion(service.getVersion());
         response.setCreatedAt(service.getCreatedAt());
         return response;
     }
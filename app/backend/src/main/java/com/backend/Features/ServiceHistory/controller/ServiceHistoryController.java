@@ -1,11 +1,15 @@
 package com.backend.Features.ServiceHistory.controller;
 
 
+import com.backend.Export.services.NdjsonExporter;
 import com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse;
 import com.backend.Features.ServiceHistory.service.ServiceHistoryService;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,16 +18,36 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ServiceHistoryController {
     private final ServiceHistoryService serviceHistoryService;
+    private final KeysetPagination pagination;
 
     @GetMapping("/customer/{customerID}")
-    public ResponseEntity<List<ServiceHistoryResponse>> getServiceHistoryByCustomer(@PathVariable int customerID) {
-        List<ServiceHistoryResponse> history = serviceHistoryService.getServiceHistoryByCustomer(customerID);
-        return ResponseEntity.ok(history);
+    public ResponseEntity<?> getServiceHistoryByCustomer(@PathVariable int customerID, PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<ServiceHistoryResponse> history = serviceHistoryService.getServiceHistoryByCustomer(customerID);
+            return ResponseEntity.ok(history);
+        }
+        return ResponseEntity.ok(serviceHistoryService.getServiceHistoryByCustomer(customerID, pagination.resolve(page)));
     }
 
     @GetMapping("/provider/{providerID}")
-    public ResponseEntity<List<ServiceHistoryResponse>> getServiceHistoryByProvider(@PathVariable int providerID) {
-        List<ServiceHistoryResponse> history = serviceHistoryService.getServiceHistoryByProvider(providerID);
-        return ResponseEntity.ok(history);
+    public ResponseEntity<?> getServiceHistoryByProvider(@PathVariable int providerID, PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<ServiceHistoryResponse> history = serviceHistoryService.getServiceHistoryByProvider(providerID);
+            return ResponseEntity.ok(history);
+        }
+        return ResponseEntity.ok(serviceHistoryService.getServiceHistoryByProvider(providerID, pagination.resolve(page)));
+    }
+
+    // Whole histories as NDJSON, written as they are read
+    @GetMapping("/customer/{customerID}/export")
+    public ResponseEntity<StreamingResponseBody> exportServiceHistoryByCustomer(@PathVariable int customerID) {
+        return ResponseEntity.ok().contentType(NdjsonExporter.APPLICATION_NDJSON)
+                .body(serviceHistoryService.exportServiceHistoryByCustomer(customerID));
+    }
+
+    @GetMapping("/provider/{providerID}/export")
+    public ResponseEntity<StreamingResponseBody> exportServiceHistoryByProvider(@PathVariable int providerID) {
+        return ResponseEntity.ok().contentType(NdjsonExporter.APPLICATION_NDJSON)
+                .body(serviceHistoryService.exportServiceHistoryByProvider(providerID));
     }
 }
@@ -18,19 +18,19 @@ public class ServiceHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int historyID;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customerID", referencedColumnName = "customerID", nullable = false)
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "providerID", referencedColumnName = "providerID", nullable = false)
     private ServiceProvider provider;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "serviceID", referencedColumnName = "serviceID", nullable = false)
     private ServiceClass service;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bookingID", referencedColumnName = "bookingID", nullable = false)
     private Booking booking;
 
@@ -1,11 +1,33 @@
 package com.backend.Features.ServiceHistory.repository;
 
+import com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse;
 import com.backend.Features.ServiceHistory.entity.ServiceHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface ServiceHistoryRepository extends JpaRepository<ServiceHistory, Integer> {
-    List<ServiceHistory> findByCustomerCustomerID(int customerID);
-    List<ServiceHistory> findByProviderProviderID(int providerID);
+    // List views read straight into the response DTO; no entities enter the persistence context
+    String RESPONSE_SELECT = "SELECT new com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse(" +
+            "h.historyID, h.customer.customerID, h.provider.providerID, h.service.serviceID, h.serviceDate) " +
+            "FROM ServiceHistory h ";
+
+    @Query(RESPONSE_SELECT + "WHERE h.customer.customerID = :customerID")
+    List<ServiceHistoryResponse> findResponsesByCustomerID(int customerID);
+
+    @Query(RESPONSE_SELECT + "WHERE h.provider.providerID = :providerID")
+    List<ServiceHistoryResponse> findResponsesByProviderID(int providerID);
+
+    // Whole histories for the NDJSON export
+    String EXPORT_BY_CUSTOMER_QUERY = RESPONSE_SELECT + "WHERE h.customer.customerID = :customerID ORDER BY h.historyID";
+    String EXPORT_BY_PROVIDER_QUERY = RESPONSE_SELECT + "WHERE h.provider.providerID = :providerID ORDER BY h.historyID";
+
+    // Keyset pages in historyID order; pass 0 to start and the last historyID seen to continue
+    @Query(RESPONSE_SELECT + "WHERE h.customer.customerID = :customerID AND h.historyID > :after ORDER BY h.historyID")
+    List<ServiceHistoryResponse> findResponsesByCustomerIDAfter(int customerID, int after, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE h.provider.providerID = :providerID AND h.historyID > :after ORDER BY h.historyID")
+    List<ServiceHistoryResponse> findResponsesByProviderIDAfter(int providerID, int after, Limit limit);
 }
\ No newline at end of file
@@ -1,36 +1,48 @@
 package com.backend.Features.ServiceHistory.service;
 
+import com.backend.Export.services.NdjsonExporter;
 import com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse;
-import com.backend.Features.ServiceHistory.entity.ServiceHistory;
 import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ServiceHistoryService {
     private final ServiceHistoryRepository serviceHistoryRepository;
+    private final NdjsonExporter ndjsonExporter;
 
     public List<ServiceHistoryResponse> getServiceHistoryByCustomer(int customerID) {
-        List<ServiceHistory> history = serviceHistoryRepository.findByCustomerCustomerID(customerID);
-        return history.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return serviceHistoryRepository.findResponsesByCustomerID(customerID);
     }
 
     public List<ServiceHistoryResponse> getServiceHistoryByProvider(int providerID) {
-        List<ServiceHistory> history = serviceHistoryRepository.findByProviderProviderID(providerID);
-        return history.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return serviceHistoryRepository.findResponsesByProviderID(providerID);
     }
 
-    private ServiceHistoryResponse mapToResponse(ServiceHistory serviceHistory) {
-        return new ServiceHistoryResponse(
-                serviceHistory.getHistoryID(),
-                serviceHistory.getCustomer().getCustomerID(),
-                serviceHistory.getProvider().getProviderID(),
-                serviceHistory.getService().getServiceID(),
-                serviceHistory.getServiceDate()
-        );
+    public CursorPage<ServiceHistoryResponse> getServiceHistoryByCustomer(int customerID, Keyset keyset) {
+        return keyset.page(serviceHistoryRepository.findResponsesByCustomerIDAfter(customerID, keyset.after(), keyset.fetchLimit()),
+                ServiceHistoryResponse::getHistoryID);
+    }
+
+    public CursorPage<ServiceHistoryResponse> getServiceHistoryByProvider(int providerID, Keyset keyset) {
+        return keyset.page(serviceHistoryRepository.findResponsesByProviderIDAfter(providerID, keyset.after(), keyset.fetchLimit()),
+                ServiceHistoryResponse::getHistoryID);
+    }
+
+    public StreamingResponseBody exportServiceHistoryByCustomer(int customerID) {
+        return ndjsonExporter.stream(ServiceHistoryRepository.EXPORT_BY_CUSTOMER_QUERY, ServiceHistoryResponse.class,
+                Map.of("customerID", customerID));
+    }
+
+    public StreamingResponseBody exportServiceHistoryByProvider(int providerID) {
+        return ndjsonExporter.stream(ServiceHistoryRepository.EXPORT_BY_PROVIDER_QUERY, ServiceHistoryResponse.class,
+                Map.of("providerID", providerID));
     }
 }
@@ -1,9 +1,13 @@
 package com.backend.Features.ServiceProvider.controller;
 
+import com.backend.Caching.services.CatalogCache;
+import com.backend.Caching.services.CatalogTags;
 import com.backend.Features.ServiceProvider.dto.ServiceProviderDTO;
-import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
 import com.backend.Features.ServiceProvider.service.ServiceProviderService;
-import com.backend.User.entities.User;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,20 +19,22 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ServiceProviderController {
     private final ServiceProviderService serviceProviderService;
+    private final KeysetPagination pagination;
+    private final CatalogCache catalogCache;
 
     @PostMapping("/create")
-    public ResponseEntity<ServiceProvider> createServiceProvider(
+    public ResponseEntity<ServiceProviderResponse> createServiceProvider(
             @RequestBody ServiceProviderDTO serviceProviderDTO) {
 
-        ServiceProvider serviceProvider = serviceProviderService.createServiceProvider(
+        ServiceProviderResponse serviceProvider = serviceProviderService.createServiceProvider(
                 serviceProviderDTO, serviceProviderDTO.getUserID());
         return ResponseEntity.ok(serviceProvider);
     }
 
 
     @PutMapping("update/{providerID}")
-    public ResponseEntity<ServiceProvider> updateServiceProvider(@PathVariable int providerID, @RequestBody ServiceProviderDTO serviceProviderDTO) {
-        ServiceProvider serviceProvider = serviceProviderService.updateServiceProvider(providerID, serviceProviderDTO);
+    public ResponseEntity<ServiceProviderResponse> updateServiceProvider(@PathVariable int providerID, @RequestBody ServiceProviderDTO serviceProviderDTO) {
+        ServiceProviderResponse serviceProvider = serviceProviderService.updateServiceProvider(providerID, serviceProviderDTO);
         return ResponseEntity.ok(serviceProvider);
     }
 
@@ -39,21 +45,25 @@ public class ServiceProviderController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ServiceProvider> getServiceProviderById(@PathVariable int id) {
-        ServiceProvider serviceProvider = serviceProviderService.getServiceProviderById(id);
-        return ResponseEntity.ok(serviceProvider);
+    public ResponseEntity<ServiceProviderResponse> getServiceProviderById(@PathVariable int id) {
+        ServiceProviderResponse serviceProvider = catalogCache.getProvider(id);
+        return ResponseEntity.ok().eTag(CatalogTags.provider(serviceProvider)).body(serviceProvider);
     }
 
     @GetMapping
-    public ResponseEntity<List<ServiceProvider>> getAllServiceProviders() {
-        List<ServiceProvider> serviceProviders = serviceProviderService.getAllServiceProviders();
-        return ResponseEntity.ok(serviceProviders);
+    public ResponseEntity<?> getAllServiceProviders(PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<ServiceProviderResponse> serviceProviders = serviceProviderService.getAllServiceProviders();
+            return ResponseEntity.ok(serviceProviders);
+        }
+        CursorPage<ServiceProviderResponse> serviceProviders = serviceProviderService.getAllServiceProviders(pagination.resolve(page));
+        return ResponseEntity.ok().eTag(CatalogTags.providers(serviceProviders)).body(serviceProviders);
     }
 
     @GetMapping("/by-user/{userID}")
-    public ResponseEntity<ServiceProvider> getServiceProviderByUserId(@PathVariable int userID) {
-        ServiceProvider serviceProvider = serviceProviderService.getServiceProviderByUserId(userID);
-        return ResponseEntity.ok(serviceProvider);
+    public ResponseEntity<ServiceProviderResponse> getServiceProviderByUserId(@PathVariable int userID) {
+        ServiceProviderResponse serviceProvider = serviceProviderService.getServiceProviderByUserId(userID);
+        return ResponseEntity.ok().eTag(CatalogTags.provider(serviceProvider)).body(serviceProvider);
     }
 
 
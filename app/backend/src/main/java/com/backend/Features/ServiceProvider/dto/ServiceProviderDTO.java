@@ -9,6 +9,8 @@ public class ServiceProviderDTO {
     private String businessName;
     private String serviceCategory;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private String about;
     private String phoneNumber;
     private String businessEmail;
@@ -56,6 +58,22 @@ public class ServiceProviderDTO {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getAbout() {
         return about;
     }
@@ -0,0 +1,203 @@
+package com.backend.Features.ServiceProvider.dto;
+
+import com.backend.Features.Rating.dto.RatingSummary;
+
+import java.time.LocalDateTime;
+
+public class ServiceProviderResponse {
+    private int providerID;
+    private Owner user;
+    private String businessName;
+    private String serviceCategory;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private String about;
+    private String phoneNumber;
+    private String businessEmail;
+    private String website;
+    private boolean verified;
+    private int version;
+    private LocalDateTime createdAt;
+    private RatingSummary rating;
+
+    // The public face of the user who owns the provider, as shown next to its listing
+    public static class Owner {
+        private int userID;
+        private String name;
+        private String surname;
+        private String email;
+        private String picUrl;
+
+        public Owner() {
+        }
+
+        public Owner(int userID, String name, String surname, String email, String picUrl) {
+            this.userID = userID;
+            this.name = name;
+            this.surname = surname;
+            this.email = email;
+            this.picUrl = picUrl;
+        }
+
+        public int getUserID() {
+            return userID;
+        }
+
+        public void setUserID(int userID) {
+            this.userID = userID;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getSurname() {
+            return surname;
+        }
+
+        public void setSurname(String surname) {
+            this.surname = surname;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getPicUrl() {
+            return picUrl;
+        }
+
+        public void setPicUrl(String picUrl) {
+            this.picUrl = picUrl;
+        }
+    }
+
+    public int getProviderID() {
+        return providerID;
+    }
+
+    public void setProviderID(int providerID) {
+        this.providerID = providerID;
+    }
+
+    public Owner getUser() {
+        return user;
+    }
+
+    public void setUser(Owner user) {
+        this.user = user;
+    }
+
+    public String getBusinessName() {
+        return businessName;
+    }
+
+    public void setBusinessName(String businessName) {
+        this.businessName = businessName;
+    }
+
+    public String getServiceCategory() {
+        return serviceCategory;
+    }
+
+    public void setServiceCategory(String serviceCategory) {
+        this.serviceCategory = serviceCategory;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getAbout() {
+        return about;
+    }
+
+    public void setAbout(String about) {
+        this.about = about;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getBusinessEmail() {
+        return businessEmail;
+    }
+
+    public void setBusinessEmail(String businessEmail) {
+        this.businessEmail = businessEmail;
+    }
+
+    public String getWebsite() {
+        return website;
+    }
+
+    public void setWebsite(String website) {
+        this.website = website;
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+
+    public void setVerified(boolean verified) {
+        this.verified = verified;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public RatingSummary getRating() {
+        return rating;
+    }
+
+    public void setRating(RatingSummary rating) {
+        this.rating = rating;
+    }
+}
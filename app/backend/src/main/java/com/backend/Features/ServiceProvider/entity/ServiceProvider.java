@@ -7,12 +7,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "service_providers")
+// Detail and list views show the provider's user; its role is eager, so it is fetched in the same join
+@NamedEntityGraph(name = ServiceProvider.WITH_USER,
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("roleType")))
 public class ServiceProvider {
+    public static final String WITH_USER = "ServiceProvider.withUser";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int providerID;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userID", referencedColumnName = "userID", unique = true, nullable = false)
     private User user;
 
@@ -25,6 +31,13 @@ public class ServiceProvider {
     @Column(name = "location", nullable = false)
     private String location;
 
+    // WGS84 degrees; both null until the provider sets them, and then they are not found by nearby search
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "about", nullable = false)
     private String about;
 
@@ -40,6 +53,11 @@ public class ServiceProvider {
     @Column(name = "verified", nullable = false)
     private boolean verified;
 
+    // Bumped on every update; feeds the ETags of the responses that show this row
+    @Version
+    @Column(name = "version", nullable = false)
+    private int version;
+
     @Column(name = "createdAt", nullable = false)
     private LocalDateTime createdAt;
 
@@ -100,6 +118,22 @@ public class ServiceProvider {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getAbout() {
         return about;
     }
@@ -140,6 +174,10 @@ public class ServiceProvider {
         this.verified = verified;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
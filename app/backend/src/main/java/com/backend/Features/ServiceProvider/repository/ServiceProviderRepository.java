@@ -1,10 +1,46 @@
 package com.backend.Features.ServiceProvider.repository;
 
+import com.backend.Features.Search.service.ProviderGeoPoint;
 import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ServiceProviderRepository extends JpaRepository<ServiceProvider, Integer> {
+    @EntityGraph(ServiceProvider.WITH_USER)
     Optional<ServiceProvider> findByUser_UserID(int userID);
+
+    // Owner edits change what cached provider responses show, so they need the provider to evict
+    @Query("SELECT p.providerID FROM ServiceProvider p WHERE p.user.userID = :userID")
+    Optional<Integer> findProviderIDByUserID(int userID);
+
+    @EntityGraph(ServiceProvider.WITH_USER)
+    Optional<ServiceProvider> findWithUserByProviderID(int providerID);
+
+    @EntityGraph(ServiceProvider.WITH_USER)
+    List<ServiceProvider> findWithUserByProviderIDIn(Collection<Integer> providerIDs);
+
+    @EntityGraph(ServiceProvider.WITH_USER)
+    @Query("SELECT p FROM ServiceProvider p")
+    List<ServiceProvider> findAllWithUser();
+
+    // Keyset pages in providerID order; pass 0 to start and the last providerID seen to continue
+    @EntityGraph(ServiceProvider.WITH_USER)
+    List<ServiceProvider> findByProviderIDGreaterThanOrderByProviderID(int after, Limit limit);
+
+    // Nearby search points: located providers only
+    String GEO_POINT_SELECT = "SELECT new com.backend.Features.Search.service.ProviderGeoPoint(" +
+            "p.providerID, p.latitude, p.longitude, p.serviceCategory) FROM ServiceProvider p " +
+            "WHERE p.latitude IS NOT NULL AND p.longitude IS NOT NULL ";
+
+    @Query(GEO_POINT_SELECT + "AND p.providerID > :after ORDER BY p.providerID")
+    List<ProviderGeoPoint> findGeoPointsAfter(int after, Limit limit);
+
+    @Query(GEO_POINT_SELECT + "AND p.providerID = :providerID")
+    Optional<ProviderGeoPoint> findGeoPointByProviderID(int providerID);
 }
@@ -1,71 +1,172 @@
 package com.backend.Features.ServiceProvider.service;
 
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Rating.service.RatingAggregateService;
+import com.backend.Features.Search.service.CatalogChangedEvent;
 import com.backend.Features.ServiceProvider.dto.ServiceProviderDTO;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
 import com.backend.Features.ServiceProvider.entity.ServiceProvider;
 import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import com.backend.User.entities.User;
 import com.backend.User.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ServiceProviderService {
     private final ServiceProviderRepository serviceProviderRepository;
     private final UserRepository userRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ServiceProvider createServiceProvider(ServiceProviderDTO serviceProviderDTO, int userId) {
+    @Transactional
+    public ServiceProviderResponse createServiceProvider(ServiceProviderDTO serviceProviderDTO, int userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
 
+        checkCoordinates(serviceProviderDTO);
         ServiceProvider serviceProvider = new ServiceProvider();
         serviceProvider.setUser(user);
         serviceProvider.setBusinessName(serviceProviderDTO.getBusinessName());
         serviceProvider.setServiceCategory(serviceProviderDTO.getServiceCategory());
         serviceProvider.setLocation(serviceProviderDTO.getLocation());
+        serviceProvider.setLatitude(serviceProviderDTO.getLatitude());
+        serviceProvider.setLongitude(serviceProviderDTO.getLongitude());
         serviceProvider.setAbout(serviceProviderDTO.getAbout());
         serviceProvider.setPhoneNumber(serviceProviderDTO.getPhoneNumber());
         serviceProvider.setBusinessEmail(serviceProviderDTO.getBusinessEmail());
         serviceProvider.setWebsite(serviceProviderDTO.getWebsite());
         serviceProvider.setVerified(serviceProviderDTO.isVerified());
 
-        return serviceProviderRepository.save(serviceProvider);
+        ServiceProvider savedProvider = serviceProviderRepository.save(serviceProvider);
+        RatingSummary rating = ratingAggregateService.initialise(RatingAggregate.Subject.PROVIDER, savedProvider.getProviderID());
+        eventPublisher.publishEvent(CatalogChangedEvent.provider(savedProvider.getProviderID()));
+        return mapToServiceProviderResponse(savedProvider, rating);
     }
 
 
-    public ServiceProvider updateServiceProvider(int id, ServiceProviderDTO serviceProviderDTO) {
-        ServiceProvider serviceProvider = serviceProviderRepository.findById(id)
+    @Transactional
+    public ServiceProviderResponse updateServiceProvider(int id, ServiceProviderDTO serviceProviderDTO) {
+        ServiceProvider serviceProvider = serviceProviderRepository.findWithUserByProviderID(id)
                 .orElseThrow(() -> new RuntimeException("ServiceProvider not found"));
+        checkCoordinates(serviceProviderDTO);
         serviceProvider.setBusinessName(serviceProviderDTO.getBusinessName());
         serviceProvider.setServiceCategory(serviceProviderDTO.getServiceCategory());
         serviceProvider.setLocation(serviceProviderDTO.getLocation());
+        serviceProvider.setLatitude(serviceProviderDTO.getLatitude());
+        serviceProvider.setLongitude(serviceProviderDTO.getLongitude());
         serviceProvider.setAbout(serviceProviderDTO.getAbout());
         serviceProvider.setPhoneNumber(serviceProviderDTO.getPhoneNumber());
         serviceProvider.setBusinessEmail(serviceProviderDTO.getBusinessEmail());
         serviceProvider.setWebsite(serviceProviderDTO.getWebsite());
         serviceProvider.setVerified(serviceProviderDTO.isVerified());
-        return serviceProviderRepository.save(serviceProvider);
+        // Flushed so that the response carries the bumped version
+        ServiceProvider updatedProvider = serviceProviderRepository.saveAndFlush(serviceProvider);
+        // Business name, category and location are searched as part of every service, and the
+        // coordinates and category by nearby search
+        eventPublisher.publishEvent(CatalogChangedEvent.provider(id));
+        return withRating(updatedProvider);
     }
 
     public void deleteServiceProvider(int id) {
         serviceProviderRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.provider(id));
     }
 
-    public ServiceProvider getServiceProviderById(int id) {
-        return serviceProviderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("ServiceProvider not found"));
+    @Transactional(readOnly = true)
+    public ServiceProviderResponse getServiceProviderById(int id) {
+        return withRating(serviceProviderRepository.findWithUserByProviderID(id)
+                .orElseThrow(() -> new RuntimeException("ServiceProvider not found")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceProviderResponse> getAllServiceProviders() {
+        return withRatings(serviceProviderRepository.findAllWithUser());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceProviderResponse> getAllServiceProviders(Keyset keyset) {
+        CursorPage<ServiceProvider> page = keyset.page(
+                serviceProviderRepository.findByProviderIDGreaterThanOrderByProviderID(keyset.after(), keyset.fetchLimit()),
+                ServiceProvider::getProviderID);
+        return new CursorPage<>(withRatings(page.getItems()), page.getNextCursor());
+    }
+
+    // In the order given; IDs that no longer exist are skipped
+    @Transactional(readOnly = true)
+    public List<ServiceProviderResponse> getServiceProvidersByIds(List<Integer> ids) {
+        Map<Integer, ServiceProvider> providers = serviceProviderRepository.findWithUserByProviderIDIn(ids).stream()
+                .collect(Collectors.toMap(ServiceProvider::getProviderID, Function.identity()));
+        return withRatings(ids.stream()
+                .filter(providers::containsKey)
+                .map(providers::get)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public ServiceProviderResponse getServiceProviderByUserId(int userID) {
+        return withRating(serviceProviderRepository.findByUser_UserID(userID)
+                .orElseThrow(() -> new RuntimeException("ServiceProvider not found for User ID: " + userID)));
+    }
+
+    // Coordinates come as a pair of WGS84 degrees, or not at all
+    private static void checkCoordinates(ServiceProviderDTO serviceProviderDTO) {
+        Double latitude = serviceProviderDTO.getLatitude();
+        Double longitude = serviceProviderDTO.getLongitude();
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (latitude != null && (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180))) {
+            throw new IllegalArgumentException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
+    private ServiceProviderResponse withRating(ServiceProvider provider) {
+        return mapToServiceProviderResponse(provider,
+                ratingAggregateService.getSummary(RatingAggregate.Subject.PROVIDER, provider.getProviderID()));
     }
 
-    public List<ServiceProvider> getAllServiceProviders() {
-        return serviceProviderRepository.findAll();
+    // One rating query for the whole list
+    private List<ServiceProviderResponse> withRatings(List<ServiceProvider> providers) {
+        Map<Integer, RatingSummary> ratings = ratingAggregateService.getSummaries(RatingAggregate.Subject.PROVIDER,
+                providers.stream().map(ServiceProvider::getProviderID).toList());
+        return providers.stream()
+                .map(provider -> mapToServiceProviderResponse(provider, ratings.get(provider.getProviderID())))
+                .collect(Collectors.toList());
     }
 
-    public ServiceProvider getServiceProviderByUserId(int userID) {
-        return serviceProviderRepository.findByUser_UserID(userID)
-                .orElseThrow(() -> new RuntimeException("ServiceProvider not found for User ID: " + userID));
+    // Runs inside the read's transaction, so the user it touches is the one the entity graph fetched
+    private ServiceProviderResponse mapToServiceProviderResponse(ServiceProvider provider, RatingSummary rating) {
+        User user = provider.getUser();
+        ServiceProviderResponse response = new ServiceProviderResponse();
+        response.setProviderID(provider.getProviderID());
+        response.setUser(new ServiceProviderResponse.Owner(user.getUserID(), user.getName(), user.getSurname(),
+                user.getEmail(), user.getPicUrl()));
+        response.setBusinessName(provider.getBusinessName());
+        response.setServiceCategory(provider.getServiceCategory());
+        response.setLocation(provider.getLocation());
+        response.setLatitude(provider.getLatitude());
+        response.setLongitude(provider.getLongitude());
+        response.setAbout(provider.getAbout());
+        response.setPhoneNumber(provider.getPhoneNumber());
+        response.setBusinessEmail(provider.getBusinessEmail());
+        response.setWebsite(provider.getWebsite());
+        response.setVerified(provider.isVerified());
+        response.setVersion(provider.getVersion());
+        response.setCreatedAt(provider.getCreatedAt());
+        response.setRating(rating);
+        return response;
     }
 
 }
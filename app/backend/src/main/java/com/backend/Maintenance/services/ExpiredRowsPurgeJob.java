@@ -0,0 +1,49 @@
+package com.backend.Maintenance.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hourly purge of every table with expiring rows.
+ */
+@Service
+public class ExpiredRowsPurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredRowsPurgeJob.class);
+
+    static final PurgeTarget BLACKLISTED_TOKENS = new PurgeTarget("blacklisted_tokens", "expiresAt");
+    static final PurgeTarget PASSWORD_RESET_TOKENS = new PurgeTarget("password_reset_token", "expiryDate");
+
+    // Leaf tables only; a plain DELETE on users would cascade and skip the principal cache
+    private static final List<PurgeTarget> TARGETS = List.of(BLACKLISTED_TOKENS, PASSWORD_RESET_TOKENS);
+
+    private final ExpiryPurger expiryPurger;
+    private final UnverifiedUserPurger unverifiedUserPurger;
+
+    public ExpiredRowsPurgeJob(ExpiryPurger expiryPurger, UnverifiedUserPurger unverifiedUserPurger) {
+        this.expiryPurger = expiryPurger;
+        this.unverifiedUserPurger = unverifiedUserPurger;
+    }
+
+    @Scheduled(cron = "${app.maintenance.purge.cron:0 0 * * * *}") // Run every hour by default
+    public void purgeExpiredRows() {
+        LocalDateTime now = LocalDateTime.now();
+        for (PurgeTarget target : TARGETS) {
+            // One failing table must not keep the others from being cleaned
+            try {
+                expiryPurger.purge(target, now);
+            } catch (RuntimeException e) {
+                logger.error("Purge of {} failed", target.table(), e);
+            }
+        }
+        try {
+            unverifiedUserPurger.purge(now);
+        } catch (RuntimeException e) {
+            logger.error("Purge of unverified users failed", e);
+        }
+    }
+}
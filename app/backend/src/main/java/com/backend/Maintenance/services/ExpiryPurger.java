@@ -0,0 +1,89 @@
+package com.backend.Maintenance.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes expired rows in bounded batches instead of one unbounded DELETE.
+ * Each batch runs as its own auto-committed statement, so row locks are held only for one
+ * batch and replicas apply the purge as a series of small transactions. A short pause between
+ * batches leaves room for regular traffic.
+ */
+@Component
+public class ExpiryPurger {
+    private static final Logger logger = LoggerFactory.getLogger(ExpiryPurger.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public ExpiryPurger(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.maintenance.purge.batch-size:1000}") int batchSize,
+            @Value("${app.maintenance.purge.pause-ms:100}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // Returns the number of rows deleted; stops early if the thread is interrupted
+    public long purge(PurgeTarget target, LocalDateTime cutoff) {
+        String sql = target.deleteBatchSql();
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        return purgeInBatches(target.table(), () -> jdbcTemplate.update(sql, cutoffTimestamp, batchSize));
+    }
+
+    /**
+     * Runs {@code deleteBatch} until it removes fewer than {@link #batchSize()} rows, pausing between
+     * batches, and reports the total like {@link #purge}. For purges that are more than one DELETE.
+     */
+    public long purgeInBatches(String table, IntSupplier deleteBatch) {
+        Counter deletedRows = Counter.builder("purge.rows")
+                .tag("table", table)
+                .description("Expired rows removed by the chunked purge")
+                .register(meterRegistry);
+
+        long startedAt = System.nanoTime();
+        long total = 0;
+        int batches = 0;
+        while (true) {
+            int deleted = deleteBatch.getAsInt();
+            total += deleted;
+            deletedRows.increment(deleted);
+            batches++;
+            if (deleted < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Purge of {} interrupted after {} rows", table, total);
+                break;
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        double rowsPerSecond = elapsedMillis == 0 ? total : total * 1000.0 / elapsedMillis;
+        logger.info("Purged {} expired rows from {} in {} batches, {} ms ({} rows/s)",
+                total, table, batches, elapsedMillis, String.format("%.1f", rowsPerSecond));
+        return total;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+}
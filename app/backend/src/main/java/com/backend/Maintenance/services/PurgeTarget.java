@@ -0,0 +1,25 @@
+package com.backend.Maintenance.services;
+
+/**
+ * A table whose rows expire, described for {@link ExpiryPurger}.
+ * All parts are spliced into SQL verbatim, so they must be compile-time constants, never user input.
+ *
+ * @param table        table name
+ * @param expiryColumn indexed column holding the expiry timestamp; rows at or before the cutoff are deleted
+ * @param condition    extra predicate ANDed to the range, or null
+ */
+public record PurgeTarget(String table, String expiryColumn, String condition) {
+
+    public PurgeTarget(String table, String expiryColumn) {
+        this(table, expiryColumn, null);
+    }
+
+    // MySQL single-table DELETE honours ORDER BY ... LIMIT, so each batch walks the expiry index
+    String deleteBatchSql() {
+        return "DELETE FROM " + table
+                + " WHERE " + expiryColumn + " <= ?"
+                + (condition == null ? "" : " AND " + condition)
+                + " ORDER BY " + expiryColumn
+                + " LIMIT ?";
+    }
+}
@@ -0,0 +1,73 @@
+package com.backend.Maintenance.services;
+
+import com.backend.User.services.PrincipalCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Removes registrations whose verification link expired without being used. Deleting a user would
+ * cascade into its customer or provider row and everything below it, so the rows are removed here
+ * explicitly instead: each batch deletes the users' reset tokens, their bare customer rows and the
+ * users themselves in one transaction, and evicts their cached principals once it commits. Users
+ * with a provider row or any booking, review or history are left alone; an unverified account
+ * cannot sign in, so there should be none.
+ */
+@Component
+public class UnverifiedUserPurger {
+
+    private static final String SELECT_BATCH = "SELECT u.userID, u.email FROM users u " +
+            "WHERE u.enabled = FALSE AND u.verificationTokenExpiry <= ? " +
+            "AND NOT EXISTS (SELECT 1 FROM service_providers p WHERE p.userID = u.userID) " +
+            "AND NOT EXISTS (SELECT 1 FROM customers c JOIN bookings b ON b.customerID = c.customerID WHERE c.userID = u.userID) " +
+            "AND NOT EXISTS (SELECT 1 FROM customers c JOIN reviews r ON r.customerID = c.customerID WHERE c.userID = u.userID) " +
+            "AND NOT EXISTS (SELECT 1 FROM customers c JOIN service_history h ON h.customerID = c.customerID WHERE c.userID = u.userID) " +
+            "ORDER BY u.verificationTokenExpiry LIMIT ? FOR UPDATE";
+
+    private record Candidate(int userID, String email) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PrincipalCache principalCache;
+    private final ExpiryPurger expiryPurger;
+
+    public UnverifiedUserPurger(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PrincipalCache principalCache,
+            ExpiryPurger expiryPurger) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.principalCache = principalCache;
+        this.expiryPurger = expiryPurger;
+    }
+
+    // Returns the number of users deleted
+    public long purge(LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        return expiryPurger.purgeInBatches("users", () -> transactionTemplate.execute(status -> deleteBatch(cutoffTimestamp)));
+    }
+
+    private int deleteBatch(Timestamp cutoff) {
+        List<Candidate> candidates = jdbcTemplate.query(SELECT_BATCH,
+                (rs, row) -> new Candidate(rs.getInt("userID"), rs.getString("email")), cutoff, expiryPurger.batchSize());
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Object[] ids = candidates.stream().map(Candidate::userID).toArray();
+        String in = "(" + String.join(",", Collections.nCopies(ids.length, "?")) + ")";
+        jdbcTemplate.update("DELETE FROM password_reset_token WHERE userID IN " + in, ids);
+        jdbcTemplate.update("DELETE FROM customers WHERE userID IN " + in, ids);
+        int deleted = jdbcTemplate.update("DELETE FROM users WHERE userID IN " + in, ids);
+        // Also evicted again after commit, see PrincipalCache.evict
+        candidates.forEach(candidate -> principalCache.evict(candidate.email()));
+        return deleted;
+    }
+}
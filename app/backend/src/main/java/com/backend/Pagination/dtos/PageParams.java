@@ -0,0 +1,36 @@
+package com.backend.Pagination.dtos;
+
+/**
+ * Paging query parameters shared by every list endpoint: {@code ?cursor=&limit=&unpaged=}.
+ * Bound from the query string; an absent cursor means the first page.
+ */
+public class PageParams {
+
+    private String cursor;
+    private Integer limit;
+    private boolean unpaged;
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean isUnpaged() {
+        return unpaged;
+    }
+
+    public void setUnpaged(boolean unpaged) {
+        this.unpaged = unpaged;
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.Pagination.services;
+
+import com.backend.Exceptions.services.InvalidPageRequestException;
+import com.backend.Pagination.dtos.CursorPage;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Position and size of a keyset page: rows whose primary key is greater than {@code after},
+ * in primary-key order. Repositories fetch one row more than the page size so the page knows
+ * whether another one follows without a count query.
+ *
+ * Cursors are opaque to clients: a versioned, URL-safe encoding of the last key returned.
+ */
+public record Keyset(int after, int limit) {
+
+    private static final String CURSOR_PREFIX = "k1:";
+
+    public Limit fetchLimit() {
+        return Limit.of(limit + 1);
+    }
+
+    public <T> CursorPage<T> page(List<T> fetched, ToIntFunction<? super T> keyOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), encode(keyOf.applyAsInt(items.get(limit - 1))));
+    }
+
+    static String encode(int key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static int decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                int key = Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+                if (key >= 0) {
+                    return key;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException too
+        }
+        throw new InvalidPageRequestException("Invalid cursor");
+    }
+}
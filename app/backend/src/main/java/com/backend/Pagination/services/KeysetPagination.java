@@ -0,0 +1,50 @@
+package com.backend.Pagination.services;
+
+import com.backend.Exceptions.services.InvalidPageRequestException;
+import com.backend.Pagination.dtos.PageParams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the paging query parameters of a list endpoint into a {@link Keyset}.
+ * Page sizes default to {@code default-limit} and are capped at {@code max-limit}. The legacy
+ * unpaged response is only served when the client asks for it with {@code unpaged=true} and
+ * {@code allow-unpaged} is on.
+ */
+@Component
+public class KeysetPagination {
+
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final boolean allowUnpaged;
+
+    public KeysetPagination(
+            @Value("${app.pagination.default-limit:50}") int defaultLimit,
+            @Value("${app.pagination.max-limit:200}") int maxLimit,
+            @Value("${app.pagination.allow-unpaged:true}") boolean allowUnpaged) {
+        this.defaultLimit = Math.min(defaultLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.allowUnpaged = allowUnpaged;
+    }
+
+    public boolean isUnpaged(PageParams params) {
+        if (!params.isUnpaged()) {
+            return false;
+        }
+        if (!allowUnpaged) {
+            throw new InvalidPageRequestException("Unpaged lists are disabled; use cursor and limit");
+        }
+        return true;
+    }
+
+    public Keyset resolve(PageParams params) {
+        Integer requested = params.getLimit();
+        if (requested != null && requested < 1) {
+            throw new InvalidPageRequestException("limit must be at least 1");
+        }
+        int limit = requested == null ? defaultLimit : Math.min(requested, maxLimit);
+        String cursor = params.getCursor();
+        int after = cursor == null || cursor.isBlank() ? 0 : Keyset.decode(cursor);
+        return new Keyset(after, limit);
+    }
+}
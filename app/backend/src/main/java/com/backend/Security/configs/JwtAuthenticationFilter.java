@@ -2,7 +2,10 @@ package com.backend.Security.configs;
 
 
 import com.backend.Security.services.JwtServiceImpl;
+import com.backend.Security.services.ParsedToken;
 import com.backend.Security.services.TokenBlacklistService;
+import com.backend.Security.services.VerifiedTokenCache;
+import com.backend.User.services.PrincipalCache;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,9 +14,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -30,16 +35,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtServiceImpl jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final PrincipalCache principalCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // When enabled, principals are built from verified token claims instead of being loaded per request
+    private final boolean trustedClaims;
 
 
     public JwtAuthenticationFilter(
             JwtServiceImpl jwtService,
             UserDetailsService userDetailsService,
-            TokenBlacklistService tokenBlacklistService
+            TokenBlacklistService tokenBlacklistService,
+            PrincipalCache principalCache,
+            VerifiedTokenCache verifiedTokenCache,
+            @Value("${app.security.trusted-claims.enabled:false}") boolean trustedClaims
     ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.principalCache = principalCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.trustedClaims = trustedClaims;
     }
 
 
@@ -144,10 +160,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (jwt != null) {
                 try {
-                    String userEmail = jwtService.extractUsername(jwt);
-                    if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                        if (jwtService.isTokenValid(jwt, userDetails)) {
+                    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                        // Claims are decoded once here and reused by every check below
+                        ParsedToken token = resolveToken(jwt);
+                        UserDetails userDetails = token == null ? null : trustedClaims
+                                ? resolveFromClaims(token)
+                                : resolveFromUserDetailsService(token);
+                        if (userDetails != null) {
                             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                     userDetails,
                                     null,
@@ -168,4 +187,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         }
     }
-}
\ No newline at end of file
+
+    // Cache hits skip signature verification and the blacklist lookup; blacklisting evicts the entry
+    private ParsedToken resolveToken(String jwt) {
+        ParsedToken token = verifiedTokenCache.get(jwt);
+        if (token != null) {
+            return token;
+        }
+
+        token = jwtService.parse(jwt);
+        if (token.isRefreshToken()) {
+            logger.debug("Refresh token presented as an access token");
+            return null;
+        }
+        if (tokenBlacklistService.isBlacklisted(token)) {
+            logger.debug("Token is blacklisted");
+            return null;
+        }
+        verifiedTokenCache.put(token);
+        return token;
+    }
+
+    private UserDetails resolveFromUserDetailsService(ParsedToken token) {
+        String userEmail = token.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        return jwtService.isTokenValid(token, userDetails) ? userDetails : null;
+    }
+
+    // Signature and expiry are verified while parsing; subject and role are then taken as-is,
+    // unless the principal changed after the token was issued (see PrincipalCache.epochOf)
+    private UserDetails resolveFromClaims(ParsedToken token) {
+        String userEmail = token.getSubject();
+        String role = token.getRole();
+        Long epoch = token.getEpoch();
+
+        if (userEmail == null) {
+            return null;
+        }
+        if (role == null || epoch == null || epoch < principalCache.epochOf(userEmail)) {
+            logger.debug("Token for {} predates its principal epoch, reloading user", userEmail);
+            return resolveFromUserDetailsService(token);
+        }
+
+        return User.withUsername(userEmail)
+                .password("")
+                .authorities(role)
+                .build();
+    }
+}
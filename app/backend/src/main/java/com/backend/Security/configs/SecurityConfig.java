@@ -1,5 +1,6 @@
 package com.backend.Security.configs;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -54,13 +55,19 @@ public class SecurityConfig {
 
                             "/api/v1/service-providers",
                             "/api/v1/service-providers/{id}",
+                            "/api/v1/service-providers/nearby",
 
                             "/api/v1/services",
                             "/api/v1/services/{serviceID}",
-                            "/api/v1/services/provider/{providerID}"
+                            "/api/v1/services/provider/{providerID}",
+                            "/api/v1/services/search"
                     ).permitAll();
 //                    auth.requestMatchers("/api/v1/users/by-email/{email}").hasAnyAuthority("ROLE_CUSTOMER", "ROLE_VENDOR", "ROLE_ADMIN");
 
+                    // Streamed responses finish on an async dispatch; the request itself was authorised already
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+
+                    auth.requestMatchers("/api/v1/users/export").hasAuthority("ROLE_ADMIN");
                     auth.requestMatchers("/api/v1/customers/admin/**").hasAuthority("ROLE_ADMIN");
                     auth.requestMatchers("/api/v1/customers/user/{userID}").hasAuthority("ROLE_CUSTOMER");
 
@@ -84,6 +91,8 @@ public class SecurityConfig {
                     auth.requestMatchers("/api/v1/service-providers/update/**").hasAuthority("ROLE_VENDOR");
                     auth.requestMatchers("/api/v1/service-providers/delete/**").hasAuthority("ROLE_VENDOR");
 
+                    auth.requestMatchers("/api/v1/availability/working-hours/update/**").hasAuthority("ROLE_VENDOR");
+
 //                    auth.requestMatchers("/error").permitAll();
 
                     auth.anyRequest().authenticated();
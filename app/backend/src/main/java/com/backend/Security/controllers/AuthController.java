@@ -5,6 +5,7 @@ import com.backend.Security.dtos.*;
 import com.backend.Exceptions.security.UserAlreadyExistsException;
 import com.backend.Security.services.AuthService;
 import com.backend.Security.services.JwtService;
+import com.backend.Security.services.ParsedToken;
 import com.backend.Security.services.PasswordService;
 import com.backend.Security.services.TokenBlacklistService;
 import com.backend.User.entities.User;
@@ -35,6 +36,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
@@ -70,27 +72,23 @@ public class AuthController {
     }
 
 
+    // Returns the future so the servlet thread is released while registration runs
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
-        try {
-            authService.register(request).join();
-            return ResponseEntity.ok()
-                    .body(Map.of("message", "Registration successful. Please check your email for verification."));
-
-        } catch (CompletionException e) {
-            if (e.getCause() instanceof UserAlreadyExistsException) {
-                return ResponseEntity
-                        .status(HttpStatus.CONFLICT)
-                        .body(Map.of("error", "An account with this email already exists. Please sign in or use another email address."));
-            }
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Registration failed: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+                .<ResponseEntity<?>>thenApply(ignored -> ResponseEntity.ok()
+                        .body(Map.of("message", "Registration successful. Please check your email for verification.")))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof UserAlreadyExistsException) {
+                        return ResponseEntity
+                                .status(HttpStatus.CONFLICT)
+                                .body(Map.of("error", "An account with this email already exists. Please sign in or use another email address."));
+                    }
+                    return ResponseEntity
+                            .status(HttpStatus.BAD_REQUEST)
+                            .body(Map.of("error", String.valueOf(cause.getMessage())));
+                });
     }
 
     @GetMapping("/verify")
@@ -243,12 +241,12 @@ public class AuthController {
         }
 
         try {
-            // Extract username from refresh token
-            String username = jwtService.extractUsername(refreshToken);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Parse the refresh token once and reuse its claims
+            ParsedToken parsedToken = jwtService.parse(refreshToken);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(parsedToken.getSubject());
 
             // Validate refresh token
-            if (jwtService.isTokenValid(refreshToken, userDetails)) {
+            if (jwtService.isTokenValid(parsedToken, userDetails)) {
                 // Generate new access token
                 String newAccessToken = jwtService.generateToken(userDetails);
 
@@ -4,6 +4,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -11,9 +13,12 @@ import java.time.LocalDateTime;
 @Table(name = "blacklisted_tokens")
 public class BlacklistedToken {
 
+    // SHA-256 of the raw JWT, URL-safe Base64 without padding (see TokenDigest). Distinct digests can
+    // differ only in case, so the MySQL column is ascii_bin; the collation lives in db/MySQL only
     @Id
-    @Column(nullable = false, name = "token")
-    private String token;
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(nullable = false, name = "tokenHash", length = 43)
+    private String tokenHash;
 
     @Column(name = "blacklistedAt", nullable = false)
     private LocalDateTime blacklistedAt;
@@ -24,18 +29,18 @@ public class BlacklistedToken {
     public BlacklistedToken() {
     }
 
-    public BlacklistedToken(String token, LocalDateTime blacklistedAt, LocalDateTime expiresAt) {
-        this.token = token;
+    public BlacklistedToken(String tokenHash, LocalDateTime blacklistedAt, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
         this.blacklistedAt = blacklistedAt;
         this.expiresAt = expiresAt;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public LocalDateTime getBlacklistedAt() {
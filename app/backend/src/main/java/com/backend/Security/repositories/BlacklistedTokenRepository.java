@@ -1,8 +1,8 @@
 package com.backend.Security.repositories;
 
 import com.backend.Security.entities.BlacklistedToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -11,10 +11,9 @@ import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, String> {
-    @Query("SELECT b FROM BlacklistedToken b WHERE b.expiresAt > :now")
-    List<BlacklistedToken> findAllValidTokens(LocalDateTime now);
+    // Keyset page over the primary key; pass "" to start and the last tokenHash seen to continue
+    @Query("SELECT b FROM BlacklistedToken b WHERE b.expiresAt > :now AND b.tokenHash > :after ORDER BY b.tokenHash")
+    List<BlacklistedToken> findValidTokensAfter(String after, LocalDateTime now, Limit limit);
 
-    @Modifying
-    @Query("DELETE FROM BlacklistedToken b WHERE b.expiresAt <= :now")
-    void deleteExpiredTokens(LocalDateTime now);
-}
\ No newline at end of file
+    boolean existsByTokenHashAndExpiresAtAfter(String tokenHash, LocalDateTime now);
+}
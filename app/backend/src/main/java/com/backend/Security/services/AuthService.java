@@ -2,6 +2,8 @@ package com.backend.Security.services;
 
 import com.backend.Features.Customer.entity.Customer;
 import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Features.Search.service.CatalogChangedEvent;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
 import com.backend.Security.dtos.LoginRequest;
 import com.backend.Security.dtos.RegisterRequest;
 import com.backend.Exceptions.security.UserAlreadyExistsException;
@@ -11,10 +13,12 @@ import com.backend.User.entities.User;
 import com.backend.User.enums.RoleType;
 import com.backend.User.repositories.RoleRepository;
 import com.backend.User.repositories.UserRepository;
+import com.backend.User.services.PrincipalCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -41,6 +45,10 @@ public class AuthService {
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
     private final CustomerRepository customerRepository;
+    private final PrincipalCache principalCache;
+    private final AuthTaskExecutor authTaskExecutor;
+    private final ServiceProviderRepository serviceProviderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.verification.token.expiration-minutes:10080}")
     private long verificationTokenExpirationMinutes;
@@ -52,25 +60,24 @@ public class AuthService {
     private String baseUrl;
 
     public CompletableFuture<Void> register(RegisterRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
+        return authTaskExecutor.<Void>supply("register", () -> {
             validateRegistrationRequest(request);
             Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
 
+            User user;
             if (existingUser.isPresent()) {
-                return handleExistingUser(existingUser.get(), request);
-            }
-
-            User newUser = createNewUser(request);
+                user = handleExistingUser(existingUser.get(), request);
+            } else {
+                user = createNewUser(request);
 
-            if (request.getRoleType().equals(RoleType.CUSTOMER)) {
-                createCustomer(newUser);
+                if (request.getRoleType().equals(RoleType.CUSTOMER)) {
+                    createCustomer(user);
+                }
             }
 
-            return newUser;
-        }).thenAcceptAsync(user -> {
-            if (user != null) {
-                sendVerificationEmail(user);
-            }
+            // Part of the task so it stays on the auth executor; the email is only queued, so this is cheap
+            sendVerificationEmail(user);
+            return null;
         }).exceptionally(ex -> {
             log.error("Error during registration", ex); // Add this line to log the exception
             Throwable cause = ex.getCause();
@@ -104,6 +111,7 @@ public class AuthService {
         int attempts = existingUser.getVerificationAttempts() + 1;
         if (attempts > maxVerificationAttempts) {
             userRepository.delete(existingUser);
+            principalCache.evict(existingUser.getEmail());
             throw new RuntimeException("Maximum verification attempts exceeded. Please register again.");
         }
 
@@ -118,7 +126,12 @@ public class AuthService {
         existingUser.setVerificationToken(token);
         existingUser.setVerificationTokenExpiry(LocalDateTime.now().plusMinutes(verificationTokenExpirationMinutes));
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        principalCache.evict(savedUser.getEmail());
+        // Cached provider responses carry the owner's name and picture
+        serviceProviderRepository.findProviderIDByUserID(savedUser.getUserID())
+                .ifPresent(providerID -> eventPublisher.publishEvent(CatalogChangedEvent.provider(providerID)));
+        return savedUser;
     }
 
     private User createNewUser(RegisterRequest request) {
@@ -174,6 +187,7 @@ public class AuthService {
 
         if (LocalDateTime.now().isAfter(user.getVerificationTokenExpiry())) {
             userRepository.delete(user);
+            principalCache.evict(user.getEmail());
             throw new RuntimeException("Verification token expired. Please register again.");
         }
 
@@ -182,10 +196,13 @@ public class AuthService {
         user.setVerificationTokenExpiry(null);
         user.setVerificationAttempts(0);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
 
         log.info("User email verified: {}", user.getEmail());
     }
 
+    // The unverified path throws after saving the new token and queueing its email; both must still commit
+    @Transactional(dontRollbackOn = UserNotVerifiedException.class)
     public String login(LoginRequest request) {
         try {
             User user = userRepository.findByEmail(request.getEmail())
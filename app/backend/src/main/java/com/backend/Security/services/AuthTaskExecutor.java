@@ -0,0 +1,96 @@
+package com.backend.Security.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking auth work (JDBC, password hashing, mail enqueueing) on virtual threads
+ * instead of {@code ForkJoinPool.commonPool()}.
+ *
+ * Each task gets its own virtual thread, but at most {@code max-concurrency} run at once so a
+ * registration burst queues here rather than exhausting the JDBC connection pool. Queue depth,
+ * active tasks, queue wait and run time are published as {@code auth.executor.*} metrics.
+ *
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, so Spring Boot's default
+ * application task executor is left in place.
+ */
+@Component
+public class AuthTaskExecutor {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("auth-io-", 0).factory());
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+
+    public AuthTaskExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.executor.max-concurrency:32}") int maxConcurrency) {
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrency);
+
+        Gauge.builder("auth.executor.queued", queued, AtomicInteger::get)
+                .description("Auth tasks waiting for a free slot")
+                .register(meterRegistry);
+        Gauge.builder("auth.executor.active", active, AtomicInteger::get)
+                .description("Auth tasks currently running")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("auth.executor.queue.wait")
+                .description("Time from submission until an auth task starts running")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> supply(String operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                queued.decrementAndGet();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to run " + operation, e);
+            }
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            long startedAt = System.nanoTime();
+            queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+            String outcome = "error";
+            try {
+                T result = task.get();
+                outcome = "success";
+                return result;
+            } finally {
+                active.decrementAndGet();
+                permits.release();
+                Timer.builder("auth.executor.duration")
+                        .description("Run time of auth tasks")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
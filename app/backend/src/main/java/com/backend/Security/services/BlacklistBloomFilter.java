@@ -0,0 +1,158 @@
+package com.backend.Security.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter of blacklisted token digests, consulted before Redis.
+ * A negative answer is definitive, so the vast majority of lookups (tokens that were never
+ * revoked) never leave the JVM; only probable positives go to Redis for confirmation.
+ *
+ * Bloom filters cannot delete, so expired entries are aged out by rebuilding a fresh filter
+ * from the still-valid rows and swapping it in. Digests added while a rebuild is running are
+ * written to both generations so nothing is lost in the swap. Until the first build completes
+ * every lookup is reported as a possible hit.
+ */
+@Component
+public class BlacklistBloomFilter {
+
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile Bits current;
+    private volatile Bits building;
+    private volatile boolean ready;
+
+    private final Counter redisAvoided;
+    private final Counter probablePositives;
+    private final Counter falsePositives;
+
+    public BlacklistBloomFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.blacklist-bloom.expected-insertions:100000}") long expectedInsertions,
+            @Value("${app.security.blacklist-bloom.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.current = new Bits(expectedInsertions, falsePositiveProbability);
+
+        this.redisAvoided = Counter.builder("blacklist.bloom.lookups")
+                .tag("result", "negative")
+                .description("Blacklist lookups answered locally without a Redis round trip")
+                .register(meterRegistry);
+        this.probablePositives = Counter.builder("blacklist.bloom.lookups")
+                .tag("result", "positive")
+                .description("Blacklist lookups forwarded to Redis")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("blacklist.bloom.false.positives")
+                .description("Probable positives that Redis did not confirm")
+                .register(meterRegistry);
+        Gauge.builder("blacklist.bloom.false.positive.rate", this, BlacklistBloomFilter::observedFalsePositiveRate)
+                .description("Share of forwarded lookups that turned out not to be blacklisted")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(byte[] digest) {
+        if (!ready) {
+            return true;
+        }
+        if (current.mightContain(digest)) {
+            probablePositives.increment();
+            return true;
+        }
+        redisAvoided.increment();
+        return false;
+    }
+
+    // Synchronized with the generation swap so an add can never land only in the retiring filter
+    public synchronized void add(byte[] digest) {
+        current.put(digest);
+        Bits next = building;
+        if (next != null) {
+            next.put(digest);
+        }
+    }
+
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    // Starts a new generation; digests passed to add() from now on land in both filters
+    public synchronized void beginRebuild() {
+        building = new Bits(expectedInsertions, falsePositiveProbability);
+    }
+
+    public void addToRebuild(byte[] digest) {
+        Bits next = building;
+        if (next != null) {
+            next.put(digest);
+        }
+    }
+
+    public synchronized void completeRebuild() {
+        if (building != null) {
+            current = building;
+            building = null;
+        }
+        ready = true;
+    }
+
+    public synchronized void abortRebuild() {
+        building = null;
+    }
+
+    private double observedFalsePositiveRate() {
+        double forwarded = probablePositives.count();
+        return forwarded == 0 ? 0.0 : falsePositives.count() / forwarded;
+    }
+
+    // Fixed-size bit set with k probes derived from the digest by double hashing
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        Bits(long expectedInsertions, double falsePositiveProbability) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        void put(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong();
+            long h2 = buffer.getLong();
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long previous;
+                do {
+                    previous = words.get(word);
+                } while ((previous & mask) == 0 && !words.compareAndSet(word, previous, previous | mask));
+            }
+        }
+
+        boolean mightContain(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong();
+            long h2 = buffer.getLong();
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
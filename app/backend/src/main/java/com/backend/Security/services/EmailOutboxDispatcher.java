@@ -0,0 +1,217 @@
+package com.backend.Security.services;
+
+import com.backend.Security.entities.EmailOutboxMessage;
+import com.backend.Security.repositories.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued {@link EmailOutboxMessage}s with a small, bounded pool of workers.
+ *
+ * A worker claims a batch of due rows (SKIP LOCKED, so nodes never share a row), pushes the
+ * lease forward and commits, then sends the whole batch over a single SMTP connection outside
+ * any transaction. Failed messages are retried with exponential backoff and moved to DEAD once
+ * they run out of attempts. A worker that dies mid-send simply lets the lease lapse, after which
+ * the row is claimed again.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final long retryBaseSeconds;
+    private final long retryMaxSeconds;
+
+    private final ExecutorService workers;
+    // One permit per worker; a wake-up only submits a drain when a worker is free
+    private final Semaphore idleWorkers;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.mail.username}") String fromEmail,
+            @Value("${app.mail.outbox.workers:2}") int workerCount,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.lease-seconds:120}") long leaseSeconds,
+            @Value("${app.mail.outbox.retry-base-seconds:30}") long retryBaseSeconds,
+            @Value("${app.mail.outbox.retry-max-seconds:3600}") long retryMaxSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.retryMaxSeconds = retryMaxSeconds;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.idleWorkers = new Semaphore(workerCount);
+    }
+
+    public void wakeUp() {
+        if (!idleWorkers.tryAcquire()) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    drain();
+                } finally {
+                    idleWorkers.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            idleWorkers.release();
+            logger.warn("Could not start an email outbox worker", e);
+        }
+    }
+
+    // Picks up retries, rows whose lease lapsed and anything enqueued while all workers were busy
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    private void drain() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // Full batch: there may be more due rows
+            }
+        } catch (RuntimeException e) {
+            logger.error("Email outbox worker failed; remaining messages wait for the next poll", e);
+        }
+    }
+
+    // Claims, sends and records one batch; returns the number of messages claimed
+    int dispatchBatch() {
+        List<EmailOutboxMessage> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<EmailOutboxMessage, Exception> failures = send(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutboxMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                message.setStatus(EmailOutboxMessage.Status.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else {
+                recordFailure(message, failure, now);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+
+        logger.info("Email outbox batch: {} sent, {} failed", batch.size() - failures.size(), failures.size());
+        return batch.size();
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                    EmailOutboxMessage.Status.PENDING, now, Limit.of(batchSize));
+            for (EmailOutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return due;
+        });
+    }
+
+    // Sends the batch over one connection; returns the messages that failed, by identity
+    private Map<EmailOutboxMessage, Exception> send(List<EmailOutboxMessage> batch) {
+        Map<SimpleMailMessage, EmailOutboxMessage> byMail = new IdentityHashMap<>();
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(fromEmail);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mails[i] = mail;
+            byMail.put(mail, message);
+        }
+
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            // Per-message failures are keyed by the SimpleMailMessage we passed in
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(message -> failures.put(message, e));
+            }
+            e.getFailedMessages().forEach((mail, cause) -> {
+                EmailOutboxMessage message = byMail.get(mail);
+                if (message != null) {
+                    failures.put(message, cause);
+                }
+            });
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing in the batch went out
+            batch.forEach(message -> failures.put(message, e));
+        }
+        return failures;
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        String error = String.valueOf(failure.getMessage());
+        message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.DEAD);
+            logger.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+            return;
+        }
+
+        // 30s, 60s, 120s, ... capped at retryMaxSeconds
+        long backoff = Math.min(retryMaxSeconds, retryBaseSeconds << Math.min(message.getAttempts() - 1, 20));
+        message.setNextAttemptAt(now.plusSeconds(backoff));
+        logger.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}",
+                message.getId(), message.getRecipient(), message.getAttempts(), backoff, error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
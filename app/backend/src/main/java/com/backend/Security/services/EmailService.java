@@ -1,42 +1,53 @@
 package com.backend.Security.services;
 
+import com.backend.Security.entities.EmailOutboxMessage;
+import com.backend.Security.repositories.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Queues outgoing mail in the email_outbox table; {@link EmailOutboxDispatcher} delivers it.
+ * Messages join the caller's transaction, so an email is sent only if the change that
+ * triggered it commits.
+ */
 @Service
+@Transactional
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
 
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
 
     public void sendVerificationEmail(String to, String verificationLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Email Verification");
-        message.setText("Please click on the link below to verify your email:\n" + verificationLink);
-        mailSender.send(message);
+        enqueue(to, "Email Verification",
+                "Please click on the link below to verify your email:\n" + verificationLink);
     }
 
     public void sendPasswordResetEmail(String to, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Password Reset Request");
-        message.setText("To reset your password, click the link below:\n\n" +
+        enqueue(to, "Password Reset Request",
+                "To reset your password, click the link below:\n\n" +
                 frontendUrl + "/reset-password/" + token);
-        mailSender.send(message);
     }
-}
 
+    public void enqueue(String to, String subject, String text) {
+        outboxRepository.save(new EmailOutboxMessage(to, subject, text));
 
+        // Wake a worker once the row is visible rather than waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -12,6 +12,8 @@ public interface JwtService {
     String generateRefreshToken(UserDetails userDetails);
     String extractUsername(String token);
     boolean isTokenValid(String token, UserDetails userDetails);
+    boolean isTokenValid(ParsedToken token, UserDetails userDetails);
+    ParsedToken parse(String token);
     boolean isTokenExpired(String token);
     UserDetails validateTokenAndGetUserDetails(String token);
     long getRefreshTokenExpiration();
@@ -2,11 +2,13 @@ package com.backend.Security.services;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,6 +20,7 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -25,6 +28,11 @@ import java.util.function.Function;
 //@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String EPOCH_CLAIM = "epoch";
+    public static final String TYPE_CLAIM = "type";
+    public static final String REFRESH_TYPE = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -36,18 +44,30 @@ public class JwtServiceImpl implements JwtService {
 
     private final UserDetailsService userDetailsService;
 
+    // Built once at startup; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser jwtParser;
+
     public JwtServiceImpl(UserDetailsService userDetailsService) {
         this.userDetailsService = userDetailsService;
     }
 
+    @PostConstruct
+    public void init() {
+        this.signingKey = buildSignInKey();
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     // Add this method
     @Override
     public UserDetails validateTokenAndGetUserDetails(String token) {
         try {
-            String username = extractUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            ParsedToken parsedToken = parse(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(parsedToken.getSubject());
 
-            if (!isTokenValid(token, userDetails)) {
+            if (!isTokenValid(parsedToken, userDetails)) {
                 throw new RuntimeException("Invalid token");
             }
 
@@ -70,18 +90,24 @@ public class JwtServiceImpl implements JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        Instant now = Instant.now();
+
         // Add role-based claims
-        extraClaims.put("role", userDetails.getAuthorities().stream()
+        extraClaims.put(ROLE_CLAIM, userDetails.getAuthorities().stream()
                 .findFirst()
                 .map(Object::toString)
                 .orElse("ROLE_USER"));
 
+        // Millisecond issue time, compared against the principal epoch in trusted-claims mode
+        extraClaims.put(EPOCH_CLAIM, now.toEpochMilli());
+
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(Date.from(Instant.now().plusMillis(expiration)))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusMillis(expiration)))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -92,7 +118,7 @@ public class JwtServiceImpl implements JwtService {
 
     public String generateRefreshToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put(TYPE_CLAIM, REFRESH_TYPE);
         return generateToken(claims, userDetails, refreshTokenExpiration);
     }
 
@@ -100,14 +126,7 @@ public class JwtServiceImpl implements JwtService {
     // Token validation with enhanced logging and error handling
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-
-            if (!isValid) {
-                log.warn("Invalid token for user: {}", username);
-            }
-
-            return isValid;
+            return isTokenValid(parse(token), userDetails);
         } catch (SignatureException e) {
             log.error("JWT signature validation failed", e);
             return false;
@@ -120,6 +139,25 @@ public class JwtServiceImpl implements JwtService {
         }
     }
 
+    // Validation against claims that were already decoded for this request
+    @Override
+    public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+        final String username = token.getSubject();
+        boolean isValid = username != null && username.equals(userDetails.getUsername()) && !token.isExpired();
+
+        if (!isValid) {
+            log.warn("Invalid token for user: {}", username);
+        }
+
+        return isValid;
+    }
+
+    // Verify the signature and decode the claims once; expired tokens surface as ExpiredJwtException
+    @Override
+    public ParsedToken parse(String token) {
+        return new ParsedToken(token, extractAllClaims(token));
+    }
+
     // Extract username with error handling
     public String extractUsername(String token) {
         try {
@@ -161,9 +199,7 @@ public class JwtServiceImpl implements JwtService {
     // Extract all claims with improved security
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -178,8 +214,8 @@ public class JwtServiceImpl implements JwtService {
         }
     }
 
-    // Get signing key
-    private Key getSignInKey() {
+    // Decode the signing key
+    private Key buildSignInKey() {
         try {
             byte[] keyBytes = Decoders.BASE64.decode(secretKey);
             return Keys.hmacShaKeyFor(keyBytes);
@@ -0,0 +1,74 @@
+package com.backend.Security.services;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature has been verified and whose claims have been decoded exactly once.
+ * Produced by {@link JwtService#parse(String)} and handed to every consumer of the same
+ * request, so the filter, validation and blacklisting never re-parse the raw string.
+ */
+public final class ParsedToken {
+
+    private final String token;
+    private final Claims claims;
+
+    // Computed on first use; racing threads derive the same value
+    private volatile String digestKey;
+
+    ParsedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public String getDigestKey() {
+        String key = digestKey;
+        if (key == null) {
+            key = TokenDigest.key(token);
+            digestKey = key;
+        }
+        return key;
+    }
+
+    // The jti claim; null for tokens issued before it was added
+    public String getId() {
+        return claims.getId();
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public String getRole() {
+        return claims.get(JwtServiceImpl.ROLE_CLAIM, String.class);
+    }
+
+    // Null for tokens issued before the epoch claim existed
+    public Long getEpoch() {
+        Object epoch = claims.get(JwtServiceImpl.EPOCH_CLAIM);
+        return epoch instanceof Number number ? number.longValue() : null;
+    }
+
+    // Refresh tokens share the signing key and claims of access tokens but only the refresh endpoint may accept them
+    public boolean isRefreshToken() {
+        return JwtServiceImpl.REFRESH_TYPE.equals(claims.get(JwtServiceImpl.TYPE_CLAIM, String.class));
+    }
+
+    public boolean isExpired() {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
+    }
+}
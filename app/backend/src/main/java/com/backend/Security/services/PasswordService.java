@@ -4,6 +4,7 @@ import com.backend.Security.entities.PasswordResetToken;
 import com.backend.Security.repositories.PasswordResetTokenRepository;
 import com.backend.User.entities.User;
 import com.backend.User.repositories.UserRepository;
+import com.backend.User.services.PrincipalCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -17,15 +18,18 @@ public class PasswordService {
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
 
     public PasswordService(UserRepository userRepository,
                            PasswordResetTokenRepository tokenRepository,
                            PasswordEncoder passwordEncoder,
-                           EmailService emailService) {
+                           EmailService emailService,
+                           PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
+        this.principalCache = principalCache;
     }
 
     //
@@ -61,6 +65,7 @@ public class PasswordService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
         tokenRepository.delete(resetToken);
+        principalCache.evict(user.getEmail());
     }
 
     // Method to change password
@@ -76,6 +81,7 @@ public class PasswordService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
     }
 }
 
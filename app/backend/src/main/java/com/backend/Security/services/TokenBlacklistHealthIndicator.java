@@ -0,0 +1,28 @@
+package com.backend.Security.services;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether the blacklist warm-up has finished. Revocation checks are correct either way, so the
+ * node stays UP; until the warm-up ends, a Bloom filter hit missing from Redis also queries the database.
+ */
+@Component
+public class TokenBlacklistHealthIndicator implements HealthIndicator {
+
+    private final TokenBlacklistService tokenBlacklistService;
+
+    public TokenBlacklistHealthIndicator(TokenBlacklistService tokenBlacklistService) {
+        this.tokenBlacklistService = tokenBlacklistService;
+    }
+
+    @Override
+    public Health health() {
+        boolean warmedUp = tokenBlacklistService.isWarmedUp();
+        return Health.up()
+                .withDetail("warmedUp", warmedUp)
+                .withDetail("lookups", warmedUp ? "redis" : "redis, falling back to the database")
+                .build();
+    }
+}
@@ -2,68 +2,202 @@ package com.backend.Security.services;
 
 import com.backend.Security.entities.BlacklistedToken;
 import com.backend.Security.repositories.BlacklistedTokenRepository;
-import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 @Service
 public class TokenBlacklistService {
     private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
     private static final String REDIS_PREFIX = "blacklisted_token:";
+    private static final String REVOCATION_CHANNEL = "blacklisted_token:revoked";
+    private static final long PROGRESS_INTERVAL = 50_000;
 
     private final RedisTemplate<String, String> redisTemplate;
     private final BlacklistedTokenRepository tokenRepository;
     private final JwtServiceImpl jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final BlacklistBloomFilter bloomFilter;
+    private final int batchSize;
+
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+    private volatile boolean warmedUp;
 
     public TokenBlacklistService(
             RedisTemplate<String, String> redisTemplate,
             BlacklistedTokenRepository tokenRepository,
-            JwtServiceImpl jwtService) {
+            JwtServiceImpl jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            BlacklistBloomFilter bloomFilter,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.security.blacklist-warmup.batch-size:1000}") int batchSize) {
         this.redisTemplate = redisTemplate;
         this.tokenRepository = tokenRepository;
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.bloomFilter = bloomFilter;
+        this.batchSize = batchSize;
+
+        // Revocations made on other nodes must reach this node's Bloom filter and token cache
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRevoked(new String(message.getBody(), StandardCharsets.US_ASCII)),
+                new ChannelTopic(REVOCATION_CHANNEL)
+        );
+    }
+
+    // Runs once the application is up, so a large revocation table never delays startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!warmUpStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform()
+                .name("blacklist-warmup")
+                .daemon()
+                .start(this::initializeRedisFromDatabase);
+    }
 
-        initializeRedisFromDatabase();
+    public boolean isWarmedUp() {
+        return warmedUp;
     }
 
-    @PostConstruct
-    public void initializeRedisFromDatabase() {
+    /**
+     * Streams every still-valid row in keyset pages, writing each page to Redis in a single
+     * pipeline and into a fresh Bloom filter generation. Safe to re-run: SET overwrites the
+     * same key with a fresh TTL and Bloom inserts are idempotent.
+     */
+    void initializeRedisFromDatabase() {
         logger.info("Initializing Redis blacklist from database...");
-        List<BlacklistedToken> validTokens = tokenRepository.findAllValidTokens(LocalDateTime.now());
+        long startedAt = System.nanoTime();
+        bloomFilter.beginRebuild();
+        try {
+            long loaded = forEachValidPage(page -> {
+                for (BlacklistedToken token : page) {
+                    bloomFilter.addToRebuild(TokenDigest.fromKey(token.getTokenHash()));
+                }
+                writePage(page);
+            }, count -> logger.info("Blacklist warm-up progress: {} tokens loaded", count));
+            bloomFilter.completeRebuild();
+            warmedUp = true;
+            logger.info("Initialized {} tokens in Redis in {} ms",
+                    loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (RuntimeException e) {
+            bloomFilter.abortRebuild();
+            warmUpStarted.set(false);
+            logger.error("Blacklist warm-up failed; lookups fall back to the database until the next attempt", e);
+        }
+    }
 
-        for (BlacklistedToken token : validTokens) {
-            long ttlMillis = ChronoUnit.MILLIS.between(
-                    LocalDateTime.now(),
-                    token.getExpiresAt()
-            );
+    private void writePage(List<BlacklistedToken> page) {
+        LocalDateTime now = LocalDateTime.now();
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        byte[] value = serializer.serialize("blacklisted");
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (BlacklistedToken token : page) {
+                long ttlMillis = ChronoUnit.MILLIS.between(now, token.getExpiresAt());
+                if (ttlMillis > 0) {
+                    connection.stringCommands().set(
+                            serializer.serialize(REDIS_PREFIX + token.getTokenHash()),
+                            value,
+                            Expiration.milliseconds(ttlMillis),
+                            RedisStringCommands.SetOption.upsert()
+                    );
+                }
+            }
+            return null;
+        });
+    }
 
-            if (ttlMillis > 0) {
-                redisTemplate.opsForValue().set(
-                        REDIS_PREFIX + token.getToken(),
-                        "blacklisted",
-                        ttlMillis,
-                        TimeUnit.MILLISECONDS
-                );
+    // Walks the valid rows page by page so the table is never held in memory at once; returns the row count
+    private long forEachValidPage(Consumer<List<BlacklistedToken>> pageConsumer, LongConsumer progress) {
+        LocalDateTime now = LocalDateTime.now();
+        String after = "";
+        long count = 0;
+        long nextReport = PROGRESS_INTERVAL;
+        while (true) {
+            List<BlacklistedToken> page = tokenRepository.findValidTokensAfter(after, now, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                return count;
+            }
+            pageConsumer.accept(page);
+            count += page.size();
+            if (count >= nextReport) {
+                progress.accept(count);
+                nextReport += PROGRESS_INTERVAL;
+            }
+            if (page.size() < batchSize) {
+                return count;
             }
+            after = page.get(page.size() - 1).getTokenHash();
+        }
+    }
+
+    // Rebuild the Bloom filter from still-valid rows so expired digests age out
+    @Scheduled(
+            initialDelayString = "${app.security.blacklist-bloom.rotation-ms:3600000}",
+            fixedDelayString = "${app.security.blacklist-bloom.rotation-ms:3600000}"
+    )
+    public void rotateBloomFilter() {
+        // The warm-up owns the rebuild until it has finished; retry it here if it failed
+        if (!warmedUp) {
+            startWarmUp();
+            return;
+        }
+        bloomFilter.beginRebuild();
+        try {
+            long rotated = forEachValidPage(page -> {
+                for (BlacklistedToken token : page) {
+                    bloomFilter.addToRebuild(TokenDigest.fromKey(token.getTokenHash()));
+                }
+            }, count -> { });
+            bloomFilter.completeRebuild();
+            logger.info("Rotated blacklist Bloom filter with {} tokens", rotated);
+        } catch (RuntimeException e) {
+            bloomFilter.abortRebuild();
+            logger.error("Blacklist Bloom filter rotation failed, keeping the current generation", e);
         }
-        logger.info("Initialized {} tokens in Redis", validTokens.size());
     }
 
     @Transactional
     public void blacklistToken(String token) {
+        blacklistToken(jwtService.parse(token));
+    }
+
+    @Transactional
+    public void blacklistToken(ParsedToken parsedToken) {
+        String digestKey = parsedToken.getDigestKey();
+
+        // Stop serving the token from the local verification cache straight away
+        verifiedTokenCache.evictDigest(digestKey);
+
         // Extract token expiration
-        Date expirationDate = jwtService.extractExpiration(token);
+        Date expirationDate = parsedToken.getExpiration();
         LocalDateTime expiresAt = expirationDate.toInstant()
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
@@ -75,38 +209,81 @@ public class TokenBlacklistService {
         );
 
         if (ttlMillis > 0) {
-            // Save to Redis
+            // Save to Redis, keyed by the fixed-size digest rather than the full token
             redisTemplate.opsForValue().set(
-                    REDIS_PREFIX + token,
+                    REDIS_PREFIX + digestKey,
                     "blacklisted",
                     ttlMillis,
                     TimeUnit.MILLISECONDS
             );
 
+            // A request that verified the token before the Redis write may have re-cached it
+            verifiedTokenCache.evictDigest(digestKey);
+
             // Save to Database
             BlacklistedToken blacklistedToken = new BlacklistedToken(
-                    token,
+                    digestKey,
                     LocalDateTime.now(),
                     expiresAt
             );
             tokenRepository.save(blacklistedToken);
 
-            logger.info("Token blacklisted in both Redis and database");
+            // Added only once the row is committed, so a concurrent rotation either reads it or sees the add
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publishRevocation(digestKey);
+                    }
+                });
+            } else {
+                publishRevocation(digestKey);
+            }
+
+            logger.info("Token {} blacklisted in both Redis and database", parsedToken.getId());
         }
     }
 
     public boolean isBlacklisted(String token) {
-        return Boolean.TRUE.equals(
-                redisTemplate.hasKey(REDIS_PREFIX + token)
+        byte[] digest = TokenDigest.sha256(token);
+        return isBlacklisted(digest, TokenDigest.key(digest));
+    }
+
+    public boolean isBlacklisted(ParsedToken token) {
+        String digestKey = token.getDigestKey();
+        return isBlacklisted(TokenDigest.fromKey(digestKey), digestKey);
+    }
+
+    private boolean isBlacklisted(byte[] digest, String digestKey) {
+        // Definitive local negative for tokens that were never revoked
+        if (!bloomFilter.mightContain(digest)) {
+            return false;
+        }
+
+        boolean blacklisted = Boolean.TRUE.equals(
+                redisTemplate.hasKey(REDIS_PREFIX + digestKey)
         );
+        if (!blacklisted && !warmedUp) {
+            // Redis may not hold every row yet, so the database stays authoritative until warm-up ends
+            return tokenRepository.existsByTokenHashAndExpiresAtAfter(digestKey, LocalDateTime.now());
+        }
+        if (!blacklisted) {
+            bloomFilter.recordFalsePositive();
+        }
+        return blacklisted;
     }
 
-    // Cleanup job to remove expired tokens from database
-    @Scheduled(cron = "0 0 * * * *") // Run every hour
-    @Transactional
-    public void cleanupExpiredTokens() {
-        logger.info("Running cleanup job for expired tokens");
-        tokenRepository.deleteExpiredTokens(LocalDateTime.now());
+    private void publishRevocation(String digestKey) {
+        onRevoked(digestKey);
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, digestKey);
+        } catch (RuntimeException e) {
+            logger.warn("Could not publish token revocation; other nodes will pick it up on the next rotation", e);
+        }
     }
-}
 
+    private void onRevoked(String digestKey) {
+        bloomFilter.add(TokenDigest.fromKey(digestKey));
+        verifiedTokenCache.evictDigest(digestKey);
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.Security.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Fixed-size SHA-256 digests of raw token strings, used wherever a token has to be
+ * looked up or stored without keeping the full JWT around.
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // 43-character URL-safe form, suitable as a map, Redis or primary key
+    public static String key(String token) {
+        return key(sha256(token));
+    }
+
+    public static String key(byte[] digest) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    public static byte[] fromKey(String key) {
+        return Base64.getUrlDecoder().decode(key);
+    }
+}
@@ -0,0 +1,75 @@
+package com.backend.Security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Bounded cache of tokens that already passed signature verification and the blacklist check,
+ * keyed by the SHA-256 digest of the raw token. Lets repeat requests with the same cookie skip
+ * the HMAC and claims parse entirely. Each entry lives until the token's own expiry, capped by a
+ * maximum age so that revocations made on other nodes are picked up within that window.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.token-cache.max-size:50000}") long maxSize,
+            @Value("${app.security.token-cache.max-age-seconds:300}") long maxAgeSeconds) {
+        long maxAgeNanos = Duration.ofSeconds(maxAgeSeconds).toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, ParsedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, ParsedToken token, long currentTime) {
+                        Date expiration = token.getExpiration();
+                        if (expiration == null) {
+                            return 0;
+                        }
+                        long untilExpiry = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxAgeNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, ParsedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, ParsedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified_tokens");
+    }
+
+    public ParsedToken get(String token) {
+        return cache.getIfPresent(TokenDigest.key(token));
+    }
+
+    public void put(ParsedToken parsedToken) {
+        cache.put(parsedToken.getDigestKey(), parsedToken);
+    }
+
+    public void evict(String token) {
+        evictDigest(TokenDigest.key(token));
+    }
+
+    public void evictDigest(String digestKey) {
+        cache.invalidate(digestKey);
+    }
+}
@@ -1,7 +1,7 @@
 package com.backend.User.controllers;
 
 import com.backend.User.dtos.RoleDTO;
-import com.backend.User.entities.Role;
+import com.backend.User.dtos.RoleResponse;
 import com.backend.User.services.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,22 +19,22 @@ public class RoleController {
 
     // Create a new role
     @PostMapping("/admin")
-    public ResponseEntity<Role> createRole(@RequestBody RoleDTO roleDTO) {
-        Role role = roleService.createRole(roleDTO);
+    public ResponseEntity<RoleResponse> createRole(@RequestBody RoleDTO roleDTO) {
+        RoleResponse role = roleService.createRole(roleDTO);
         return ResponseEntity.ok(role);
     }
 
     // Get all roles
     @GetMapping("/admin")
-    public ResponseEntity<List<Role>> getAllRoles() {
-        List<Role> roles = roleService.getAllRoles();
+    public ResponseEntity<List<RoleResponse>> getAllRoles() {
+        List<RoleResponse> roles = roleService.getAllRoles();
         return ResponseEntity.ok(roles);
     }
 
     // Get a role by ID
     @GetMapping("/{roleID}")
-    public ResponseEntity<Role> getRoleByID(@PathVariable int roleID) {
-        Optional<Role> role = roleService.getRoleByID(roleID);
+    public ResponseEntity<RoleResponse> getRoleByID(@PathVariable int roleID) {
+        Optional<RoleResponse> role = roleService.getRoleByID(roleID);
         if (role.isPresent()) {
             return ResponseEntity.ok(role.get());
         } else {
@@ -44,8 +44,8 @@ public class RoleController {
 
     // Get a role by type
     @GetMapping("/role-type/{roleType}")
-    public ResponseEntity<Role> getRoleByType(@PathVariable com.backend.User.enums.RoleType roleType) {
-        Optional<Role> role = roleService.getRoleByType(roleType);
+    public ResponseEntity<RoleResponse> getRoleByType(@PathVariable com.backend.User.enums.RoleType roleType) {
+        Optional<RoleResponse> role = roleService.getRoleByType(roleType);
         if (role.isPresent()) {
             return ResponseEntity.ok(role.get());
         } else {
@@ -55,8 +55,8 @@ public class RoleController {
 
     // Update a role
     @PutMapping("/admin/{roleID}")
-    public ResponseEntity<Role> updateRole(@PathVariable int roleID, @RequestBody RoleDTO roleDTO) {
-        Role role = roleService.updateRole(roleID, roleDTO);
+    public ResponseEntity<RoleResponse> updateRole(@PathVariable int roleID, @RequestBody RoleDTO roleDTO) {
+        RoleResponse role = roleService.updateRole(roleID, roleDTO);
         return ResponseEntity.ok(role);
     }
 
@@ -1,12 +1,16 @@
 package com.backend.User.controllers;
 
+import com.backend.Export.services.NdjsonExporter;
+import com.backend.Pagination.dtos.PageParams;
+import com.backend.Pagination.services.KeysetPagination;
 import com.backend.User.dtos.UserDTO;
+import com.backend.User.dtos.UserResponse;
 import com.backend.User.dtos.UserUpdateDTO;
-import com.backend.User.entities.User;
 import com.backend.User.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,46 +22,58 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private KeysetPagination pagination;
+
     // Create a new user
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody UserDTO userDTO) {
-        User user = userService.createUser(userDTO);
+    public ResponseEntity<UserResponse> createUser(@RequestBody UserDTO userDTO) {
+        UserResponse user = userService.createUser(userDTO);
         return ResponseEntity.ok(user);
     }
 
     // Get all users
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(PageParams page) {
+        if (pagination.isUnpaged(page)) {
+            List<UserResponse> users = userService.getAllUsers();
+            return ResponseEntity.ok(users);
+        }
+        return ResponseEntity.ok(userService.getAllUsers(pagination.resolve(page)));
+    }
+
+    // Every user as NDJSON, written as it is read
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok().contentType(NdjsonExporter.APPLICATION_NDJSON).body(userService.exportUsers());
     }
 
     // Get a user by ID
     @GetMapping({"/{userID}"})
-    public ResponseEntity<User> getUserById(@PathVariable int userID) {
-        Optional<User> user = userService.getUserById(userID);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable int userID) {
+        Optional<UserResponse> user = userService.getUserById(userID);
         return user.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Get a user by email
     @GetMapping("/by-email/{email}")
-    public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
-        Optional<User> user = userService.getUserByEmail(email);
+    public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email) {
+        Optional<UserResponse> user = userService.getUserByEmail(email);
         return user.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Update a user
     @PutMapping("user/{userID}")
-    public ResponseEntity<User> updateUser(@PathVariable int userID, @RequestBody UserDTO userDTO) {
-        User updatedUser = userService.updateUser(userID, userDTO);
+    public ResponseEntity<UserResponse> updateUser(@PathVariable int userID, @RequestBody UserDTO userDTO) {
+        UserResponse updatedUser = userService.updateUser(userID, userDTO);
         return ResponseEntity.ok(updatedUser);
     }
 
     // Update user's name, surname and phone number only
     @PutMapping("/{userID}/basic-info")
-    public ResponseEntity<User> updateUserBasicInfo(@PathVariable int userID, @RequestBody UserUpdateDTO updateDTO) {
-        User updatedUser = userService.updateUserPartial(userID, updateDTO);
+    public ResponseEntity<UserResponse> updateUserBasicInfo(@PathVariable int userID, @RequestBody UserUpdateDTO updateDTO) {
+        UserResponse updatedUser = userService.updateUserPartial(userID, updateDTO);
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -28,6 +28,19 @@ public class UserDTO {
     @NotNull(message = "Role cannot be null.")
     private RoleType roleType;
 
+    public UserDTO() {
+    }
+
+    public UserDTO(int userID, String name, String surname, String phoneNumber, String email, String picUrl, RoleType roleType) {
+        this.userID = userID;
+        this.name = name;
+        this.surname = surname;
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+        this.picUrl = picUrl;
+        this.roleType = roleType;
+    }
+
     public int getUserID() {
         return userID;
     }
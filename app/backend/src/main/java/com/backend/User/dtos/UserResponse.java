@@ -0,0 +1,129 @@
+package com.backend.User.dtos;
+
+import com.backend.User.enums.RoleType;
+
+import java.time.LocalDateTime;
+
+// What the user endpoints send back; credentials and verification state stay on the entity
+public class UserResponse {
+    private int userID;
+    private String name;
+    private String surname;
+    private String phoneNumber;
+    private String email;
+    private String picUrl;
+    private boolean enabled;
+    private RoleSummary roleType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Nested so that clients keep reading roleType.roleType
+    public static class RoleSummary {
+        private int roleID;
+        private RoleType roleType;
+
+        public RoleSummary() {
+        }
+
+        public RoleSummary(int roleID, RoleType roleType) {
+            this.roleID = roleID;
+            this.roleType = roleType;
+        }
+
+        public int getRoleID() {
+            return roleID;
+        }
+
+        public void setRoleID(int roleID) {
+            this.roleID = roleID;
+        }
+
+        public RoleType getRoleType() {
+            return roleType;
+        }
+
+        public void setRoleType(RoleType roleType) {
+            this.roleType = roleType;
+        }
+    }
+
+    public int getUserID() {
+        return userID;
+    }
+
+    public void setUserID(int userID) {
+        this.userID = userID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public void setSurname(String surname) {
+        this.surname = surname;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPicUrl() {
+        return picUrl;
+    }
+
+    public void setPicUrl(String picUrl) {
+        this.picUrl = picUrl;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public RoleSummary getRoleType() {
+        return roleType;
+    }
+
+    public void setRoleType(RoleSummary roleType) {
+        this.roleType = roleType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
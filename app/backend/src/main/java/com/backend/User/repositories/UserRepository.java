@@ -1,16 +1,35 @@
 package com.backend.User.repositories;
 
 import com.backend.User.entities.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
     boolean existsByEmail(String email);
+    // Logins and profile lookups both need the role; joined rather than selected separately
+    @EntityGraph(attributePaths = "roleType")
     Optional<User> findByEmail(String email);
     Optional<User> findByVerificationToken(String token);
     Optional<User> getUserByEmail(String email);
 
+    // Every user as a DTO (no credentials), for the NDJSON export
+    String EXPORT_QUERY = "SELECT new com.backend.User.dtos.UserDTO(u.userID, u.name, u.surname, u.phoneNumber, " +
+            "u.email, u.picUrl, r.roleType) FROM User u LEFT JOIN u.roleType r ORDER BY u.userID";
+
+    // The role is eager, so it is joined here instead of being loaded one select per role afterwards
+    @EntityGraph(attributePaths = "roleType")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithRole();
+
+    // Keyset pages in userID order; pass 0 to start and the last userID seen to continue
+    @EntityGraph(attributePaths = "roleType")
+    List<User> findByUserIDGreaterThanOrderByUserID(int after, Limit limit);
+
 }
@@ -0,0 +1,143 @@
+package com.backend.User.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of resolved principals, keyed by email.
+ * Sits in front of {@link CustomUserDetailsService} so the JWT filter does not
+ * hit the users table on every request. Entries expire after a fixed TTL and are
+ * evicted explicitly whenever a user's credentials, role or status change.
+ * Each eviction also records a per-user epoch used by the trusted-claims mode
+ * of the JWT filter to detect tokens minted before the change. Evictions are
+ * broadcast over Redis so every node drops the principal and learns the epoch.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private static final String CHANGED_CHANNEL = "principal:changed";
+
+    private final Cache<String, UserDetails> cache;
+
+    // Last time each principal changed; tokens issued before it must be re-checked against the database.
+    // Kept for the longest token lifetime, after which every token older than the change has expired anyway.
+    private final Cache<String, Long> epochs;
+
+    // Epoch applied to every principal: this node's start, raised to the epoch of any entry dropped for size,
+    // so a change this node never heard of or has forgotten makes older tokens re-checked rather than trusted
+    private final AtomicLong epochFloor = new AtomicLong(System.currentTimeMillis());
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.security.principal-epochs.max-size:100000}") long maxEpochs,
+            @Value("${jwt.access-token-expiration:86400000}") long accessTokenExpiration,
+            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration) {
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxEpochs)
+                .expireAfterWrite(Duration.ofMillis(Math.max(accessTokenExpiration, refreshTokenExpiration)))
+                .removalListener((String email, Long epoch, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && epoch != null) {
+                        epochFloor.accumulateAndGet(epoch, Math::max);
+                    }
+                })
+                .build();
+
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=principals
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+
+        // Changes made on other nodes; the message is "<epoch millis>:<email>"
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onChanged(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGED_CHANNEL)
+        );
+    }
+
+    // Returns a copy so callers (e.g. credential erasure after login) never mutate the cached entry
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.get(email, loader);
+        return User.withUserDetails(cached).build();
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        changed(email, System.currentTimeMillis());
+
+        // Evict again once the surrounding transaction commits, so a concurrent load
+        // cannot re-cache the row as it was before the change became visible; other
+        // nodes are told only then, for the same reason
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(email);
+                }
+            });
+        } else {
+            publishChange(email);
+        }
+        log.debug("Evicted cached principal for: {}", email);
+    }
+
+    // Epoch in epoch-millis of the last change that may concern this principal; tokens issued before it are re-checked
+    public long epochOf(String email) {
+        Long epoch = epochs.getIfPresent(email);
+        long floor = epochFloor.get();
+        return epoch == null ? floor : Math.max(epoch, floor);
+    }
+
+    private void changed(String email, long epoch) {
+        cache.invalidate(email);
+        epochs.asMap().merge(email, epoch, Math::max);
+    }
+
+    private void publishChange(String email) {
+        long epoch = System.currentTimeMillis();
+        changed(email, epoch);
+        try {
+            redisTemplate.convertAndSend(CHANGED_CHANNEL, epoch + ":" + email);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish principal change for {}; other nodes keep it until their cache expires", email, e);
+        }
+    }
+
+    private void onChanged(String message) {
+        int separator = message.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        changed(message.substring(separator + 1), Long.parseLong(message.substring(0, separator)));
+    }
+}
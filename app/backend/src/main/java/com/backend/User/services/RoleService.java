@@ -1,6 +1,7 @@
 package com.backend.User.services;
 
 import com.backend.User.dtos.RoleDTO;
+import com.backend.User.dtos.RoleResponse;
 import com.backend.User.entities.Role;
 import com.backend.User.repositories.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +17,7 @@ public class RoleService {
     private RoleRepository roleRepository;
 
     // Create a new role
-    public Role createRole(RoleDTO roleDTO) {
+    public RoleResponse createRole(RoleDTO roleDTO) {
         if (roleRepository.existsByRoleType(roleDTO.getRoleType())) {
             throw new RuntimeException("Role with type '" + roleDTO.getRoleType() + "' already exists.");
         }
@@ -25,33 +26,33 @@ public class RoleService {
         role.setRoleType(roleDTO.getRoleType());
         role.setDescription(roleDTO.getDescription());
 
-        return roleRepository.save(role);
+        return mapToRoleResponse(roleRepository.save(role));
     }
 
     // Get all roles
-    public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+    public List<RoleResponse> getAllRoles() {
+        return roleRepository.findAll().stream().map(this::mapToRoleResponse).toList();
     }
 
     // Get a role by ID
-    public Optional<Role> getRoleByID(int roleID) {
-        return roleRepository.findById(roleID);
+    public Optional<RoleResponse> getRoleByID(int roleID) {
+        return roleRepository.findById(roleID).map(this::mapToRoleResponse);
     }
 
     // Get a role by type
-    public Optional<Role> getRoleByType(com.backend.User.enums.RoleType roleType) {
-        return roleRepository.findByRoleType(roleType);
+    public Optional<RoleResponse> getRoleByType(com.backend.User.enums.RoleType roleType) {
+        return roleRepository.findByRoleType(roleType).map(this::mapToRoleResponse);
     }
 
     // Update a role
-    public Role updateRole(int roleID, RoleDTO roleDTO) {
+    public RoleResponse updateRole(int roleID, RoleDTO roleDTO) {
         Optional<Role> existingRole = roleRepository.findById(roleID);
         if (existingRole.isPresent()) {
             Role role = existingRole.get();
             role.setRoleType(roleDTO.getRoleType());
             role.setDescription(roleDTO.getDescription());
 
-            return roleRepository.save(role);
+            return mapToRoleResponse(roleRepository.save(role));
         } else {
             throw new RuntimeException("Role with ID '" + roleID + "' not found.");
         }
@@ -66,16 +67,13 @@ public class RoleService {
         }
     }
 
-
-
-
-
-
-
-
-
-
-
-
-
+    private RoleResponse mapToRoleResponse(Role role) {
+        RoleResponse response = new RoleResponse();
+        response.setRoleID(role.getRoleID());
+        response.setRoleType(role.getRoleType());
+        response.setDescription(role.getDescription());
+        response.setCreatedAt(role.getCreatedAt());
+        response.setUpdatedAt(role.getUpdatedAt());
+        return response;
+    }
 }
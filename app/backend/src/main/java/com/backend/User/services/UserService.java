@@ -1,15 +1,25 @@
 package com.backend.User.services;
 
+import com.backend.Export.services.NdjsonExporter;
+import com.backend.Features.Search.service.CatalogChangedEvent;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
 import com.backend.User.dtos.UserDTO;
+import com.backend.User.dtos.UserResponse;
 import com.backend.User.dtos.UserUpdateDTO;
 import com.backend.User.entities.Role;
 import com.backend.User.entities.User;
 import com.backend.User.repositories.RoleRepository;
 import com.backend.User.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,8 +31,20 @@ public class UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Create a new user
-    public User createUser(UserDTO userDTO) {
+    public UserResponse createUser(UserDTO userDTO) {
         if (userRepository.existsByEmail(userDTO.getEmail())) {
             throw new RuntimeException("A user with the email '" + userDTO.getEmail() + "' already exists.");
         }
@@ -40,32 +62,47 @@ public class UserService {
         user.setPicUrl(userDTO.getPicUrl());
         user.setRoleType(role.get());
 
-        return userRepository.save(user);
+        return mapToUserResponse(userRepository.save(user));
     }
 
     // Get all users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserResponse> getAllUsers() {
+        return userRepository.findAllWithRole().stream().map(this::mapToUserResponse).toList();
+    }
+
+    public StreamingResponseBody exportUsers() {
+        return ndjsonExporter.stream(UserRepository.EXPORT_QUERY, UserDTO.class, Map.of());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getAllUsers(Keyset keyset) {
+        CursorPage<User> page = keyset.page(
+                userRepository.findByUserIDGreaterThanOrderByUserID(keyset.after(), keyset.fetchLimit()), User::getUserID);
+        return new CursorPage<>(page.getItems().stream().map(this::mapToUserResponse).toList(), page.getNextCursor());
     }
 
     // Get a user by ID
-    public Optional<User> getUserById(int userID) {
-        return userRepository.findById(userID);
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> getUserById(int userID) {
+        return userRepository.findById(userID).map(this::mapToUserResponse);
     }
 
     // Get a user by email
-    public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> getUserByEmail(String email) {
+        return userRepository.findByEmail(email).map(this::mapToUserResponse);
     }
 
     // Update an existing user
-    public User updateUser(int userID, UserDTO userDTO) {
+    public UserResponse updateUser(int userID, UserDTO userDTO) {
         Optional<User> existingUser = userRepository.findById(userID);
         if (existingUser.isEmpty()) {
             throw new RuntimeException("User not found with ID " + userID);
         }
 
         User user = existingUser.get();
+        principalCache.evict(user.getEmail());
         user.setName(userDTO.getName());
         user.setSurname(userDTO.getSurname());
         user.setPhoneNumber(userDTO.getPhoneNumber());
@@ -78,11 +115,14 @@ public class UserService {
         }
         user.setRoleType(role.get());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getEmail());
+        publishProviderChange(userID);
+        return mapToUserResponse(savedUser);
     }
 
     // Update only name, surname, and phone number
-    public User updateUserPartial(int userID, UserUpdateDTO updateDTO) {
+    public UserResponse updateUserPartial(int userID, UserUpdateDTO updateDTO) {
         Optional<User> existingUser = userRepository.findById(userID);
         if (existingUser.isEmpty()) {
             throw new RuntimeException("User not found with ID " + userID);
@@ -93,7 +133,9 @@ public class UserService {
         user.setSurname(updateDTO.getSurname());
         user.setPhoneNumber(updateDTO.getPhoneNumber());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        publishProviderChange(userID);
+        return mapToUserResponse(savedUser);
     }
 
     // Get basic info of a user by ID
@@ -115,9 +157,35 @@ public class UserService {
 
     // Delete a user
     public void deleteUser(int userID) {
-        if (!userRepository.existsById(userID)){
-            throw new RuntimeException("User not found with ID: " + userID);
+        User user = userRepository.findById(userID)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userID));
+        publishProviderChange(userID);
+        userRepository.delete(user);
+        principalCache.evict(user.getEmail());
+    }
+
+    // Cached provider responses carry the owner's name, email and picture
+    private void publishProviderChange(int userID) {
+        serviceProviderRepository.findProviderIDByUserID(userID)
+                .ifPresent(providerID -> eventPublisher.publishEvent(CatalogChangedEvent.provider(providerID)));
+    }
+
+    // Only what the profile and admin screens show; never the password or verification token
+    private UserResponse mapToUserResponse(User user) {
+        UserResponse response = new UserResponse();
+        response.setUserID(user.getUserID());
+        response.setName(user.getName());
+        response.setSurname(user.getSurname());
+        response.setPhoneNumber(user.getPhoneNumber());
+        response.setEmail(user.getEmail());
+        response.setPicUrl(user.getPicUrl());
+        response.setEnabled(user.isEnabled());
+        Role role = user.getRoleType();
+        if (role != null) {
+            response.setRoleType(new UserResponse.RoleSummary(role.getRoleID(), role.getRoleType()));
         }
-        userRepository.deleteById(userID);
+        response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        return response;
     }
 }
@@ -0,0 +1,97 @@
+package com.backend.Caching.services;
+
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Review.controller.ReviewController;
+import com.backend.Features.Review.dto.ReviewResponse;
+import com.backend.Features.Review.service.ReviewService;
+import com.backend.Features.Service.controller.ServiceController;
+import com.backend.Features.Service.dto.ServiceResponse;
+import com.backend.Features.Service.service.ServiceService;
+import com.backend.Pagination.services.KeysetPagination;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalGetTest {
+
+    private final ReviewService reviewService = mock(ReviewService.class);
+    private final CatalogCache catalogCache = mock(CatalogCache.class);
+    private final KeysetPagination pagination = new KeysetPagination(50, 200, true);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+            new ReviewController(reviewService, pagination),
+            new ServiceController(mock(ServiceService.class), pagination, catalogCache)).build();
+
+    @Test
+    void matchingReviewTagIsAnsweredFromTheVersionLookupAlone() throws Exception {
+        List<ReviewResponse> reviews = List.of(review(1, 0), review(2, 3));
+        String tag = ReviewService.listTag(reviews);
+        when(reviewService.getReviewsByServiceTag(7)).thenReturn(tag);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/7?unpaged=true").header("If-None-Match", tag))
+                .andExpect(status().isNotModified()).andReturn();
+
+        assertThat(result.getResponse().getHeaders("ETag")).containsExactly(tag);
+        verify(reviewService, never()).getReviewsByService(7);
+
+        // Proxies may weaken the tag; If-None-Match still matches it
+        mockMvc.perform(get("/api/v1/reviews/service/7?unpaged=true").header("If-None-Match", "\"other\", W/" + tag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void staleReviewTagGetsTheBodyWithItsOwnTag() throws Exception {
+        List<ReviewResponse> reviews = List.of(review(1, 0), review(2, 4));
+        when(reviewService.getReviewsByServiceTag(7)).thenReturn(ReviewService.listTag(reviews));
+        when(reviewService.getReviewsByService(7)).thenReturn(reviews);
+        String stale = ReviewService.listTag(List.of(review(1, 0), review(2, 3)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/7?unpaged=true").header("If-None-Match", stale))
+                .andExpect(status().isOk()).andReturn();
+
+        assertThat(result.getResponse().getHeaders("ETag")).containsExactly(ReviewService.listTag(reviews));
+        assertThat(stale).isNotEqualTo(ReviewService.listTag(reviews));
+    }
+
+    @Test
+    void cachedServiceIsRevalidatedWithoutReloading() throws Exception {
+        ServiceResponse service = service(3, 2, 10);
+        when(catalogCache.getService(3)).thenReturn(service);
+
+        MvcResult first = mockMvc.perform(get("/api/v1/services/3")).andExpect(status().isOk()).andReturn();
+        List<String> tags = first.getResponse().getHeaders("ETag");
+        assertThat(tags).hasSize(1);
+
+        mockMvc.perform(get("/api/v1/services/3").header("If-None-Match", tags.get(0)))
+                .andExpect(status().isNotModified());
+
+        // A new review changes the rating but not the service row
+        when(catalogCache.getService(3)).thenReturn(service(3, 2, 11));
+        mockMvc.perform(get("/api/v1/services/3").header("If-None-Match", tags.get(0)))
+                .andExpect(status().isOk());
+    }
+
+    private static ReviewResponse review(int reviewID, int version) {
+        return new ReviewResponse(reviewID, 1, reviewID, 4, "Good", version, LocalDateTime.of(2025, 1, 1, 9, 0), null);
+    }
+
+    private static ServiceResponse service(int serviceID, int version, long reviewCount) {
+        ServiceResponse service = new ServiceResponse();
+        service.setServiceID(serviceID);
+        service.setVersion(version);
+        service.setRating(new RatingSummary(reviewCount, reviewCount * 4, new long[]{0, 0, 0, reviewCount, 0},
+                LocalDateTime.of(2025, 1, 1, 9, 0)));
+        return service;
+    }
+}
@@ -0,0 +1,294 @@
+package com.backend.Caching.services;
+
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Service.dto.ServiceResponse;
+import com.backend.Features.ServiceProvider.dto.ServiceProviderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two nodes sharing an in-memory stand-in for Redis: values, leases, generations and pub/sub.
+ */
+class TwoTierCacheTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final List<MessageListener> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean redisDown;
+
+    private TwoTierCacheManager firstManager;
+    private TwoTierCache<ServiceResponse> first;
+    private TwoTierCache<ServiceResponse> second;
+
+    @BeforeEach
+    void setUp() {
+        firstManager = manager();
+        first = create(firstManager);
+        second = create(manager());
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstManager.shutdown();
+    }
+
+    @Test
+    void servesRepeatReadsFromTheNearTierAndOtherNodesFromRedis() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ServiceResponse> loader = () -> {
+            loads.incrementAndGet();
+            return service(7, "Leak repair");
+        };
+
+        ServiceResponse loaded = first.get("7", loader);
+        first.get("7", loader);
+        ServiceResponse fromRedis = second.get("7", loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(fromRedis.getServiceName()).isEqualTo("Leak repair");
+        assertThat(fromRedis.getPrice()).isEqualByComparingTo("150.00");
+        assertThat(fromRedis.getRating().getStarCounts()).containsExactly(0, 0, 0, 1, 1);
+        assertThat(fromRedis.getCreatedAt()).isEqualTo(loaded.getCreatedAt());
+    }
+
+    @Test
+    void evictionReachesEveryNodesNearCache() {
+        first.get("7", () -> service(7, "Old"));
+        second.get("7", () -> service(7, "Old"));
+
+        first.evict("7");
+
+        assertThat(second.get("7", () -> service(7, "New")).getServiceName()).isEqualTo("New");
+        assertThat(first.get("7", () -> service(7, "Newer")).getServiceName()).isEqualTo("New");
+    }
+
+    @Test
+    void invalidateAllMovesEveryNodeToANewGeneration() {
+        first.get("7", () -> service(7, "Old"));
+        second.get("8", () -> service(8, "Old"));
+
+        second.invalidateAll();
+
+        assertThat(first.get("7", () -> service(7, "New")).getServiceName()).isEqualTo("New");
+        assertThat(second.get("8", () -> service(8, "New")).getServiceName()).isEqualTo("New");
+        assertThat(redis).containsEntry("cache:test:generation", "1");
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Supplier<ServiceResponse> slowLoader = () -> {
+            loads.incrementAndGet();
+            sleep(100);
+            return service(9, "Popular");
+        };
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ServiceResponse>> results = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                TwoTierCache<ServiceResponse> node = i % 2 == 0 ? first : second;
+                results.add(readers.submit(() -> {
+                    start.await();
+                    return node.get("9", slowLoader);
+                }));
+            }
+            start.countDown();
+            for (Future<ServiceResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getServiceName()).isEqualTo("Popular");
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        // One load per node at most; the second node waits on the first's lease
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedLoadReleasesItsLeaseAndIsNotCached() {
+        assertThatThrownBy(() -> first.get("7", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(redis.keySet()).noneMatch(key -> key.endsWith(":lease"));
+        AtomicInteger loads = new AtomicInteger();
+        second.get("7", () -> {
+            loads.incrementAndGet();
+            return service(7, "Leak repair");
+        });
+        assertThat(first.get("7", () -> service(7, "Unused")).getServiceName()).isEqualTo("Leak repair");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void aSlowLoadDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<ServiceResponse> slow = reader.submit(() -> first.get("1", () -> {
+                loading.countDown();
+                await(release);
+                return service(1, "Slow");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Caffeine computes lock a hash bin, so a blocked load could stall unrelated keys in it
+            for (int i = 2; i < 200; i++) {
+                int serviceID = i;
+                assertThat(first.get(String.valueOf(i), () -> service(serviceID, "Fast")).getServiceName()).isEqualTo("Fast");
+            }
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getServiceName()).isEqualTo("Slow");
+        } finally {
+            release.countDown();
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    void keepsServingWhenRedisIsDown() {
+        redisDown = true;
+        AtomicInteger loads = new AtomicInteger();
+
+        first.get("7", () -> {
+            loads.incrementAndGet();
+            return service(7, "Leak repair");
+        });
+        ServiceResponse cached = first.get("7", () -> service(7, "Unused"));
+        first.evict("7");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cached.getServiceName()).isEqualTo("Leak repair");
+        assertThat(first.get("7", () -> service(7, "Reloaded")).getServiceName()).isEqualTo("Reloaded");
+    }
+
+    @Test
+    void providersAndTheirUserRoundTripThroughRedis() {
+        TwoTierCache<ServiceProviderResponse> providers = firstManager.create("providers",
+                objectMapper.getTypeFactory().constructType(ServiceProviderResponse.class), 100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+        TwoTierCache<ServiceProviderResponse> otherNode = manager().create("providers",
+                objectMapper.getTypeFactory().constructType(ServiceProviderResponse.class), 100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+        ServiceProviderResponse provider = new ServiceProviderResponse();
+        provider.setProviderID(3);
+        provider.setUser(new ServiceProviderResponse.Owner(8, "Thandi", "Mokoena", "vendor@example.com", null));
+        provider.setBusinessName("Drips");
+        provider.setLatitude(-33.9);
+        provider.setLongitude(18.4);
+        provider.setRating(new RatingSummary(1, 5, new long[]{0, 0, 0, 0, 1}, null));
+
+        providers.get("3", () -> provider);
+        ServiceProviderResponse fromRedis = otherNode.get("3", () -> null);
+
+        assertThat(fromRedis.getBusinessName()).isEqualTo("Drips");
+        assertThat(fromRedis.getUser().getEmail()).isEqualTo("vendor@example.com");
+        assertThat(fromRedis.getLatitude()).isEqualTo(-33.9);
+        assertThat(fromRedis.getRating().getAverage()).isEqualTo(5.0);
+    }
+
+    private TwoTierCache<ServiceResponse> create(TwoTierCacheManager manager) {
+        return manager.create("test", objectMapper.getTypeFactory().constructType(ServiceResponse.class),
+                100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TwoTierCacheManager manager() {
+        RedisTemplate<String, String> template = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(call -> up(() -> redis.get(call.<String>getArgument(0))));
+        doAnswer(call -> up(() -> redis.put(call.getArgument(0), call.getArgument(1))))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(call -> up(() -> redis.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null));
+        when(values.increment(anyString())).thenAnswer(call -> up(() -> Long.parseLong(
+                redis.merge(call.getArgument(0), "1", (old, one) -> String.valueOf(Long.parseLong(old) + 1)))));
+        when(template.delete(anyString())).thenAnswer(call -> up(() -> redis.remove(call.<String>getArgument(0)) != null));
+        doAnswer(call -> up(() -> {
+            DefaultMessage message = new DefaultMessage(call.<String>getArgument(0).getBytes(StandardCharsets.UTF_8),
+                    call.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            subscribers.forEach(subscriber -> subscriber.onMessage(message, null));
+            return 1L;
+        })).when(template).convertAndSend(anyString(), any());
+
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        doAnswer(call -> subscribers.add(call.getArgument(0)))
+                .when(container).addMessageListener(any(MessageListener.class), any(Topic.class));
+
+        return new TwoTierCacheManager(template, container, objectMapper, new SimpleMeterRegistry(), 5000, 1000, 10, 50);
+    }
+
+    private <T> T up(Supplier<T> operation) {
+        if (redisDown) {
+            throw new RedisConnectionFailureException("down");
+        }
+        return operation.get();
+    }
+
+    private static ServiceResponse service(int serviceID, String name) {
+        ServiceResponse service = new ServiceResponse();
+        service.setServiceID(serviceID);
+        service.setProviderID(3);
+        service.setServiceName(name);
+        service.setPrice(new BigDecimal("150.00"));
+        service.setDurationMinutes(90);
+        service.setDuration("1h 30m");
+        service.setCreatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+        service.setRating(new RatingSummary(2, 9, new long[]{0, 0, 0, 1, 1}, null));
+        return service;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
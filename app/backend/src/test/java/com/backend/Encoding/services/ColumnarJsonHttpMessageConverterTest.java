@@ -0,0 +1,136 @@
+package com.backend.Encoding.services;
+
+import com.backend.Features.Review.controller.ReviewController;
+import com.backend.Features.Review.dto.ReviewResponse;
+import com.backend.Features.Review.service.ReviewService;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
+import com.backend.Pagination.services.KeysetPagination;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ColumnarJsonHttpMessageConverterTest {
+
+    private static final String COLUMNAR = ColumnarJsonHttpMessageConverter.COLUMNAR_JSON.toString();
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ReviewService reviewService = mock(ReviewService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ReviewController(reviewService, new KeysetPagination(50, 200, true)))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                    new ColumnarJsonHttpMessageConverter(objectMapper))
+            .setControllerAdvice(new ColumnarVaryAdvice())
+            .addFilters(new GzipETagFilter())
+            .build();
+
+    private final List<ReviewResponse> reviews = List.of(
+            new ReviewResponse(1, 4, 10, 5, "Great", 0, LocalDateTime.of(2025, 1, 1, 9, 0), null),
+            new ReviewResponse(2, 5, 11, 3, "Late", 2, LocalDateTime.of(2025, 1, 2, 9, 0), LocalDateTime.of(2025, 1, 3, 9, 0)));
+
+    @Test
+    void columnarListsMatchTheJsonValuesColumnByColumn() throws Exception {
+        when(reviewService.getReviewsByService(3)).thenReturn(reviews);
+        when(reviewService.getReviewsByServiceTag(3)).thenReturn(ReviewService.listTag(reviews));
+
+        JsonNode json = objectMapper.readTree(mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true").accept(COLUMNAR))
+                .andExpect(status().isOk()).andReturn();
+        JsonNode table = objectMapper.readTree(result.getResponse().getContentAsString());
+
+        assertThat(result.getResponse().getContentType()).startsWith(COLUMNAR);
+        assertThat(result.getResponse().getHeaders("Vary")).containsExactly("Accept");
+        assertThat(result.getResponse().getHeaders("ETag"))
+                .containsExactly(ReviewService.listTag(reviews).replaceFirst("\"$", ".columns\""));
+
+        JsonNode columns = table.get("columns");
+        assertThat(columns).hasSize(json.get(0).size());
+        for (int row = 0; row < reviews.size(); row++) {
+            for (int column = 0; column < columns.size(); column++) {
+                assertThat(table.get("rows").get(row).get(column))
+                        .isEqualTo(json.get(row).get(columns.get(column).asText()));
+            }
+        }
+    }
+
+    @Test
+    void pagesKeepTheirCursor() throws Exception {
+        when(reviewService.getReviewsByProvider(eq(8), any(Keyset.class))).thenReturn(new CursorPage<>(reviews, "next"));
+        when(reviewService.getReviewsByProviderTag(eq(8), any(Keyset.class))).thenReturn("\"tag\"");
+
+        JsonNode table = objectMapper.readTree(mockMvc.perform(get("/api/v1/reviews/provider/8").accept(COLUMNAR))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+
+        assertThat(table.get("rows")).hasSize(2);
+        assertThat(table.get("nextCursor").asText()).isEqualTo("next");
+        assertThat(table.get("hasMore").asBoolean()).isTrue();
+    }
+
+    @Test
+    void plainJsonStaysTheDefault() throws Exception {
+        when(reviewService.getReviewsByService(3)).thenReturn(reviews);
+        when(reviewService.getReviewsByServiceTag(3)).thenReturn(ReviewService.listTag(reviews));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true").accept("*/*"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/json");
+        assertThat(result.getResponse().getHeaders("Vary")).containsExactly("Accept");
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).isArray()).isTrue();
+
+        MvcResult notModified = mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true")
+                        .header("If-None-Match", ReviewService.listTag(reviews)))
+                .andExpect(status().isNotModified()).andReturn();
+        assertThat(notModified.getResponse().getHeaders("Vary")).containsExactly("Accept");
+    }
+
+    @Test
+    void gzipClientsGetAWeakTagThatStillRevalidates() throws Exception {
+        String tag = ReviewService.listTag(reviews);
+        when(reviewService.getReviewsByService(3)).thenReturn(reviews);
+        when(reviewService.getReviewsByServiceTag(3)).thenReturn(tag);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true").header("Accept-Encoding", "gzip, br"))
+                .andExpect(status().isOk()).andReturn();
+        String weak = result.getResponse().getHeader("ETag");
+        assertThat(weak).isEqualTo("W/" + tag);
+
+        mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", weak))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void gzipRefusedWithAZeroQualityKeepsTheStrongTag() throws Exception {
+        String tag = ReviewService.listTag(reviews);
+        when(reviewService.getReviewsByService(3)).thenReturn(reviews);
+        when(reviewService.getReviewsByServiceTag(3)).thenReturn(tag);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reviews/service/3?unpaged=true")
+                        .header("Accept-Encoding", "br, gzip;q=0"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertThat(result.getResponse().getHeader("ETag")).isEqualTo(tag);
+        assertThat(GzipETagFilter.acceptsGzip("deflate, GZIP ; q=0.5")).isTrue();
+        assertThat(GzipETagFilter.acceptsGzip("x-gzip-like")).isFalse();
+    }
+}
@@ -0,0 +1,146 @@
+package com.backend.Encoding.services;
+
+import com.backend.Features.Booking.dto.BookingResponse;
+import com.backend.Features.Booking.enums.BookingStatus;
+import com.backend.Features.Review.dto.ReviewResponse;
+import com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialisation time of a 1,000-row booking, review and history list as plain JSON and as columnar
+ * JSON, each with and without gzip at Tomcat's default level. {@link #main} first prints the bytes
+ * each encoding puts on the wire.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    private static final String[] COMMENTS = {"Arrived on time and fixed the leak.", "Good work, a bit pricey.",
+            "Would book again.", "Cleaned up afterwards.", "Took longer than quoted."};
+
+    @Param({"bookings", "reviews", "history"})
+    private String list;
+
+    @Param("1000")
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ColumnarJsonHttpMessageConverter converter;
+    private List<?> payload;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setup() {
+        objectMapper = JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        converter = new ColumnarJsonHttpMessageConverter(objectMapper);
+        payload = payload(list, rows);
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, payload);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int columnar() throws IOException {
+        buffer.reset();
+        converter.write(payload, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON, message(buffer));
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int jsonGzip() throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, payload);
+        }
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int columnarGzip() throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            converter.write(payload, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON, message(gzip));
+        }
+        return buffer.size();
+    }
+
+    static List<?> payload(String list, int rows) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 3, 8, 0);
+        List<Object> items = new ArrayList<>(rows);
+        for (int id = 1; id <= rows; id++) {
+            LocalDateTime at = start.plusHours(id);
+            int customer = 1 + random.nextInt(500);
+            switch (list) {
+                case "bookings" -> items.add(new BookingResponse(id, customer, 1 + random.nextInt(40), 7, at,
+                        at.plusMinutes(90), id % 3 == 0 ? "Gate code 4411" : null,
+                        BookingStatus.values()[random.nextInt(BookingStatus.values().length)], at.minusDays(2)));
+                case "reviews" -> items.add(new ReviewResponse(id, customer, id, 1 + random.nextInt(5),
+                        COMMENTS[random.nextInt(COMMENTS.length)], random.nextInt(3), at, id % 4 == 0 ? at.plusDays(1) : null));
+                default -> items.add(new ServiceHistoryResponse(id, customer, 7, 1 + random.nextInt(40), at));
+            }
+        }
+        return items;
+    }
+
+    private static HttpOutputMessage message(OutputStream body) {
+        HttpHeaders headers = new HttpHeaders();
+        return new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        PayloadEncodingBenchmark sizes = new PayloadEncodingBenchmark();
+        sizes.rows = 1000;
+        System.out.printf("%-10s %10s %10s %10s %14s%n", "bytes", "json", "columnar", "json+gzip", "columnar+gzip");
+        for (String list : new String[]{"bookings", "reviews", "history"}) {
+            sizes.list = list;
+            sizes.setup();
+            System.out.printf("%-10s %10d %10d %10d %14d%n", list,
+                    sizes.json(), sizes.columnar(), sizes.jsonGzip(), sizes.columnarGzip());
+        }
+
+        Options options = new OptionsBuilder()
+                .include(PayloadEncodingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.backend.Export.services;
+
+import com.backend.Features.Customer.dto.CustomerDTO;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.User.dtos.UserDTO;
+import com.backend.User.entities.Role;
+import com.backend.User.entities.User;
+import com.backend.User.enums.RoleType;
+import com.backend.User.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams exports on H2 with a small fetch size and clear interval: every row must come out as its own
+ * JSON line, in key order, and the persistence context must not keep what has already been written.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        // H2 rejects MySQL's Integer.MIN_VALUE streaming hint
+        "app.export.fetch-size=2",
+        "app.export.clear-every=2"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(NdjsonExporter.class)
+class NdjsonExporterTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private NdjsonExporter exporter;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleType(RoleType.CUSTOMER);
+        role.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(role);
+
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setName("Test");
+            user.setSurname("User");
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("secret");
+            user.setEnabled(true);
+            user.setRoleType(role);
+            entityManager.persist(user);
+
+            Customer customer = new Customer();
+            customer.setUser(user);
+            entityManager.persist(customer);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void usersAreWrittenOneJsonLinePerRowWithoutCredentials() throws Exception {
+        List<String> lines = export(UserRepository.EXPORT_QUERY, UserDTO.class);
+
+        assertThat(lines).hasSize(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UserDTO user = objectMapper.readValue(lines.get(i), UserDTO.class);
+            assertThat(user.getEmail()).isEqualTo("user" + i + "@example.com");
+            assertThat(user.getRoleType()).isEqualTo(RoleType.CUSTOMER);
+        }
+        assertThat(lines).noneMatch(line -> line.contains("secret"));
+    }
+
+    @Test
+    void customersAreWrittenInKeyOrder() throws Exception {
+        List<String> lines = export(CustomerRepository.EXPORT_QUERY, CustomerDTO.class);
+
+        assertThat(lines).hasSize(ROWS);
+        List<Integer> ids = lines.stream().map(line -> read(line, CustomerDTO.class).getCustomerID()).toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void writtenEntitiesAreDetachedAsTheStreamAdvances() {
+        List<String> lines = export("SELECT u FROM User u ORDER BY u.userID", User.class);
+
+        assertThat(lines).hasSize(ROWS);
+        // Only the rows since the last clear (one user and its role) may still be managed
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isLessThanOrEqualTo(2);
+    }
+
+    private List<String> export(String jpql, Class<?> type) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(jpql, type, Map.of(), out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private <T> T read(String line, Class<T> type) {
+        try {
+            return objectMapper.readValue(line, type);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
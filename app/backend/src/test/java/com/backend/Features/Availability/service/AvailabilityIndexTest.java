@@ -0,0 +1,93 @@
+package com.backend.Features.Availability.service;
+
+import com.backend.Features.Availability.entity.ProviderWorkingHours;
+import com.backend.Features.Availability.repository.ProviderWorkingHoursRepository;
+import com.backend.Features.Booking.repository.BookingInterval;
+import com.backend.Features.Booking.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityIndexTest {
+
+    private static final int PROVIDER = 7;
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private ProviderWorkingHoursRepository workingHoursRepository;
+    private BookingRepository bookingRepository;
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        workingHoursRepository = mock(ProviderWorkingHoursRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        index = new AvailabilityIndex(workingHoursRepository, bookingRepository, new SimpleMeterRegistry(),
+                1000, 30, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        // Monday 09:00-12:00 and 13:00-15:00, with an existing booking 10:00-11:00
+        when(workingHoursRepository.findByProviderID(PROVIDER)).thenReturn(List.of(
+                new ProviderWorkingHours(null, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new ProviderWorkingHours(null, DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(15, 0))));
+        when(bookingRepository.findIntervals(anyInt(), any(), any(), any())).thenReturn(List.of(
+                interval(MONDAY.atTime(10, 0), MONDAY.atTime(11, 0))));
+    }
+
+    @Test
+    void listsStartsWhereTheWholeServiceFits() {
+        List<LocalDateTime> slots = index.freeSlots(PROVIDER, MONDAY, 60);
+
+        assertThat(slots).containsExactly(
+                MONDAY.atTime(9, 0),
+                MONDAY.atTime(11, 0),
+                MONDAY.atTime(13, 0), MONDAY.atTime(13, 15), MONDAY.atTime(13, 30), MONDAY.atTime(13, 45), MONDAY.atTime(14, 0));
+    }
+
+    @Test
+    void rejectsOverlapsAndTimesOutsideWorkingHours() {
+        assertThat(index.tryReserve(PROVIDER, MONDAY.atTime(10, 30), MONDAY.atTime(11, 0))).isFalse();
+        assertThat(index.tryReserve(PROVIDER, MONDAY.atTime(11, 30), MONDAY.atTime(12, 30))).isFalse();
+
+        assertThat(index.tryReserve(PROVIDER, MONDAY.atTime(13, 0), MONDAY.atTime(14, 0))).isTrue();
+        assertThat(index.tryReserve(PROVIDER, MONDAY.atTime(13, 45), MONDAY.atTime(14, 15))).isFalse();
+
+        index.release(PROVIDER, MONDAY.atTime(13, 0), MONDAY.atTime(14, 0));
+        assertThat(index.tryReserve(PROVIDER, MONDAY.atTime(13, 45), MONDAY.atTime(14, 15))).isTrue();
+    }
+
+    @Test
+    void providersWithoutPublishedHoursUseTheDefaultWindow() {
+        when(workingHoursRepository.findByProviderID(99)).thenReturn(List.of());
+        when(bookingRepository.findIntervals(anyInt(), any(), any(), any())).thenReturn(List.of());
+
+        List<LocalDateTime> slots = index.freeSlots(99, MONDAY.plusDays(6), 8 * 60);
+
+        assertThat(slots).containsExactly(MONDAY.plusDays(6).atTime(9, 0));
+    }
+
+    private static BookingInterval interval(LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public LocalDateTime getBookingDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,271 @@
+package com.backend.Features.Booking.service;
+
+import com.backend.Exceptions.GlobalExceptionHandler;
+import com.backend.Features.Availability.repository.ProviderWorkingHoursRepository;
+import com.backend.Features.Availability.service.AvailabilityIndex;
+import com.backend.Features.Booking.controller.BookingController;
+import com.backend.Features.Booking.repository.BookingRepository;
+import com.backend.Features.Booking.repository.BookingSlotRepository;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.Service.repository.ServiceRepository;
+import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.Pagination.services.KeysetPagination;
+import com.backend.User.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Two application nodes sharing one H2 database take POST /api/v1/bookings/customer requests for
+ * one-hour bookings of the same provider that all overlap but start at different times. Each node
+ * has its own availability index and lock stripes, so a node only learns about the other's booking
+ * through the primary key of booking_slots. Runs without a test transaction: the nodes write in
+ * their own transactions and must see each other's committed rows. The burst also reports its
+ * latency percentiles, so a locking change that serialises the losers shows up as a slow p99.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingConcurrencyStressTest {
+    private static final Logger logger = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    private static final int REQUESTS = 1000;
+    private static final int CLIENT_THREADS = 16;
+    // The first wave runs on a cold JVM and sets the p99; requests queueing behind every other one take far longer
+    private static final long P99_LIMIT_MS = 2000;
+    private static final LocalDateTime NINE = LocalDate.now()
+            .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+            .atTime(LocalTime.of(9, 0));
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private BookingSlotRepository bookingSlotRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private ServiceProviderRepository serviceProviderRepository;
+    @Autowired private ServiceHistoryRepository serviceHistoryRepository;
+    @Autowired private ProviderWorkingHoursRepository workingHoursRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private int customerID;
+    private int providerID;
+    private int serviceID;
+
+    @BeforeEach
+    void setUp() {
+        // Rows are committed and outlive the test, so every test books its own provider
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = new Customer();
+            customer.setUser(persistUser());
+            entityManager.persist(customer);
+            customerID = customer.getCustomerID();
+
+            ServiceProvider provider = new ServiceProvider();
+            provider.setUser(persistUser());
+            provider.setBusinessName("Fix It");
+            provider.setServiceCategory("Plumbing");
+            provider.setLocation("Town");
+            provider.setAbout("About");
+            provider.setPhoneNumber("555");
+            provider.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(provider);
+            providerID = provider.getProviderID();
+
+            ServiceClass service = new ServiceClass();
+            service.setProvider(provider);
+            service.setServiceName("Leak repair");
+            service.setDescription("Fixes leaks");
+            service.setPrice(BigDecimal.TEN);
+            service.setDurationMinutes(60);
+            service.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(service);
+            serviceID = service.getServiceID();
+        });
+    }
+
+    @Test
+    void aNodeWithAStaleIndexCannotBookAnOverlappingTimeWithADifferentStart() throws Exception {
+        Node first = node();
+        Node second = node();
+        // The second node has already read the free day, so its own index lets 09:30 through
+        assertThat(second.index.freeSlots(providerID, NINE.toLocalDate(), 60)).contains(NINE.plusMinutes(30));
+
+        assertThat(book(first, NINE).getStatus()).isEqualTo(200);
+        assertThat(book(second, NINE.plusMinutes(30)).getStatus()).isEqualTo(409);
+
+        assertThat(liveBookings()).isEqualTo(1);
+        assertThat(slotRows()).isEqualTo(4);
+        // The losing node rebuilt its view of the day from the database
+        assertThat(second.index.freeSlots(providerID, NINE.toLocalDate(), 60)).doesNotContain(NINE.plusMinutes(30));
+    }
+
+    @Test
+    void exactlyOneOfThousandsOfConcurrentOverlappingBookingsWins() throws Exception {
+        List<Node> nodes = List.of(node(), node());
+        // 09:00 to 09:45: any two of these one-hour bookings overlap
+        List<LocalDateTime> starts = List.of(NINE, NINE.plusMinutes(15), NINE.plusMinutes(30), NINE.plusMinutes(45));
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Node node = nodes.get(i % nodes.size());
+            LocalDateTime bookingDate = starts.get((i / nodes.size()) % starts.size());
+            responses.add(clients.submit(() -> {
+                start.await();
+                long startedAt = System.nanoTime();
+                int status = book(node, bookingDate).getStatus();
+                return new Response(status, System.nanoTime() - startedAt);
+            }));
+        }
+        start.countDown();
+
+        int won = 0;
+        int conflicts = 0;
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            Response response = responses.get(i).get();
+            latencies[i] = response.nanos();
+            if (response.status() == 200) {
+                won++;
+            } else if (response.status() == 409) {
+                conflicts++;
+            }
+        }
+        clients.shutdown();
+
+        Arrays.sort(latencies);
+        long p50 = percentileMillis(latencies, 50);
+        long p99 = percentileMillis(latencies, 99);
+        logger.info("{} overlapping bookings on {} threads: p50 {} ms, p99 {} ms, max {} ms",
+                REQUESTS, CLIENT_THREADS, p50, p99, TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS - 1]));
+
+        assertThat(p99).as("p99 latency in ms").isLessThan(P99_LIMIT_MS);
+        assertThat(won).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(REQUESTS - 1);
+        assertThat(liveBookings()).isEqualTo(1);
+        assertThat(slotRows()).isEqualTo(4);
+    }
+
+    @Test
+    void aCancelledBookingGivesItsSlotsToAnotherNodeAndCannotTakeThemBack() throws Exception {
+        Node first = node();
+        Node second = node();
+        int bookingID = objectMapper.readTree(book(first, NINE).getContentAsString()).get("bookingID").asInt();
+
+        assertThat(setStatus(first, bookingID, "CANCELLED").getStatus()).isEqualTo(200);
+        assertThat(slotRows()).isZero();
+
+        assertThat(book(second, NINE.plusMinutes(30)).getStatus()).isEqualTo(200);
+        assertThat(setStatus(first, bookingID, "CONFIRMED").getStatus()).isEqualTo(409);
+
+        assertThat(liveBookings()).isEqualTo(1);
+        assertThat(slotRows()).isEqualTo(4);
+    }
+
+    // One application node: its own index and lock stripes over the shared database
+    private record Node(MockMvc mvc, AvailabilityIndex index) {
+    }
+
+    private record Response(int status, long nanos) {
+    }
+
+    // Nearest-rank percentile of sorted nanosecond latencies
+    private static long percentileMillis(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private Node node() {
+        AvailabilityIndex index = new AvailabilityIndex(workingHoursRepository, bookingRepository, new SimpleMeterRegistry(),
+                1000, 30, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        BookingService bookingService = new BookingService(bookingRepository, bookingSlotRepository, customerRepository,
+                serviceRepository, serviceProviderRepository, serviceHistoryRepository, index, new ProviderLockStripes(256),
+                transactionManager);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingService, new KeysetPagination(50, 200, true)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        return new Node(mvc, index);
+    }
+
+    private MockHttpServletResponse book(Node node, LocalDateTime bookingDate) throws Exception {
+        String body = """
+                {"customerID": %d, "serviceID": %d, "providerID": %d, "bookingDate": "%s"}
+                """.formatted(customerID, serviceID, providerID, bookingDate);
+        return node.mvc().perform(post("/api/v1/bookings/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse setStatus(Node node, int bookingID, String newStatus) throws Exception {
+        return node.mvc().perform(put("/api/v1/bookings/status/" + bookingID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newStatus\": \"" + newStatus + "\"}"))
+                .andReturn().getResponse();
+    }
+
+    private int liveBookings() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE providerID = ? AND status <> 'CANCELLED'",
+                Integer.class, providerID);
+    }
+
+    private int slotRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_slots WHERE providerID = ?", Integer.class, providerID);
+    }
+
+    private User persistUser() {
+        User user = new User();
+        user.setName("Test");
+        user.setSurname("User");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setEnabled(true);
+        entityManager.persist(user);
+        return user;
+    }
+}
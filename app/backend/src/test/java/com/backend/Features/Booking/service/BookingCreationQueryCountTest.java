@@ -0,0 +1,140 @@
+package com.backend.Features.Booking.service;
+
+import com.backend.Features.Availability.service.AvailabilityIndex;
+import com.backend.Features.Booking.dto.BookingRequest;
+import com.backend.Features.Booking.dto.BookingResponse;
+import com.backend.Features.Booking.repository.BookingRepository;
+import com.backend.Features.Booking.repository.BookingSlotRepository;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.RecordingStatementInspector;
+import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.Service.repository.ServiceRepository;
+import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.User.entities.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL Hibernate issues for a booking: one SELECT to validate the request, one INSERT for the
+ * booking and one for each 15-minute slot it holds.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        RecordingStatementInspector.PROPERTY
+})
+class BookingCreationQueryCountTest {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private BookingSlotRepository bookingSlotRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private ServiceProviderRepository serviceProviderRepository;
+    @Autowired private ServiceHistoryRepository serviceHistoryRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private BookingService bookingService;
+    private Customer customer;
+    private ServiceProvider provider;
+    private ServiceClass service;
+
+    @BeforeEach
+    void setUp() {
+        AvailabilityIndex availabilityIndex = mock(AvailabilityIndex.class);
+        when(availabilityIndex.tryReserve(anyInt(), any(), any())).thenReturn(true);
+        bookingService = new BookingService(bookingRepository, bookingSlotRepository, customerRepository, serviceRepository,
+                serviceProviderRepository, serviceHistoryRepository, availabilityIndex, new ProviderLockStripes(256),
+                transactionManager);
+
+        customer = new Customer();
+        customer.setUser(persistUser("customer@example.com"));
+        entityManager.persist(customer);
+
+        provider = new ServiceProvider();
+        provider.setUser(persistUser("provider@example.com"));
+        provider.setBusinessName("Fix It");
+        provider.setServiceCategory("Plumbing");
+        provider.setLocation("Town");
+        provider.setAbout("About");
+        provider.setPhoneNumber("555");
+        provider.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(provider);
+
+        service = new ServiceClass();
+        service.setProvider(provider);
+        service.setServiceName("Leak repair");
+        service.setDescription("Fixes leaks");
+        service.setPrice(BigDecimal.TEN);
+        service.setDurationMinutes(60);
+        service.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(service);
+
+        // Start from an empty persistence context, as a fresh request would
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.reset();
+    }
+
+    @Test
+    void createsABookingWithOneSelectAndInsertsOnlyTheBookingAndItsSlots() {
+        BookingResponse response = bookingService.createBooking(
+                request(customer.getCustomerID(), service.getServiceID(), provider.getProviderID()));
+        entityManager.flush();
+
+        assertThat(response.getBookingID()).isPositive();
+        assertThat(response.getProviderID()).isEqualTo(provider.getProviderID());
+        assertThat(RecordingStatementInspector.count("select")).as(RecordingStatementInspector.statements().toString()).isEqualTo(1);
+        // A one-hour service: the booking plus four slot rows
+        assertThat(RecordingStatementInspector.count("insert")).as(RecordingStatementInspector.statements().toString()).isEqualTo(5);
+        assertThat(RecordingStatementInspector.statements()).hasSize(6);
+    }
+
+    @Test
+    void stillReportsWhichPartOfTheRequestWasWrong() {
+        assertThatThrownBy(() -> bookingService.createBooking(
+                request(customer.getCustomerID() + 100, service.getServiceID(), provider.getProviderID())))
+                .hasMessage("Customer not found");
+        assertThatThrownBy(() -> bookingService.createBooking(
+                request(customer.getCustomerID(), service.getServiceID(), provider.getProviderID() + 100)))
+                .hasMessage("ServiceProvider not found");
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setName("Test");
+        user.setSurname("User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setEnabled(true);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private static BookingRequest request(int customerID, int serviceID, int providerID) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerID(customerID);
+        request.setServiceID(serviceID);
+        request.setProviderID(providerID);
+        request.setBookingDate(LocalDateTime.now().plusDays(2).withHour(10).withMinute(0).withSecond(0).withNano(0));
+        return request;
+    }
+}
@@ -0,0 +1,322 @@
+package com.backend.Features;
+
+import com.backend.Export.services.NdjsonExporter;
+import com.backend.Features.Availability.service.AvailabilityIndex;
+import com.backend.Features.Booking.dto.BookingResponse;
+import com.backend.Features.Booking.entity.Booking;
+import com.backend.Features.Booking.enums.BookingStatus;
+import com.backend.Features.Booking.repository.BookingRepository;
+import com.backend.Features.Booking.repository.BookingSlotRepository;
+import com.backend.Features.Booking.service.BookingService;
+import com.backend.Features.Booking.service.ProviderLockStripes;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.Customer.repository.CustomerRepository;
+import com.backend.Features.Customer.service.CustomerService;
+import com.backend.Features.Rating.service.RatingAggregateService;
+import com.backend.Features.Review.entity.Review;
+import com.backend.Features.Review.service.ReviewService;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.Service.repository.ServiceRepository;
+import com.backend.Features.Service.service.ServiceService;
+import com.backend.Features.ServiceHistory.entity.ServiceHistory;
+import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
+import com.backend.Features.ServiceHistory.service.ServiceHistoryService;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Features.ServiceProvider.repository.ServiceProviderRepository;
+import com.backend.Features.ServiceProvider.service.ServiceProviderService;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.services.Keyset;
+import com.backend.User.entities.Role;
+import com.backend.User.entities.User;
+import com.backend.User.enums.RoleType;
+import com.backend.User.services.PrincipalCache;
+import com.backend.User.services.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pins the number of SQL statements behind each read endpoint. Associations are lazy and responses
+ * only carry foreign keys or fields joined into the same query, so every list must come back in a
+ * single query however many rows it has, plus one batched rating lookup where providers and services
+ * carry their rating.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        RecordingStatementInspector.PROPERTY
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ReviewService.class, ServiceHistoryService.class, ServiceService.class, ServiceProviderService.class, CustomerService.class,
+        NdjsonExporter.class, RatingAggregateService.class, UserService.class})
+class FetchPlanQueryCountTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private BookingSlotRepository bookingSlotRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private ServiceProviderRepository serviceProviderRepository;
+    @Autowired private ServiceHistoryRepository serviceHistoryRepository;
+    @Autowired private ReviewService reviewService;
+    @Autowired private ServiceHistoryService serviceHistoryService;
+    @Autowired private ServiceService serviceService;
+    @Autowired private ServiceProviderService serviceProviderService;
+    @Autowired private CustomerService customerService;
+    @Autowired private UserService userService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @MockitoBean private PrincipalCache principalCache;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private BookingService bookingService;
+    private final List<Customer> customers = new ArrayList<>();
+    private final List<ServiceProvider> providers = new ArrayList<>();
+    private final List<ServiceClass> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, bookingSlotRepository, customerRepository, serviceRepository,
+                serviceProviderRepository, serviceHistoryRepository, mock(AvailabilityIndex.class), new ProviderLockStripes(256),
+                transactionManager);
+
+        Role customerRole = persistRole(RoleType.CUSTOMER);
+        Role vendorRole = persistRole(RoleType.VENDOR);
+        LocalDateTime day = LocalDateTime.now().plusDays(3).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        // Several customers, providers and services so that per-row lazy loads would show up as extra statements
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setUser(persistUser("customer" + i + "@example.com", customerRole));
+            entityManager.persist(customer);
+            customers.add(customer);
+
+            ServiceProvider provider = new ServiceProvider();
+            provider.setUser(persistUser("provider" + i + "@example.com", vendorRole));
+            provider.setBusinessName("Provider " + i);
+            provider.setServiceCategory("Plumbing");
+            provider.setLocation("Town");
+            provider.setAbout("About");
+            provider.setPhoneNumber("555");
+            provider.setVerified(true);
+            provider.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(provider);
+            providers.add(provider);
+
+            ServiceClass service = new ServiceClass();
+            service.setProvider(provider);
+            service.setServiceName("Service " + i);
+            service.setDescription("Description");
+            service.setPrice(BigDecimal.TEN);
+            service.setDurationMinutes(60);
+            service.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(service);
+            services.add(service);
+        }
+
+        // Every customer books every provider, and reviews and completes each booking
+        for (int c = 0; c < ROWS; c++) {
+            for (int p = 0; p < ROWS; p++) {
+                Booking booking = new Booking();
+                booking.setCustomer(customers.get(c));
+                booking.setProvider(providers.get(p));
+                booking.setServiceClass(services.get(p));
+                booking.setBookingDate(day.plusHours(c));
+                booking.setEndDate(day.plusHours(c + 1));
+                booking.setStatus(BookingStatus.COMPLETED);
+                booking.setCreatedAt(LocalDateTime.now());
+                entityManager.persist(booking);
+
+                Review review = new Review();
+                review.setCustomer(customers.get(c));
+                review.setBooking(booking);
+                review.setRating(4);
+                review.setComment("Good");
+                review.setCreatedAt(LocalDateTime.now());
+                entityManager.persist(review);
+
+                ServiceHistory history = new ServiceHistory();
+                history.setCustomer(customers.get(c));
+                history.setProvider(providers.get(p));
+                history.setService(services.get(p));
+                history.setBooking(booking);
+                history.setServiceDate(LocalDateTime.now());
+                entityManager.persist(history);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookingListsTakeOneQuery() {
+        assertSingleQuery(() -> bookingService.getBookingsByCustomer(customerID(0)), ROWS);
+        assertSingleQuery(() -> bookingService.getBookingsByProvider(providerID(0)), ROWS);
+    }
+
+    @Test
+    void reviewListsTakeOneQuery() {
+        assertSingleQuery(() -> reviewService.getReviewsByService(services.get(0).getServiceID()), ROWS);
+        assertSingleQuery(() -> reviewService.getReviewsByProvider(providerID(0)), ROWS);
+        assertSingleQuery(() -> reviewService.getMyReviews(customerID(0)), ROWS);
+    }
+
+    @Test
+    void reviewVersionLookupsTakeOneQueryAndAgreeWithTheLists() {
+        int serviceID = services.get(0).getServiceID();
+        entityManager.clear();
+        RecordingStatementInspector.reset();
+        String tag = reviewService.getReviewsByServiceTag(serviceID);
+        assertThat(RecordingStatementInspector.statements()).hasSize(1);
+        assertThat(tag).isEqualTo(ReviewService.listTag(reviewService.getReviewsByService(serviceID)));
+
+        Keyset keyset = new Keyset(0, 2);
+        assertThat(reviewService.getMyReviewsTag(customerID(0), keyset))
+                .isEqualTo(ReviewService.pageTag(reviewService.getMyReviews(customerID(0), keyset)))
+                .isNotEqualTo(reviewService.getMyReviewsTag(customerID(0), new Keyset(0, 3)));
+    }
+
+    @Test
+    void serviceHistoryListsTakeOneQuery() {
+        assertSingleQuery(() -> serviceHistoryService.getServiceHistoryByCustomer(customerID(0)), ROWS);
+        assertSingleQuery(() -> serviceHistoryService.getServiceHistoryByProvider(providerID(0)), ROWS);
+    }
+
+    @Test
+    void serviceCatalogTakesOneQueryPlusOneForRatings() {
+        assertQueries(() -> serviceService.getAllServices(), ROWS, 2);
+        assertQueries(() -> serviceService.getAllServicesByProvider(providerID(0)), 1, 2);
+        assertQueries(() -> List.of(serviceService.getServiceById(services.get(0).getServiceID())), 1, 2);
+    }
+
+    @Test
+    void customerViewsTakeOneQuery() {
+        // The controller maps each customer to its own and its user's id
+        assertSingleQuery(() -> customerService.getAllCustomers().stream()
+                .map(customer -> customer.getUser().getUserID()).toList(), ROWS);
+        assertSingleQuery(() -> List.of(customerService.getCustomerById(customerID(0)).getUser().getUserID()), 1);
+    }
+
+    @Test
+    void providerViewsFetchTheirUserInTheSameQuery() throws Exception {
+        // Responses are mapped inside the read, so the owner shown with each provider must come with it
+        assertQueries(() -> serialize(serviceProviderService.getAllServiceProviders()), ROWS, 2);
+        assertQueries(() -> serialize(serviceProviderService.getAllServiceProviders(new Keyset(0, ROWS)).getItems()), ROWS, 2);
+        assertQueries(() -> serialize(List.of(serviceProviderService.getServiceProviderById(providerID(0)))), 1, 2);
+        int userID = serviceProviderService.getServiceProviderById(providerID(1)).getUser().getUserID();
+        assertQueries(() -> serialize(List.of(serviceProviderService.getServiceProviderByUserId(userID))), 1, 2);
+
+        JsonNode provider = objectMapper.readTree(serialize(List.of(serviceProviderService.getServiceProviderById(providerID(2)))).get(0));
+        assertThat(provider.at("/user/email").asText()).isEqualTo("provider2@example.com");
+        assertThat(provider.get("user").has("password")).isFalse();
+        assertThat(provider.get("user").has("roleType")).isFalse();
+    }
+
+    @Test
+    void userViewsTakeOneQueryIncludingTheRole() throws Exception {
+        assertQueries(() -> serialize(userService.getAllUsers()), 2 * ROWS, 1);
+        assertQueries(() -> serialize(userService.getAllUsers(new Keyset(0, 2 * ROWS)).getItems()), 2 * ROWS, 1);
+        assertQueries(() -> serialize(List.of(userService.getUserByEmail("customer0@example.com").orElseThrow())), 1, 1);
+
+        JsonNode user = objectMapper.readTree(serialize(List.of(userService.getUserByEmail("provider0@example.com").orElseThrow())).get(0));
+        assertThat(user.at("/roleType/roleType").asText()).isEqualTo("VENDOR");
+        assertThat(user.has("password")).isFalse();
+        assertThat(user.has("verificationToken")).isFalse();
+    }
+
+    @Test
+    void keysetPagesWalkEveryRowOnceWithOneQueryPerPage() {
+        List<Integer> seen = new ArrayList<>();
+        Keyset keyset = new Keyset(0, 2);
+        while (true) {
+            entityManager.clear();
+            RecordingStatementInspector.reset();
+            CursorPage<BookingResponse> page = bookingService.getBookingsByProvider(providerID(0), keyset);
+            assertThat(RecordingStatementInspector.statements()).hasSize(1);
+
+            page.getItems().forEach(booking -> seen.add(booking.getBookingID()));
+            if (!page.isHasMore()) {
+                break;
+            }
+            keyset = new Keyset(seen.get(seen.size() - 1), 2);
+        }
+
+        assertThat(seen).hasSize(ROWS).isSorted().doesNotHaveDuplicates();
+    }
+
+    // Runs the use case against an empty persistence context and expects exactly one statement
+    private void assertSingleQuery(Supplier<List<?>> useCase, int expectedRows) {
+        assertQueries(useCase, expectedRows, 1);
+    }
+
+    private void assertQueries(Supplier<List<?>> useCase, int expectedRows, int expectedStatements) {
+        entityManager.clear();
+        RecordingStatementInspector.reset();
+
+        List<?> result = useCase.get();
+
+        assertThat(result).hasSize(expectedRows);
+        assertThat(RecordingStatementInspector.statements()).as("statements").hasSize(expectedStatements);
+    }
+
+    private List<String> serialize(List<?> responses) {
+        return responses.stream().map(response -> {
+            try {
+                return objectMapper.writeValueAsString(response);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+
+    private int customerID(int index) {
+        return customers.get(index).getCustomerID();
+    }
+
+    private int providerID(int index) {
+        return providers.get(index).getProviderID();
+    }
+
+    private Role persistRole(RoleType type) {
+        Role role = new Role();
+        role.setRoleType(type);
+        role.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(role);
+        return role;
+    }
+
+    private User persistUser(String email, Role role) {
+        User user = new User();
+        user.setName("Test");
+        user.setSurname("User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setEnabled(true);
+        user.setRoleType(role);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,266 @@
+package com.backend.Features;
+
+import com.backend.Features.Booking.dto.BookingResponse;
+import com.backend.Features.Booking.entity.Booking;
+import com.backend.Features.Booking.enums.BookingStatus;
+import com.backend.Features.Booking.repository.BookingRepository;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.Review.dto.ReviewResponse;
+import com.backend.Features.Review.entity.Review;
+import com.backend.Features.Review.repository.ReviewRepository;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.ServiceHistory.dto.ServiceHistoryResponse;
+import com.backend.Features.ServiceHistory.entity.ServiceHistory;
+import com.backend.Features.ServiceHistory.repository.ServiceHistoryRepository;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.User.entities.User;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation of the provider list endpoints for a provider with 10k bookings, reviews and
+ * history rows. "asEntities" reproduces the previous path: load managed entities, then copy ids and
+ * scalars into the response. "asProjection" is the current path: a JPQL constructor expression that
+ * selects only those columns. Run with the GC profiler (see {@link #main}) for gc.alloc.rate.norm.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderListReadBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int CUSTOMERS = 100;
+
+    private EmbeddedDatabase database;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private EntityManager entityManager;
+    private BookingRepository bookingRepository;
+    private ReviewRepository reviewRepository;
+    private ServiceHistoryRepository serviceHistoryRepository;
+    private int providerID;
+
+    @Setup
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(database);
+        entityManagerFactory.setPackagesToScan("com.backend");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        entityManagerFactory.afterPropertiesSet();
+
+        entityManager = entityManagerFactory.getObject().createEntityManager();
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        bookingRepository = repositoryFactory.getRepository(BookingRepository.class);
+        reviewRepository = repositoryFactory.getRepository(ReviewRepository.class);
+        serviceHistoryRepository = repositoryFactory.getRepository(ServiceHistoryRepository.class);
+
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.destroy();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingsAsEntities() {
+        entityManager.clear();
+        List<Booking> bookings = entityManager
+                .createQuery("SELECT b FROM Booking b WHERE b.provider.providerID = :providerID", Booking.class)
+                .setParameter("providerID", providerID)
+                .getResultList();
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            BookingResponse response = new BookingResponse();
+            response.setBookingID(booking.getBookingID());
+            response.setCustomerID(booking.getCustomer().getCustomerID());
+            response.setServiceID(booking.getServiceClass().getServiceID());
+            response.setProviderID(booking.getProvider().getProviderID());
+            response.setBookingDate(booking.getBookingDate());
+            response.setEndDate(booking.getEndDate());
+            response.setAdditionalNotes(booking.getAdditionalNotes());
+            response.setStatus(booking.getStatus().name());
+            response.setCreatedAt(booking.getCreatedAt());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingsAsProjection() {
+        entityManager.clear();
+        return bookingRepository.findResponsesByProviderID(providerID);
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewsAsEntities() {
+        entityManager.clear();
+        List<Review> reviews = entityManager
+                .createQuery("SELECT r FROM Review r WHERE r.booking.provider.providerID = :providerID", Review.class)
+                .setParameter("providerID", providerID)
+                .getResultList();
+        List<ReviewResponse> responses = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            ReviewResponse response = new ReviewResponse();
+            response.setReviewID(review.getReviewID());
+            response.setCustomerID(review.getCustomer().getCustomerID());
+            response.setBookingID(review.getBooking().getBookingID());
+            response.setRating(review.getRating());
+            response.setComment(review.getComment());
+            response.setCreatedAt(review.getCreatedAt());
+            response.setUpdatedAt(review.getUpdatedAt());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewsAsProjection() {
+        entityManager.clear();
+        return reviewRepository.findResponsesByProviderID(providerID);
+    }
+
+    @Benchmark
+    public List<ServiceHistoryResponse> historyAsEntities() {
+        entityManager.clear();
+        List<ServiceHistory> history = entityManager
+                .createQuery("SELECT h FROM ServiceHistory h WHERE h.provider.providerID = :providerID", ServiceHistory.class)
+                .setParameter("providerID", providerID)
+                .getResultList();
+        List<ServiceHistoryResponse> responses = new ArrayList<>(history.size());
+        for (ServiceHistory entry : history) {
+            responses.add(new ServiceHistoryResponse(entry.getHistoryID(), entry.getCustomer().getCustomerID(),
+                    entry.getProvider().getProviderID(), entry.getService().getServiceID(), entry.getServiceDate()));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ServiceHistoryResponse> historyAsProjection() {
+        entityManager.clear();
+        return serviceHistoryRepository.findResponsesByProviderID(providerID);
+    }
+
+    private void seed() {
+        entityManager.getTransaction().begin();
+
+        List<Customer> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setUser(newUser("customer" + i + "@example.com"));
+            entityManager.persist(customer);
+            customers.add(customer);
+        }
+
+        ServiceProvider provider = new ServiceProvider();
+        provider.setUser(newUser("provider@example.com"));
+        provider.setBusinessName("Busy Provider");
+        provider.setServiceCategory("Plumbing");
+        provider.setLocation("Town");
+        provider.setAbout("About");
+        provider.setPhoneNumber("555");
+        provider.setVerified(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(provider);
+        providerID = provider.getProviderID();
+
+        ServiceClass service = new ServiceClass();
+        service.setProvider(provider);
+        service.setServiceName("Leak repair");
+        service.setDescription("Fixes leaks");
+        service.setPrice(BigDecimal.TEN);
+        service.setDurationMinutes(15);
+        service.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(service);
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1).withSecond(0).withNano(0);
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = customers.get(i % CUSTOMERS);
+
+            Booking booking = new Booking();
+            booking.setCustomer(customer);
+            booking.setProvider(provider);
+            booking.setServiceClass(service);
+            booking.setBookingDate(start.plusMinutes(15L * i));
+            booking.setEndDate(start.plusMinutes(15L * (i + 1)));
+            booking.setAdditionalNotes("Notes " + i);
+            booking.setStatus(BookingStatus.COMPLETED);
+            booking.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(booking);
+
+            Review review = new Review();
+            review.setCustomer(customer);
+            review.setBooking(booking);
+            review.setRating(1 + i % 5);
+            review.setComment("Comment " + i);
+            review.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(review);
+
+            ServiceHistory history = new ServiceHistory();
+            history.setCustomer(customer);
+            history.setProvider(provider);
+            history.setService(service);
+            history.setBooking(booking);
+            history.setServiceDate(booking.getEndDate());
+            entityManager.persist(history);
+
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                provider = entityManager.getReference(ServiceProvider.class, providerID);
+                service = entityManager.getReference(ServiceClass.class, service.getServiceID());
+                customers.replaceAll(c -> entityManager.getReference(Customer.class, c.getCustomerID()));
+            }
+        }
+
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setName("Bench");
+        user.setSurname("User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setEnabled(true);
+        entityManager.persist(user);
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProviderListReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
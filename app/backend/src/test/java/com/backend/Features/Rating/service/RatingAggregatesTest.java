@@ -0,0 +1,211 @@
+package com.backend.Features.Rating.service;
+
+import com.backend.Features.Booking.entity.Booking;
+import com.backend.Features.Booking.enums.BookingStatus;
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.Rating.dto.RatingSummary;
+import com.backend.Features.Rating.entity.RatingAggregate;
+import com.backend.Features.Rating.entity.RatingAggregate.Subject;
+import com.backend.Features.Rating.entity.RatingAggregateId;
+import com.backend.Features.Rating.repository.RatingAggregateRepository;
+import com.backend.Features.Review.dto.ReviewRequest;
+import com.backend.Features.Review.dto.ReviewResponse;
+import com.backend.Features.Review.service.ReviewService;
+import com.backend.Features.Service.entity.ServiceClass;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.User.entities.Role;
+import com.backend.User.entities.User;
+import com.backend.User.enums.RoleType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Review writes must keep the provider and service aggregates exact, and reconciliation must find
+ * and repair aggregates that were changed behind the application's back. Runs without a test
+ * transaction: the reconciliation workers only see committed rows.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.ratings.reconcile.chunk-size=1",
+        "app.ratings.reconcile.threads=3"
+})
+@Import({ReviewService.class, RatingAggregateService.class, RatingReconciliationJob.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RatingAggregatesTest {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ReviewService reviewService;
+    @Autowired private RatingAggregateService ratingAggregateService;
+    @Autowired private RatingAggregateRepository ratingAggregateRepository;
+    @Autowired private RatingReconciliationJob reconciliationJob;
+
+    private TransactionTemplate transaction;
+    private int customerID;
+    private int providerID;
+    private final List<Integer> serviceIDs = new ArrayList<>();
+    private final List<Integer> bookingIDs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        // A provider with two services; the first is booked twice, the second once
+        transaction.executeWithoutResult(status -> {
+            // Rows are committed, so the role survives from an earlier test
+            Role role = entityManager.createQuery("SELECT r FROM Role r WHERE r.roleType = :roleType", Role.class)
+                    .setParameter("roleType", RoleType.CUSTOMER)
+                    .getResultStream().findFirst()
+                    .orElseGet(() -> {
+                        Role created = new Role();
+                        created.setRoleType(RoleType.CUSTOMER);
+                        created.setCreatedAt(LocalDateTime.now());
+                        entityManager.persist(created);
+                        return created;
+                    });
+
+            Customer customer = new Customer();
+            customer.setUser(persistUser(role));
+            entityManager.persist(customer);
+            customerID = customer.getCustomerID();
+
+            ServiceProvider provider = new ServiceProvider();
+            provider.setUser(persistUser(role));
+            provider.setBusinessName("Provider");
+            provider.setServiceCategory("Plumbing");
+            provider.setLocation("Town");
+            provider.setAbout("About");
+            provider.setPhoneNumber("555");
+            provider.setVerified(true);
+            provider.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(provider);
+            providerID = provider.getProviderID();
+
+            List<ServiceClass> services = List.of(persistService(provider), persistService(provider));
+            services.forEach(service -> serviceIDs.add(service.getServiceID()));
+            for (ServiceClass service : List.of(services.get(0), services.get(0), services.get(1))) {
+                Booking booking = new Booking();
+                booking.setCustomer(customer);
+                booking.setProvider(provider);
+                booking.setServiceClass(service);
+                booking.setBookingDate(LocalDateTime.now().minusDays(bookingIDs.size() + 1));
+                booking.setStatus(BookingStatus.COMPLETED);
+                booking.setCreatedAt(LocalDateTime.now());
+                entityManager.persist(booking);
+                bookingIDs.add(booking.getBookingID());
+            }
+        });
+    }
+
+    @Test
+    void reviewWritesKeepAggregatesInStep() {
+        review(0, 5);
+        ReviewResponse changed = review(1, 3);
+        ReviewResponse removed = review(2, 4);
+
+        assertSummary(Subject.PROVIDER, providerID, 3, 4.0, 0, 0, 1, 1, 1);
+        assertSummary(Subject.SERVICE, serviceIDs.get(0), 2, 4.0, 0, 0, 1, 0, 1);
+        assertSummary(Subject.SERVICE, serviceIDs.get(1), 1, 4.0, 0, 0, 0, 1, 0);
+
+        ReviewRequest update = new ReviewRequest();
+        update.setRating(1);
+        update.setComment("Changed my mind");
+        reviewService.updateReview(changed.getReviewID(), update, customerID);
+
+        assertSummary(Subject.PROVIDER, providerID, 3, 3.33, 1, 0, 0, 1, 1);
+        assertSummary(Subject.SERVICE, serviceIDs.get(0), 2, 3.0, 1, 0, 0, 0, 1);
+
+        reviewService.deleteReview(removed.getReviewID(), customerID);
+
+        assertSummary(Subject.PROVIDER, providerID, 2, 3.0, 1, 0, 0, 0, 1);
+        RatingSummary emptied = assertSummary(Subject.SERVICE, serviceIDs.get(1), 0, null, 0, 0, 0, 0, 0);
+        assertThat(emptied.getLastReviewAt()).isNull();
+        assertThat(ratingAggregateService.getSummary(Subject.PROVIDER, providerID).getLastReviewAt()).isNotNull();
+    }
+
+    @Test
+    void reconciliationRepairsDriftedAggregates() {
+        review(0, 2);
+        review(1, 4);
+        review(2, 5);
+        assertThat(reconciliationJob.reconcile(Subject.PROVIDER).drifted()).isZero();
+        assertThat(reconciliationJob.reconcile(Subject.SERVICE).drifted()).isZero();
+
+        // Corrupt the provider aggregate and lose one service aggregate entirely
+        transaction.executeWithoutResult(status -> {
+            RatingAggregate provider = ratingAggregateRepository.findById(new RatingAggregateId(Subject.PROVIDER, providerID)).orElseThrow();
+            provider.setTally(RatingTally.ofReview(providerID, 1, null));
+            ratingAggregateRepository.deleteById(new RatingAggregateId(Subject.SERVICE, serviceIDs.get(1)));
+        });
+
+        RatingReconciliationJob.Report providers = reconciliationJob.reconcile(Subject.PROVIDER);
+        RatingReconciliationJob.Report services = reconciliationJob.reconcile(Subject.SERVICE);
+
+        assertThat(providers.drifted()).isEqualTo(1);
+        assertThat(services.drifted()).isEqualTo(1);
+        assertThat(services.chunks()).isGreaterThan(1);
+        assertThat(providers.failedChunks() + services.failedChunks()).isZero();
+        assertSummary(Subject.PROVIDER, providerID, 3, 3.67, 0, 1, 0, 1, 1);
+        assertSummary(Subject.SERVICE, serviceIDs.get(1), 1, 5.0, 0, 0, 0, 0, 1);
+        assertThat(reconciliationJob.reconcile(Subject.PROVIDER).drifted()).isZero();
+    }
+
+    private ReviewResponse review(int booking, int rating) {
+        ReviewRequest request = new ReviewRequest();
+        request.setCustomerID(customerID);
+        request.setBookingID(bookingIDs.get(booking));
+        request.setRating(rating);
+        request.setComment("Review");
+        return reviewService.createReview(request);
+    }
+
+    private RatingSummary assertSummary(Subject subject, int subjectID, long count, Double average, long... stars) {
+        RatingSummary summary = ratingAggregateService.getSummary(subject, subjectID);
+        assertThat(summary.getReviewCount()).as("count").isEqualTo(count);
+        assertThat(summary.getAverage()).as("average").isEqualTo(average);
+        assertThat(summary.getStarCounts()).as("stars").containsExactly(stars);
+        return summary;
+    }
+
+    private User persistUser(Role role) {
+        User user = new User();
+        user.setName("Test");
+        user.setSurname("User");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setEnabled(true);
+        user.setRoleType(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private ServiceClass persistService(ServiceProvider provider) {
+        ServiceClass service = new ServiceClass();
+        service.setProvider(provider);
+        service.setServiceName("Service");
+        service.setDescription("Description");
+        service.setPrice(BigDecimal.TEN);
+        service.setDurationMinutes(60);
+        service.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(service);
+        return service;
+    }
+}
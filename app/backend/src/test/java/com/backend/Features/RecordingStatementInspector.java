@@ -0,0 +1,39 @@
+package com.backend.Features;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, for tests that pin down the query count of a use case.
+ * Registered through {@link #PROPERTY}; Hibernate instantiates it, so the recording is static.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.backend.Features.RecordingStatementInspector";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static long count(String verb) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith(verb))
+                .count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Features.Search.enums.CatalogSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class CatalogIndexTest {
+
+    private CatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogIndex();
+        index.put(document(1, 10, "Leaking tap repair", "Kitchen and bathroom taps", "12.50", "Plumbing", "Cape Town", 4, 20));
+        index.put(document(2, 10, "Geyser installation", "Electric geysers", "900", "Plumbing", "Cape Town", 2, 6));
+        index.put(document(3, 20, "Garden service", "Lawn, hedges and tap timers", "300", "Gardening", "Durban", 3, 15));
+        index.put(document(4, 30, "Tap and shower repairs", "Bathroom fittings", "150", "plumbing ", "Durban", 1, 4));
+    }
+
+    @Test
+    void everyTermMustMatchAcrossFieldsIgnoringCaseAndAccents() {
+        assertThat(search("tap", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(1, 4, 3);
+        assertThat(search("TAP durban", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(4, 3);
+        assertThat(search("tap géyser", CatalogSort.PRICE_ASC).total()).isZero();
+        assertThat(search("the", CatalogSort.PRICE_ASC).total()).isEqualTo(4);
+    }
+
+    @Test
+    void categoryFacetsIgnoreTheCategoryFilter() {
+        CatalogSearchHits hits = index.search(CatalogTokenizer.tokens("tap"), "PLUMBING", 0, Long.MAX_VALUE,
+                CatalogSort.PRICE_ASC, 0, 10);
+
+        assertThat(hits.serviceIDs()).containsExactly(1, 4);
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.categories()).containsExactly(
+                entry("Plumbing", 2),
+                entry("Gardening", 1));
+    }
+
+    @Test
+    void filtersOnPriceRange() {
+        CatalogSearchHits hits = index.search(List.of(), null, 1250, 30000, CatalogSort.PRICE_DESC, 0, 10);
+
+        assertThat(hits.serviceIDs()).containsExactly(3, 4, 1);
+    }
+
+    @Test
+    void sortsByRatingAndByRelevance() {
+        // Averages 5.0 over 4 and 3 reviews, 4.0, 3.0
+        assertThat(search("", CatalogSort.RATING).serviceIDs()).containsExactly(1, 3, 4, 2);
+        // Services named after the term come before the better rated one that only mentions it
+        assertThat(search("tap", CatalogSort.RELEVANCE).serviceIDs()).containsExactly(1, 4, 3);
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        CatalogSearchHits hits = index.search(List.of(), null, 0, Long.MAX_VALUE, CatalogSort.PRICE_ASC, 1, 2);
+
+        assertThat(hits.total()).isEqualTo(4);
+        assertThat(hits.serviceIDs()).containsExactly(4, 3);
+    }
+
+    @Test
+    void replacingAndRemovingServicesIsReflectedBeforeAndAfterCompaction() {
+        index.put(document(1, 10, "Drain unblocking", "Blocked drains", "80", "Plumbing", "Cape Town", 4, 20));
+        index.remove(2);
+        index.removeProviderExcept(30, Set.of());
+
+        assertThat(search("tap", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(3);
+        assertThat(search("drain", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(1);
+        assertThat(index.liveCount()).isEqualTo(2);
+        assertThat(index.deadCount()).isEqualTo(3);
+
+        index.compact();
+
+        assertThat(index.deadCount()).isZero();
+        assertThat(search("", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(1, 3);
+        assertThat(search("drain", CatalogSort.PRICE_ASC).serviceIDs()).containsExactly(1);
+        assertThat(search("geyser", CatalogSort.PRICE_ASC).total()).isZero();
+    }
+
+    @Test
+    void relayedChangesRoundTrip() {
+        assertThat(CatalogSearchIndex.decode(CatalogSearchIndex.encode(CatalogChangedEvent.service(7, 3))))
+                .isEqualTo(new CatalogChangedEvent(7, null));
+        assertThat(CatalogSearchIndex.decode(CatalogSearchIndex.encode(CatalogChangedEvent.provider(9))))
+                .isEqualTo(CatalogChangedEvent.provider(9));
+        assertThat(CatalogSearchIndex.decode("x:1")).isNull();
+    }
+
+    private CatalogSearchHits search(String text, CatalogSort sort) {
+        return index.search(CatalogTokenizer.tokens(text), null, 0, Long.MAX_VALUE, sort, 0, 10);
+    }
+
+    private static CatalogIndex.Prepared document(int serviceID, int providerID, String name, String description,
+                                                  String price, String category, String location,
+                                                  long reviewCount, long ratingSum) {
+        return CatalogIndex.prepare(new CatalogDocument(serviceID, providerID, name, description, new BigDecimal(price),
+                "Provider " + providerID, category, location, reviewCount, ratingSum));
+    }
+}
@@ -0,0 +1,90 @@
+package com.backend.Features.Search.service;
+
+import com.backend.Features.Search.enums.CatalogSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a catalog search against an index of a million synthetic services: a selective
+ * two-term query, a broad one-term query with a category and price filter, and the whole catalog
+ * sorted by rating.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CatalogSearchBenchmark {
+
+    private static final String[] CATEGORIES = {"Plumbing", "Electrical", "Gardening", "Cleaning", "Painting",
+            "Roofing", "Carpentry", "Appliance repair", "Pest control", "Moving"};
+    private static final String[] TOWNS = {"Cape Town", "Durban", "Johannesburg", "Pretoria", "Gqeberha",
+            "Bloemfontein", "Polokwane", "Nelspruit", "Kimberley", "East London"};
+    private static final String[] WORDS = {"repair", "installation", "service", "maintenance", "emergency",
+            "leak", "geyser", "tap", "drain", "wiring", "lights", "lawn", "hedge", "deep", "carpet", "window",
+            "wall", "roof", "gutter", "door", "cupboard", "fridge", "washing", "machine", "termite", "rodent",
+            "furniture", "office", "same", "day", "weekend", "quote", "free", "certified", "insured", "local"};
+
+    @Param("1000000")
+    private int services;
+
+    private CatalogIndex index;
+    private List<String> selective;
+    private List<String> broad;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new CatalogIndex();
+        for (int id = 1; id <= services; id++) {
+            int provider = id / 8;
+            index.put(CatalogIndex.prepare(new CatalogDocument(id, provider,
+                    words(random, 3), words(random, 12), BigDecimal.valueOf(50 + random.nextInt(5000)),
+                    "Provider " + provider, CATEGORIES[provider % CATEGORIES.length], TOWNS[provider % TOWNS.length],
+                    (long) random.nextInt(50), (long) random.nextInt(250))));
+        }
+        selective = CatalogTokenizer.tokens("emergency geyser durban");
+        broad = CatalogTokenizer.tokens("repair");
+    }
+
+    @Benchmark
+    public CatalogSearchHits selectiveQuery() {
+        return index.search(selective, null, 0, Long.MAX_VALUE, CatalogSort.RELEVANCE, 0, 20);
+    }
+
+    @Benchmark
+    public CatalogSearchHits broadQueryWithFilters() {
+        return index.search(broad, "plumbing", 10_000, 200_000, CatalogSort.PRICE_ASC, 0, 20);
+    }
+
+    @Benchmark
+    public CatalogSearchHits wholeCatalogByRating() {
+        return index.search(List.of(), null, 0, Long.MAX_VALUE, CatalogSort.RATING, 0, 20);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CatalogSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
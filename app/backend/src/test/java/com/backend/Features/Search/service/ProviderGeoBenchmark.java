@@ -0,0 +1,91 @@
+package com.backend.Features.Search.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a nearby provider search over 100k providers spread around a handful of metros:
+ * the 20 nearest within 25 km of a city centre, the same with a category filter, and a sparse
+ * rural point with a 200 km radius. "linearScan" is the distance-sort a client had to do over
+ * the full provider list before the index.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderGeoBenchmark {
+
+    private static final String[] CATEGORIES = {"Plumbing", "Electrical", "Gardening", "Cleaning", "Painting",
+            "Roofing", "Carpentry", "Appliance repair", "Pest control", "Moving"};
+    // Johannesburg, Cape Town, Durban, Pretoria, Gqeberha
+    private static final double[][] METROS = {{-26.2041, 28.0473}, {-33.9249, 18.4241}, {-29.8587, 31.0218},
+            {-25.7479, 28.2293}, {-33.9608, 25.6022}};
+
+    @Param("100000")
+    private int providers;
+
+    private ProviderGeoGrid grid;
+    private List<ProviderGeoPoint> points;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        grid = new ProviderGeoGrid(0.1);
+        points = new ArrayList<>(providers);
+        for (int id = 1; id <= providers; id++) {
+            double[] metro = METROS[id % METROS.length];
+            // Most providers within ~30 km of a metro centre, the rest scattered across the country
+            double latitude = id % 10 == 0 ? -22 - random.nextDouble() * 12 : metro[0] + random.nextGaussian() * 0.25;
+            double longitude = id % 10 == 0 ? 17 + random.nextDouble() * 15 : metro[1] + random.nextGaussian() * 0.25;
+            ProviderGeoPoint point = new ProviderGeoPoint(id, latitude, longitude, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            points.add(point);
+            grid.put(point);
+        }
+    }
+
+    @Benchmark
+    public List<ProviderDistance> cityCentre() {
+        return grid.nearest(-26.2041, 28.0473, 25, null, 20);
+    }
+
+    @Benchmark
+    public List<ProviderDistance> cityCentreByCategory() {
+        return grid.nearest(-26.2041, 28.0473, 25, "Pest control", 20);
+    }
+
+    @Benchmark
+    public List<ProviderDistance> ruralWideRadius() {
+        return grid.nearest(-30.5, 22.9, 200, null, 20);
+    }
+
+    @Benchmark
+    public List<ProviderDistance> linearScan() {
+        return points.stream()
+                .map(point -> new ProviderDistance(point.providerID(),
+                        ProviderGeoGrid.distanceKm(-26.2041, 28.0473, point.latitude(), point.longitude())))
+                .filter(hit -> hit.distanceKm() <= 25)
+                .sorted(Comparator.comparingDouble(ProviderDistance::distanceKm))
+                .limit(20)
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProviderGeoBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
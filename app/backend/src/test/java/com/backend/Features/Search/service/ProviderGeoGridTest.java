@@ -0,0 +1,97 @@
+package com.backend.Features.Search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProviderGeoGridTest {
+
+    private static final String[] CATEGORIES = {"Plumbing", "Electrical", "Gardening"};
+
+    @Test
+    void findsTheNearestProvidersWithinTheRadius() {
+        ProviderGeoGrid grid = new ProviderGeoGrid(0.1);
+        grid.put(new ProviderGeoPoint(1, -33.9249, 18.4241, "Plumbing"));   // Cape Town
+        grid.put(new ProviderGeoPoint(2, -33.9321, 18.8602, "Plumbing"));   // Stellenbosch
+        grid.put(new ProviderGeoPoint(3, -29.8587, 31.0218, "Plumbing"));   // Durban
+        grid.put(new ProviderGeoPoint(4, -33.9600, 18.4700, "Gardening"));  // Rondebosch
+
+        List<ProviderDistance> hits = grid.nearest(-33.9249, 18.4241, 50, null, 10);
+
+        assertThat(hits).extracting(ProviderDistance::providerID).containsExactly(1, 4, 2);
+        assertThat(hits.get(0).distanceKm()).isZero();
+        assertThat(hits.get(2).distanceKm()).isCloseTo(40.2, within(0.5));
+        assertThat(grid.nearest(-33.9249, 18.4241, 50, "plumbing ", 10))
+                .extracting(ProviderDistance::providerID).containsExactly(1, 2);
+        assertThat(grid.nearest(-33.9249, 18.4241, 50, "Roofing", 10)).isEmpty();
+        assertThat(grid.nearest(-33.9249, 18.4241, 2000, null, 2))
+                .extracting(ProviderDistance::providerID).containsExactly(1, 4);
+    }
+
+    @Test
+    void movesAndRemovesProviders() {
+        ProviderGeoGrid grid = new ProviderGeoGrid(0.1);
+        grid.put(new ProviderGeoPoint(1, 10, 10, "Plumbing"));
+        grid.put(new ProviderGeoPoint(2, 10.01, 10.01, "Plumbing"));
+
+        grid.put(new ProviderGeoPoint(1, 40, 40, "Plumbing"));
+        assertThat(grid.nearest(10, 10, 10, null, 10)).extracting(ProviderDistance::providerID).containsExactly(2);
+        assertThat(grid.nearest(40, 40, 10, null, 10)).extracting(ProviderDistance::providerID).containsExactly(1);
+
+        assertThat(grid.remove(2)).isTrue();
+        assertThat(grid.remove(2)).isFalse();
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(grid.nearest(10, 10, 10, null, 10)).isEmpty();
+    }
+
+    @Test
+    void matchesABruteForceScanAnywhereOnTheGlobe() {
+        Random random = new Random(7);
+        ProviderGeoGrid grid = new ProviderGeoGrid(0.5);
+        List<ProviderGeoPoint> points = new ArrayList<>();
+        // Clusters around the antimeridian and both poles, where cell geometry is least regular
+        double[][] centres = {{0, 179.9}, {0, -179.9}, {89.5, 0}, {-89.5, 120}, {-33.9, 18.4}, {51.5, -0.1}};
+        for (int id = 1; id <= 3000; id++) {
+            double[] centre = centres[id % centres.length];
+            double latitude = Math.max(-90, Math.min(90, centre[0] + random.nextGaussian() * 2));
+            double longitude = wrap(centre[1] + random.nextGaussian() * 4);
+            ProviderGeoPoint point = new ProviderGeoPoint(id, latitude, longitude, CATEGORIES[id % CATEGORIES.length]);
+            points.add(point);
+            grid.put(point);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            double[] centre = centres[query % centres.length];
+            double latitude = Math.max(-90, Math.min(90, centre[0] + random.nextGaussian() * 2));
+            double longitude = wrap(centre[1] + random.nextGaussian() * 4);
+            double radiusKm = 5 + random.nextDouble() * 500;
+            String category = query % 3 == 0 ? CATEGORIES[query % CATEGORIES.length] : null;
+            int limit = 1 + random.nextInt(30);
+
+            List<Integer> expected = points.stream()
+                    .filter(point -> category == null || point.serviceCategory().equals(category))
+                    .map(point -> new ProviderDistance(point.providerID(),
+                            ProviderGeoGrid.distanceKm(latitude, longitude, point.latitude(), point.longitude())))
+                    .filter(hit -> hit.distanceKm() <= radiusKm)
+                    .sorted(Comparator.comparingDouble(ProviderDistance::distanceKm).thenComparingInt(ProviderDistance::providerID))
+                    .limit(limit)
+                    .map(ProviderDistance::providerID)
+                    .toList();
+
+            assertThat(grid.nearest(latitude, longitude, radiusKm, category, limit))
+                    .as("query %d at (%f, %f) within %f km", query, latitude, longitude, radiusKm)
+                    .extracting(ProviderDistance::providerID)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static double wrap(double longitude) {
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend.Maintenance.services;
+
+import com.backend.Features.Customer.entity.Customer;
+import com.backend.Features.ServiceProvider.entity.ServiceProvider;
+import com.backend.Security.entities.PasswordResetToken;
+import com.backend.User.entities.Role;
+import com.backend.User.entities.User;
+import com.backend.User.enums.RoleType;
+import com.backend.User.services.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Purges unverified users on H2 in batches smaller than the number of expired accounts: their reset
+ * tokens and customer rows must go with them, their principals must be evicted, and accounts that are
+ * verified, not yet expired or own a provider must stay.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.maintenance.purge.batch-size=2",
+        "app.maintenance.purge.pause-ms=0"
+})
+@Import({ExpiryPurger.class, UnverifiedUserPurger.class, UnverifiedUserPurgerTest.Metrics.class})
+class UnverifiedUserPurgerTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private UnverifiedUserPurger purger;
+    @MockitoBean private PrincipalCache principalCache;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Role role;
+
+    @BeforeEach
+    void setUp() {
+        role = new Role();
+        role.setRoleType(RoleType.CUSTOMER);
+        role.setCreatedAt(now);
+        entityManager.persist(role);
+    }
+
+    @Test
+    void expiredRegistrationsGoWithTheirCustomerRowsAndResetTokens() {
+        for (int i = 0; i < 3; i++) {
+            User user = persistUser("expired" + i + "@example.com", false, now.minusDays(1));
+            persistCustomer(user);
+            persistResetToken(user);
+        }
+        persistCustomer(persistUser("verified@example.com", true, now.minusDays(1)));
+        persistCustomer(persistUser("pending@example.com", false, now.plusDays(1)));
+        persistProvider(persistUser("vendor@example.com", false, now.minusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(purger.purge(now)).isEqualTo(3);
+
+        assertThat(emails()).containsExactlyInAnyOrder("verified@example.com", "pending@example.com", "vendor@example.com");
+        assertThat(count("customers")).isEqualTo(2);
+        assertThat(count("password_reset_token")).isZero();
+        for (int i = 0; i < 3; i++) {
+            verify(principalCache).evict("expired" + i + "@example.com");
+        }
+    }
+
+    @Test
+    void nothingExpiredDeletesNothing() {
+        persistCustomer(persistUser("pending@example.com", false, now.plusDays(1)));
+        entityManager.flush();
+
+        assertThat(purger.purge(now)).isZero();
+        assertThat(emails()).containsExactly("pending@example.com");
+        verify(principalCache, never()).evict(anyString());
+    }
+
+    private List<String> emails() {
+        return jdbcTemplate.queryForList("SELECT email FROM users", String.class);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private User persistUser(String email, boolean enabled, LocalDateTime verificationTokenExpiry) {
+        User user = new User();
+        user.setName("Test");
+        user.setSurname("User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setEnabled(enabled);
+        user.setVerificationTokenExpiry(verificationTokenExpiry);
+        user.setRoleType(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistCustomer(User user) {
+        Customer customer = new Customer();
+        customer.setUser(user);
+        entityManager.persist(customer);
+    }
+
+    private void persistResetToken(User user) {
+        PasswordResetToken token = new PasswordResetToken();
+        token.setToken("reset-" + user.getEmail());
+        token.setUser(user);
+        token.setExpiryDate(new Date());
+        entityManager.persist(token);
+    }
+
+    private void persistProvider(User user) {
+        ServiceProvider provider = new ServiceProvider();
+        provider.setUser(user);
+        provider.setBusinessName("Drips");
+        provider.setServiceCategory("Plumbing");
+        provider.setLocation("Town");
+        provider.setAbout("About");
+        provider.setPhoneNumber("555");
+        provider.setCreatedAt(now);
+        entityManager.persist(provider);
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.Pagination.services;
+
+import com.backend.Exceptions.services.InvalidPageRequestException;
+import com.backend.Pagination.dtos.CursorPage;
+import com.backend.Pagination.dtos.PageParams;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginationTest {
+
+    private final KeysetPagination pagination = new KeysetPagination(50, 200, true);
+
+    @Test
+    void defaultsToTheFirstPageAndCapsTheLimit() {
+        assertThat(pagination.resolve(params(null, null))).isEqualTo(new Keyset(0, 50));
+        assertThat(pagination.resolve(params(null, 10_000))).isEqualTo(new Keyset(0, 200));
+        assertThatThrownBy(() -> pagination.resolve(params(null, 0))).isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastItem() {
+        Keyset first = new Keyset(0, 2);
+        CursorPage<Integer> page = first.page(List.of(3, 5, 8), Integer::intValue);
+
+        assertThat(page.getItems()).containsExactly(3, 5);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(pagination.resolve(params(page.getNextCursor(), 2))).isEqualTo(new Keyset(5, 2));
+
+        CursorPage<Integer> last = new Keyset(5, 2).page(List.of(8), Integer::intValue);
+        assertThat(last.getItems()).containsExactly(8);
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(last.map(Function.identity()).isHasMore()).isFalse();
+    }
+
+    @Test
+    void rejectsCursorsItDidNotIssue() {
+        assertThatThrownBy(() -> pagination.resolve(params("not-a-cursor", null))).isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> pagination.resolve(params("NDI", null))).isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void unpagedListsNeedTheFlagAndCanBeSwitchedOff() {
+        PageParams unpaged = params(null, null);
+        unpaged.setUnpaged(true);
+
+        assertThat(pagination.isUnpaged(params(null, null))).isFalse();
+        assertThat(pagination.isUnpaged(unpaged)).isTrue();
+        assertThatThrownBy(() -> new KeysetPagination(50, 200, false).isUnpaged(unpaged))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    private static PageParams params(String cursor, Integer limit) {
+        PageParams params = new PageParams();
+        params.setCursor(cursor);
+        params.setLimit(limit);
+        return params;
+    }
+}
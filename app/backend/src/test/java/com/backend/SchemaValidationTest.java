@@ -0,0 +1,62 @@
+package com.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the fresh-install part of db/MySQL against H2 in MySQL mode and lets Hibernate validate every
+ * entity against it with the production dialect, as spring.jpa.hibernate.ddl-auto=validate does at
+ * startup. A column type the entities do not accept fails here instead of on the first deploy.
+ */
+class SchemaValidationTest {
+
+    private static final String MIGRATIONS_MARKER = "-- MIGRATIONS";
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.destroy();
+        }
+    }
+
+    @Test
+    void entitiesMatchTheFreshInstallSchema() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:schema-validation;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ByteArrayResource(freshInstallScript().getBytes(StandardCharsets.UTF_8)))
+                .execute(dataSource);
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("com.backend");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.dialect", "org.hibernate.dialect.MySQLDialect"));
+        entityManagerFactory.afterPropertiesSet();
+
+        assertThat(entityManagerFactory.getObject().isOpen()).isTrue();
+    }
+
+    // Everything above the migrations header
+    private static String freshInstallScript() throws IOException {
+        String script = new ClassPathResource("db/MySQL").getContentAsString(StandardCharsets.UTF_8);
+        int migrations = script.indexOf(MIGRATIONS_MARKER);
+        assertThat(migrations).isPositive();
+        return script.substring(0, script.lastIndexOf('\n', script.lastIndexOf("-- ---", migrations)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.Security.services;
+
+import com.backend.Security.entities.EmailOutboxMessage;
+import com.backend.Security.repositories.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the dispatcher against an in-process SMTP server; the outbox table is mocked.
+ */
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+    }
+
+    @Test
+    void sendsClaimedBatchOverSmtpAndMarksItSent() {
+        List<EmailOutboxMessage> batch = List.of(
+                new EmailOutboxMessage("a@example.com", "Email Verification", "link a"),
+                new EmailOutboxMessage("b@example.com", "Password Reset Request", "link b"),
+                new EmailOutboxMessage("c@example.com", "Email Verification", "link c"));
+        when(repository.findDueForUpdate(eq(EmailOutboxMessage.Status.PENDING), any(), any(Limit.class)))
+                .thenReturn(batch);
+
+        int claimed = dispatcher(mailSender(ServerSetupTest.SMTP.getPort())).dispatchBatch();
+
+        assertThat(claimed).isEqualTo(3);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(batch).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void backsOffWhenServerIsUnreachableAndDeadLettersAfterLastAttempt() {
+        EmailOutboxMessage retried = new EmailOutboxMessage("a@example.com", "Email Verification", "link a");
+        EmailOutboxMessage exhausted = new EmailOutboxMessage("b@example.com", "Email Verification", "link b");
+        exhausted.setAttempts(2);
+        when(repository.findDueForUpdate(eq(EmailOutboxMessage.Status.PENDING), any(), any(Limit.class)))
+                .thenReturn(List.of(retried, exhausted));
+
+        // Nothing listens on this port
+        dispatcher(mailSender(ServerSetupTest.SMTP.getPort() + 1)).dispatchBatch();
+
+        assertThat(retried.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        assertThat(retried.getLastError()).isNotBlank();
+
+        assertThat(exhausted.getStatus()).isEqualTo(EmailOutboxMessage.Status.DEAD);
+        assertThat(exhausted.getAttempts()).isEqualTo(3);
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSenderImpl mailSender) {
+        return new EmailOutboxDispatcher(repository, mailSender, mock(PlatformTransactionManager.class),
+                "noreply@example.com", 1, 50, 3, 120, 30, 3600);
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+}
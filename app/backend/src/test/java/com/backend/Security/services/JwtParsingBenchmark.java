@@ -0,0 +1,86 @@
+package com.backend.Security.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens/second for the per-request JWT work done by JwtAuthenticationFilter.
+ * "perCallParser" reproduces the previous path: a fresh parser and decoded key for each of the
+ * three claim extractions a request made. "parseOnce" is the current path.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private JwtServiceImpl jwtService;
+    private String secret;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setup() {
+        secret = Encoders.BASE64.encode(Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256).getEncoded());
+        userDetails = new User("bench@repairlink.test", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+        jwtService = new JwtServiceImpl(username -> userDetails);
+        ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 86_400_000L);
+        jwtService.init();
+
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean perCallParser() {
+        String username = parseWithNewParser(token).getSubject();
+        boolean matches = parseWithNewParser(token).getSubject().equals(userDetails.getUsername());
+        Date expiration = parseWithNewParser(token).getExpiration();
+        return username != null && matches && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        ParsedToken parsedToken = jwtService.parse(token);
+        return jwtService.isTokenValid(parsedToken, userDetails);
+    }
+
+    private Claims parseWithNewParser(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
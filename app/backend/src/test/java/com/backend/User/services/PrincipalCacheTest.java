@@ -0,0 +1,76 @@
+package com.backend.User.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two nodes sharing a stand-in for Redis pub/sub: a principal changed on one node must be reloaded and
+ * its older tokens re-checked on the other, and a node must not trust tokens older than its own start.
+ */
+class PrincipalCacheTest {
+
+    private final List<MessageListener> subscribers = new CopyOnWriteArrayList<>();
+
+    @Test
+    void tokensIssuedBeforeTheNodeStartedAreRechecked() {
+        long beforeStart = System.currentTimeMillis() - 1;
+        PrincipalCache node = node();
+
+        assertThat(node.epochOf("someone@example.com")).isGreaterThan(beforeStart);
+    }
+
+    @Test
+    void aChangeOnOneNodeReachesTheOther() {
+        PrincipalCache first = node();
+        PrincipalCache second = node();
+        AtomicInteger loads = new AtomicInteger();
+        second.get("user@example.com", email -> principal(email, loads));
+        long floor = second.epochOf("other@example.com");
+
+        first.evict("user@example.com");
+
+        assertThat(second.epochOf("user@example.com")).isGreaterThanOrEqualTo(first.epochOf("user@example.com"));
+        assertThat(second.epochOf("user@example.com")).isGreaterThanOrEqualTo(floor);
+        assertThat(second.epochOf("other@example.com")).isEqualTo(floor);
+        second.get("user@example.com", email -> principal(email, loads));
+        assertThat(loads).hasValue(2);
+    }
+
+    private PrincipalCache node() {
+        RedisTemplate<String, String> template = mock(RedisTemplate.class);
+        doAnswer(call -> {
+            byte[] body = call.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            subscribers.forEach(listener -> listener.onMessage(new DefaultMessage(new byte[0], body), null));
+            return 1L;
+        }).when(template).convertAndSend(anyString(), any());
+
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        doAnswer(call -> subscribers.add(call.getArgument(0)))
+                .when(container).addMessageListener(any(MessageListener.class), any(Topic.class));
+
+        return new PrincipalCache(new SimpleMeterRegistry(), template, container, 100, 300, 100, 86_400_000, 604_800_000);
+    }
+
+    private static UserDetails principal(String email, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return User.withUsername(email).password("").authorities("ROLE_CUSTOMER").build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.backend;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of 200 concurrent requests that each block for 100 ms, as a JDBC call would,
+ * with the application's default threading and with the virtual-threads profile. Both runs boot
+ * Spring Boot's servlet stack with this application's property files and the same
+ * server.tomcat.threads.max, so the only difference is what application-virtual-threads.properties
+ * turns on. {@link #main} first prints the peak platform thread count of one burst in each mode.
+ *
+ * Not part of the surefire run; start it through {@link #main} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class VirtualThreadCapacityBenchmark {
+
+    static final long BLOCKING_MILLIS = 100;
+
+    @Param({"default", "virtual-threads"})
+    private String profile;
+
+    @Param("200")
+    private int concurrentRequests;
+
+    @Param("20")
+    private int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService users;
+    private URI uri;
+
+    @Setup
+    public void setup() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BlockingApp.class).web(WebApplicationType.SERVLET);
+        if (!profile.equals("default")) {
+            builder.profiles(profile);
+        }
+        // Command-line arguments, so they win over a local application.properties
+        context = builder.run("--server.port=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--server.tomcat.accept-count=" + concurrentRequests,
+                "--spring.main.banner-mode=off");
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        uri = URI.create("http://localhost:" + port + "/blocking");
+        users = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        users.close();
+        context.close();
+    }
+
+    // One plain blocking connection per simulated user, each on its own virtual thread
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> statuses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            statuses.add(users.submit(() -> {
+                HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+                try {
+                    connection.getInputStream().readAllBytes();
+                    return connection.getResponseCode();
+                } finally {
+                    connection.disconnect();
+                }
+            }));
+        }
+        int ok = 0;
+        for (Future<Integer> status : statuses) {
+            if (status.get() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrentRequests) {
+            throw new IllegalStateException(ok + " of " + concurrentRequests + " requests succeeded");
+        }
+        return ok;
+    }
+
+    // Deliberately not a @Configuration or @SpringBootConfiguration: the application's component scan and
+    // the @SpringBootConfiguration lookup of the slice tests would otherwise pick it up from test-classes
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, TaskExecutionAutoConfiguration.class})
+    static class BlockingApp {
+
+        @Bean
+        RouterFunction<ServerResponse> blocking() {
+            return RouterFunctions.route()
+                    .GET("/blocking", request -> {
+                        Thread.sleep(BLOCKING_MILLIS);
+                        return ServerResponse.ok().body("ok");
+                    })
+                    .build();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        VirtualThreadCapacityBenchmark burst = new VirtualThreadCapacityBenchmark();
+        burst.concurrentRequests = 200;
+        burst.tomcatThreads = 20;
+        System.out.printf("%-16s %10s %22s%n", "profile", "burst ms", "peak platform threads");
+        for (String profile : new String[]{"default", "virtual-threads"}) {
+            burst.profile = profile;
+            burst.setup();
+            try {
+                burst.burst();
+                threads.resetPeakThreadCount();
+                long start = System.nanoTime();
+                burst.burst();
+                System.out.printf("%-16s %10d %22d%n", profile,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads.getPeakThreadCount());
+            } finally {
+                burst.tearDown();
+            }
+        }
+
+        Options options = new OptionsBuilder()
+                .include(VirtualThreadCapacityBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
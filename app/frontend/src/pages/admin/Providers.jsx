@@ -279,7 +279,7 @@ const handleViewProvider = async (providerID) => {
     
     // Fetch provider services - UPDATED ENDPOINT
     try {
-      const response = await fetch(`http://13.60.59.231:8080/api/v1/services/provider/${providerID}`, {
+      const response = await fetch(`http://13.60.59.231:8080/api/v1/services/provider/${providerID}?unpaged=true`, {
         method: 'GET',
         headers: {
           'Content-Type': 'application/json',
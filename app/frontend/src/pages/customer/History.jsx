@@ -623,7 +623,7 @@ const History = () => {
       }
 
       // Fetch service history using customer ID
-      const historyResponse = await apiClient.get(`/v1/service-history/customer/${custID}`);
+      const historyResponse = await apiClient.get(`/v1/service-history/customer/${custID}`, { params: { unpaged: true } });
       const history = historyResponse.data || [];
       
       // Create maps to store service and provider details
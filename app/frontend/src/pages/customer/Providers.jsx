@@ -161,46 +161,18 @@ const CustomerProviders = () => {
     fetchProviderDetails();
   }, [selectedProvider]);
 
-  // Fetch review counts when providers list changes
+  // Review counts and averages come with each provider from the server-side rating aggregate
   useEffect(() => {
-    const fetchReviewData = async () => {
-      if (!providers.length) return;
-      
-      const counts = {};
-      const ratings = {};
-      
-      // Create a promise for each provider to fetch their reviews
-      const reviewPromises = providers.map(async (provider) => {
-        try {
-          const response = await publicAPI.getProviderReviews(provider.providerID);
-          const reviews = response.data || [];
-          
-          // Store the count
-          counts[provider.providerID] = reviews.length;
-          
-          // Calculate average rating from actual reviews
-          if (reviews.length > 0) {
-            const totalRating = reviews.reduce((sum, review) => sum + (review.rating || 0), 0);
-            ratings[provider.providerID] = (totalRating / reviews.length).toFixed(1);
-          } else {
-            ratings[provider.providerID] = "0.0";
-          }
-          
-        } catch (err) {
-          console.error(`Failed to fetch reviews for provider ${provider.providerID}:`, err);
-          counts[provider.providerID] = 0;
-          ratings[provider.providerID] = "0.0";
-        }
-      });
-      
-      // Wait for all promises to complete
-      await Promise.all(reviewPromises);
-      
-      setProviderReviewCounts(counts);
-      setProviderReviewRatings(ratings);
-    };
-    
-    fetchReviewData();
+    const counts = {};
+    const ratings = {};
+
+    providers.forEach((provider) => {
+      counts[provider.providerID] = provider.rating?.reviewCount || 0;
+      ratings[provider.providerID] = (provider.rating?.average || 0).toFixed(1);
+    });
+
+    setProviderReviewCounts(counts);
+    setProviderReviewRatings(ratings);
   }, [providers]);
 
   // Keep your existing RatingStars component
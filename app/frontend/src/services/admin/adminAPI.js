@@ -90,7 +90,7 @@ const adminAPI = {
    * @returns {Promise} Service providers list with admin data
    */
   getServiceProviders: (filters = {}) => {
-    return apiClient.get('/v1/service-providers', { params: filters });
+    return apiClient.get('/v1/service-providers', { params: { ...filters, unpaged: true } });
   },
 
   /**
@@ -138,7 +138,7 @@ const adminAPI = {
    * @returns {Promise} List of services
    */
   getServices: (params = {}) => {
-    return apiClient.get('/v1/services', { params });
+    return apiClient.get('/v1/services', { params: { ...params, unpaged: true } });
   },
 
   /**
@@ -157,7 +157,7 @@ const adminAPI = {
    * @returns {Promise} List of services for the provider
    */
   getServicesByProvider: (providerId, params = {}) => {
-    return apiClient.get(`/v1/services/provider/${providerId}`, { params });
+    return apiClient.get(`/v1/services/provider/${providerId}`, { params: { ...params, unpaged: true } });
   },
 
   /**
@@ -65,7 +65,8 @@ const customerAPI = {
     return apiClient.get(`/v1/bookings/customer`, { 
       params: { 
         customerID,
-        ...filters 
+        ...filters,
+        unpaged: true
       } 
     });
   },
@@ -152,7 +153,7 @@ const customerAPI = {
       throw new Error('Customer ID is required to fetch reviews');
     }
     
-    return apiClient.get(`/v1/reviews/customer/${customerID}`);
+    return apiClient.get(`/v1/reviews/customer/${customerID}`, { params: { unpaged: true } });
   },
 
   /**
@@ -214,7 +215,7 @@ const customerAPI = {
    */
   getServices: (filters = {}) => {
     // Change from '/services' to '/v1/services'
-    return apiClient.get('/v1/services', { params: filters });
+    return apiClient.get('/v1/services', { params: { ...filters, unpaged: true } });
   },
 
   /**
@@ -280,7 +281,7 @@ const customerAPI = {
    * @returns {Promise} Reviews list for the customer
    */
   getCustomerReviews: (customerID) => {
-    return apiClient.get(`/v1/reviews/customer/${customerID}`);
+    return apiClient.get(`/v1/reviews/customer/${customerID}`, { params: { unpaged: true } });
   }
 };
 
@@ -19,7 +19,7 @@ const publicAPI = {
    * @returns {Promise} Service providers list
    */
   getServiceProviders: (filters = {}) => {
-    return publicApiClient.get('/v1/service-providers', { params: filters });
+    return publicApiClient.get('/v1/service-providers', { params: { ...filters, unpaged: true } });
   },
 
   /**
@@ -37,7 +37,7 @@ const publicAPI = {
    * @returns {Promise} Services list
    */
   getServices: (filters = {}) => {
-    return publicApiClient.get('/v1/services', { params: filters });
+    return publicApiClient.get('/v1/services', { params: { ...filters, unpaged: true } });
   },
 
   /**
@@ -55,7 +55,7 @@ const publicAPI = {
    * @returns {Promise} Provider's services list
    */
   getProviderServices: (providerID) => {
-    return publicApiClient.get(`/v1/services/provider/${providerID}`);
+    return publicApiClient.get(`/v1/services/provider/${providerID}`, { params: { unpaged: true } });
   },
 
   /**
@@ -120,7 +120,7 @@ const publicAPI = {
    */
   getServiceReviews: (serviceID, options = {}) => {
     return publicApiClient.get(`/v1/reviews/service/${serviceID}`, { 
-      params: options 
+      params: { ...options, unpaged: true } 
     });
   },
 
@@ -132,7 +132,7 @@ const publicAPI = {
    */
   getProviderReviews: (providerID, options = {}) => {
     return publicApiClient.get(`/v1/reviews/provider/${providerID}`, { 
-      params: options 
+      params: { ...options, unpaged: true } 
     });
   },
   
@@ -144,7 +144,7 @@ const publicAPI = {
   getProviderReviewSummary: async (providerId) => {
     try {
       // Get all reviews and then calculate the summary manually
-      const response = await apiClient.get(`/v1/reviews/provider/${providerId}`);
+      const response = await apiClient.get(`/v1/reviews/provider/${providerId}`, { params: { unpaged: true } });
       const reviews = response.data || [];
       
       // Calculate summary statistics